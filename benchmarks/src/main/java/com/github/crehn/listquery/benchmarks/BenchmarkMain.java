@@ -0,0 +1,24 @@
+package com.github.crehn.listquery.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Runs the benchmarks with the GC profiler always enabled, so every result comes with its allocation rate
+ * (<code>gc.alloc.rate.norm</code> is the number of bytes allocated per operation). All regular JMH command line
+ * options are supported, e.g. <code>java -jar target/benchmarks.jar QueryBenchmark.where -p size=10000</code>.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder() //
+                .parent(new CommandLineOptions(args)) //
+                .addProfiler(GCProfiler.class) //
+                .resultFormat(ResultFormatType.JSON) //
+                .build();
+        new Runner(options).run();
+    }
+}
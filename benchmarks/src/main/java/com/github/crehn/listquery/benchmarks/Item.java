@@ -0,0 +1,39 @@
+package com.github.crehn.listquery.benchmarks;
+
+/**
+ * The element type all benchmarks query. It is deliberately a plain class (no equals/hashCode) so that a
+ * {@link java.util.HashSet} source holds every generated item.
+ */
+public class Item {
+
+    private final int id;
+    private final int category;
+    private final String name;
+
+    public Item(int id, int category, String name) {
+        this.id = id;
+        this.category = category;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ItemDto toDto() {
+        return new ItemDto(id, name);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.crehn.listquery.benchmarks;
+
+/**
+ * The target type of the mapping benchmarks, standing in for the typical entity-to-DTO conversion.
+ */
+public class ItemDto implements Comparable<ItemDto> {
+
+    private final int id;
+    private final String name;
+
+    public ItemDto(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int compareTo(ItemDto other) {
+        return Integer.compare(id, other.id);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ItemDto && ((ItemDto) other).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.crehn.listquery.benchmarks;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.crehn.listquery.Just;
+
+/**
+ * Measures each method of {@link Just}. For the array source the array overloads are used, for all other sources the
+ * collection overloads. As in {@link QueryBenchmark}, each method sits next to a hand-written stream and loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class JustBenchmark {
+
+    private static final String DELIMITER = ", ";
+
+
+    // map
+
+    @Benchmark
+    public List<ItemDto> map_just(Sources sources) {
+        return sources.isArray() //
+                ? Just.map(sources.array, Item::toDto) //
+                : Just.map(sources.items, Item::toDto);
+    }
+
+    @Benchmark
+    public List<ItemDto> map_stream(Sources sources) {
+        return sources.stream() //
+                .map(Item::toDto) //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> map_loop(Sources sources) {
+        List<ItemDto> result = new ArrayList<>(sources.items.size());
+        for (Item item : sources.items)
+            result.add(item.toDto());
+        return result;
+    }
+
+
+    // mapToArray
+
+    @Benchmark
+    public ItemDto[] mapToArray_just(Sources sources) {
+        return sources.isArray() //
+                ? Just.mapToArray(sources.array, Item::toDto, ItemDto[]::new) //
+                : Just.mapToArray(sources.items, Item::toDto, ItemDto[]::new);
+    }
+
+    @Benchmark
+    public ItemDto[] mapToArray_stream(Sources sources) {
+        return sources.stream() //
+                .map(Item::toDto) //
+                .toArray(ItemDto[]::new);
+    }
+
+    @Benchmark
+    public ItemDto[] mapToArray_loop(Sources sources) {
+        ItemDto[] result = new ItemDto[sources.items.size()];
+        int i = 0;
+        for (Item item : sources.items)
+            result[i++] = item.toDto();
+        return result;
+    }
+
+
+    // filter
+
+    @Benchmark
+    public List<Item> filter_just(Sources sources) {
+        return sources.isArray() //
+                ? Just.filter(sources.array, item -> item.getId() < sources.median) //
+                : Just.filter(sources.items, item -> item.getId() < sources.median);
+    }
+
+    @Benchmark
+    public List<Item> filter_stream(Sources sources) {
+        return sources.stream() //
+                .filter(item -> item.getId() < sources.median) //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<Item> filter_loop(Sources sources) {
+        List<Item> result = new ArrayList<>();
+        for (Item item : sources.items)
+            if (item.getId() < sources.median)
+                result.add(item);
+        return result;
+    }
+
+
+    // filterToArray
+
+    @Benchmark
+    public Item[] filterToArray_just(Sources sources) {
+        return sources.isArray() //
+                ? Just.filterToArray(sources.array, item -> item.getId() < sources.median, Item[]::new) //
+                : Just.filterToArray(sources.items, item -> item.getId() < sources.median, Item[]::new);
+    }
+
+    @Benchmark
+    public Item[] filterToArray_stream(Sources sources) {
+        return sources.stream() //
+                .filter(item -> item.getId() < sources.median) //
+                .toArray(Item[]::new);
+    }
+
+    @Benchmark
+    public Item[] filterToArray_loop(Sources sources) {
+        List<Item> result = new ArrayList<>();
+        for (Item item : sources.items)
+            if (item.getId() < sources.median)
+                result.add(item);
+        return result.toArray(new Item[result.size()]);
+    }
+
+
+    // join
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String join_just(Sources sources) {
+        return sources.isArray() //
+                ? Just.join(sources.array, DELIMITER) //
+                : Just.join(sources.items, DELIMITER);
+    }
+
+    @Benchmark
+    public String join_stream(Sources sources) {
+        return sources.stream() //
+                .map(Object::toString) //
+                .collect(joining(DELIMITER));
+    }
+
+    @Benchmark
+    public String join_loop(Sources sources) {
+        StringJoiner result = new StringJoiner(DELIMITER);
+        for (Item item : sources.items)
+            result.add(item.toString());
+        return result.toString();
+    }
+
+
+    // allAre
+
+    @Benchmark
+    public boolean allAre_just(Sources sources) {
+        return sources.isArray() //
+                ? Just.allAre(sources.array, item -> item.getId() >= 0) //
+                : Just.allAre(sources.items, item -> item.getId() >= 0);
+    }
+
+    @Benchmark
+    public boolean allAre_stream(Sources sources) {
+        return sources.stream() //
+                .allMatch(item -> item.getId() >= 0);
+    }
+
+    @Benchmark
+    public boolean allAre_loop(Sources sources) {
+        for (Item item : sources.items)
+            if (item.getId() < 0)
+                return false;
+        return true;
+    }
+
+
+    // oneExists
+
+    @Benchmark
+    public boolean oneExists_just(Sources sources) {
+        return sources.isArray() //
+                ? Just.oneExists(sources.array, item -> item.getId() == sources.median) //
+                : Just.oneExists(sources.items, item -> item.getId() == sources.median);
+    }
+
+    @Benchmark
+    public boolean oneExists_stream(Sources sources) {
+        return sources.stream() //
+                .anyMatch(item -> item.getId() == sources.median);
+    }
+
+    @Benchmark
+    public boolean oneExists_loop(Sources sources) {
+        for (Item item : sources.items)
+            if (item.getId() == sources.median)
+                return true;
+        return false;
+    }
+
+
+    // noneIs
+
+    @Benchmark
+    public boolean noneIs_just(Sources sources) {
+        return sources.isArray() //
+                ? Just.noneIs(sources.array, item -> item.getId() < 0) //
+                : Just.noneIs(sources.items, item -> item.getId() < 0);
+    }
+
+    @Benchmark
+    public boolean noneIs_stream(Sources sources) {
+        return sources.stream() //
+                .noneMatch(item -> item.getId() < 0);
+    }
+
+    @Benchmark
+    public boolean noneIs_loop(Sources sources) {
+        for (Item item : sources.items)
+            if (item.getId() < 0)
+                return false;
+        return true;
+    }
+}
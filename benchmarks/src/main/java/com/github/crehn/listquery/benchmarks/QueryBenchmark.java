@@ -0,0 +1,282 @@
+package com.github.crehn.listquery.benchmarks;
+
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures each path through the {@link com.github.crehn.listquery.ListQuery} grammar. Every query benchmark sits next
+ * to a hand-written stream (<code>..._stream</code>) and a plain loop (<code>..._loop</code>) producing the same
+ * result, so the overhead of the query itself is directly visible in the report.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class QueryBenchmark {
+
+    private static final int PAGE = 3;
+    private static final int PER_PAGE = 20;
+    private static final int LIMIT = 100;
+    private static final int CATEGORY = 7;
+
+
+    // where
+
+    @Benchmark
+    public List<Item> where_query(Sources sources) {
+        return sources.query() //
+                .where(item -> item.getId() < sources.median) //
+                .select();
+    }
+
+    @Benchmark
+    public List<Item> where_stream(Sources sources) {
+        return sources.stream() //
+                .filter(item -> item.getId() < sources.median) //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<Item> where_loop(Sources sources) {
+        List<Item> result = new ArrayList<>();
+        for (Item item : sources.items)
+            if (item.getId() < sources.median)
+                result.add(item);
+        return result;
+    }
+
+
+    // where + and
+
+    @Benchmark
+    public List<Item> whereAnd_query(Sources sources) {
+        return sources.query() //
+                .where(item -> item.getId() < sources.median) //
+                .and(item -> item.getCategory() == CATEGORY) //
+                .select();
+    }
+
+    @Benchmark
+    public List<Item> whereAnd_stream(Sources sources) {
+        return sources.stream() //
+                .filter(item -> item.getId() < sources.median && item.getCategory() == CATEGORY) //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<Item> whereAnd_loop(Sources sources) {
+        List<Item> result = new ArrayList<>();
+        for (Item item : sources.items)
+            if (item.getId() < sources.median && item.getCategory() == CATEGORY)
+                result.add(item);
+        return result;
+    }
+
+
+    // where + or
+
+    @Benchmark
+    public List<Item> whereOr_query(Sources sources) {
+        return sources.query() //
+                .where(item -> item.getId() < PER_PAGE) //
+                .or(item -> item.getCategory() == CATEGORY) //
+                .select();
+    }
+
+    @Benchmark
+    public List<Item> whereOr_stream(Sources sources) {
+        return sources.stream() //
+                .filter(item -> item.getId() < PER_PAGE || item.getCategory() == CATEGORY) //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<Item> whereOr_loop(Sources sources) {
+        List<Item> result = new ArrayList<>();
+        for (Item item : sources.items)
+            if (item.getId() < PER_PAGE || item.getCategory() == CATEGORY)
+                result.add(item);
+        return result;
+    }
+
+
+    // ordered()
+
+    @Benchmark
+    public List<ItemDto> ordered_query(Sources sources) {
+        return sources.query() //
+                .ordered() //
+                .select(Item::toDto);
+    }
+
+    @Benchmark
+    public List<ItemDto> ordered_stream(Sources sources) {
+        return sources.stream() //
+                .map(Item::toDto) //
+                .sorted() //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> ordered_loop(Sources sources) {
+        List<ItemDto> result = new ArrayList<>(sources.items.size());
+        for (Item item : sources.items)
+            result.add(item.toDto());
+        Collections.sort(result);
+        return result;
+    }
+
+
+    // orderBy(getter)
+
+    @Benchmark
+    public List<ItemDto> orderBy_query(Sources sources) {
+        return sources.query() //
+                .orderBy(ItemDto::getName) //
+                .select(Item::toDto);
+    }
+
+    @Benchmark
+    public List<ItemDto> orderBy_stream(Sources sources) {
+        return sources.stream() //
+                .map(Item::toDto) //
+                .sorted(comparing(ItemDto::getName)) //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> orderBy_loop(Sources sources) {
+        List<ItemDto> result = new ArrayList<>(sources.items.size());
+        for (Item item : sources.items)
+            result.add(item.toDto());
+        result.sort(comparing(ItemDto::getName));
+        return result;
+    }
+
+
+    // distinct()
+
+    @Benchmark
+    public List<Integer> distinct_query(Sources sources) {
+        return sources.query() //
+                .distinct() //
+                .select(Item::getCategory);
+    }
+
+    @Benchmark
+    public List<Integer> distinct_stream(Sources sources) {
+        return sources.stream() //
+                .map(Item::getCategory) //
+                .distinct() //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<Integer> distinct_loop(Sources sources) {
+        Set<Integer> result = new LinkedHashSet<>();
+        for (Item item : sources.items)
+            result.add(item.getCategory());
+        return new ArrayList<>(result);
+    }
+
+
+    // limit()
+
+    @Benchmark
+    public List<ItemDto> limit_query(Sources sources) {
+        return sources.query() //
+                .where(item -> item.getCategory() == CATEGORY) //
+                .limit(LIMIT) //
+                .select(Item::toDto);
+    }
+
+    @Benchmark
+    public List<ItemDto> limit_stream(Sources sources) {
+        return sources.stream() //
+                .filter(item -> item.getCategory() == CATEGORY) //
+                .limit(LIMIT) //
+                .map(Item::toDto) //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> limit_loop(Sources sources) {
+        List<ItemDto> result = new ArrayList<>(LIMIT);
+        for (Item item : sources.items) {
+            if (result.size() == LIMIT)
+                break;
+            if (item.getCategory() == CATEGORY)
+                result.add(item.toDto());
+        }
+        return result;
+    }
+
+
+    // select(paging)
+
+    @Benchmark
+    public List<ItemDto> page_query(Sources sources) {
+        return sources.query() //
+                .where(item -> item.getCategory() == CATEGORY) //
+                .select(Item::toDto, page(PAGE).eachContaining(PER_PAGE));
+    }
+
+    @Benchmark
+    public List<ItemDto> page_stream(Sources sources) {
+        return sources.stream() //
+                .filter(item -> item.getCategory() == CATEGORY) //
+                .skip((PAGE - 1) * PER_PAGE) //
+                .limit(PER_PAGE) //
+                .map(Item::toDto) //
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> page_loop(Sources sources) {
+        List<ItemDto> result = new ArrayList<>(PER_PAGE);
+        int skip = (PAGE - 1) * PER_PAGE;
+        for (Item item : sources.items) {
+            if (result.size() == PER_PAGE)
+                break;
+            if (item.getCategory() != CATEGORY)
+                continue;
+            if (skip > 0)
+                skip--;
+            else
+                result.add(item.toDto());
+        }
+        return result;
+    }
+
+
+    // selectFirst()
+
+    @Benchmark
+    public Optional<Item> selectFirst_query(Sources sources) {
+        return sources.query() //
+                .where(item -> item.getId() == sources.median) //
+                .selectFirst();
+    }
+
+    @Benchmark
+    public Optional<Item> selectFirst_stream(Sources sources) {
+        return sources.stream() //
+                .filter(item -> item.getId() == sources.median) //
+                .findFirst();
+    }
+
+    @Benchmark
+    public Optional<Item> selectFirst_loop(Sources sources) {
+        for (Item item : sources.items)
+            if (item.getId() == sources.median)
+                return Optional.of(item);
+        return Optional.empty();
+    }
+}
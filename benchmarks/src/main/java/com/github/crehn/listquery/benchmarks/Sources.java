@@ -0,0 +1,84 @@
+package com.github.crehn.listquery.benchmarks;
+
+import static com.github.crehn.listquery.ListQuery.from;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.github.crehn.listquery.ListQuery.ListQueryWithFrom;
+
+/**
+ * The source collections shared by all benchmarks. Every benchmark runs against each combination of {@link #size} and
+ * {@link #type}. The items are generated with a fixed seed in shuffled order, so sorting always has real work to do.
+ */
+@State(Scope.Benchmark)
+public class Sources {
+
+    static final int CATEGORIES = 100;
+
+    @Param({ "10", "10000", "10000000" })
+    int size;
+
+    @Param({ "ArrayList", "LinkedList", "HashSet", "array" })
+    String type;
+
+    /** the source as collection; for the array type this is a list view of {@link #array} */
+    Collection<Item> items;
+    /** the source as array; <code>null</code> unless the type is "array" */
+    Item[] array;
+
+    /** an id in the middle of the (unshuffled) id range, used as threshold by the filter benchmarks */
+    int median;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Item> generated = generate(size);
+        median = size / 2;
+
+        switch (type) {
+            case "ArrayList":
+                items = new ArrayList<>(generated);
+                break;
+            case "LinkedList":
+                items = new LinkedList<>(generated);
+                break;
+            case "HashSet":
+                items = new HashSet<>(generated);
+                break;
+            case "array":
+                array = generated.toArray(new Item[size]);
+                items = Arrays.asList(array);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown source type " + type);
+        }
+    }
+
+    private static List<Item> generate(int size) {
+        String[] names = new String[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++)
+            names[i] = "category-" + i;
+
+        List<Item> result = new ArrayList<>(size);
+        for (int id = 0; id < size; id++)
+            result.add(new Item(id, id % CATEGORIES, names[id % CATEGORIES]));
+        Collections.shuffle(result, new Random(42));
+        return result;
+    }
+
+    boolean isArray() {
+        return array != null;
+    }
+
+    /** the query entry point matching the source type, i.e. <code>from(T...)</code> for arrays */
+    ListQueryWithFrom<Item> query() {
+        return isArray() ? from(array) : from(items);
+    }
+
+    /** the stream matching the source type, i.e. <code>Arrays.stream</code> for arrays */
+    Stream<Item> stream() {
+        return isArray() ? Arrays.stream(array) : items.stream();
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.crehn.listquery.jfr;
+
+import static java.lang.StackWalker.Option.RETAIN_CLASS_REFERENCE;
+
+import com.github.crehn.listquery.QueryMetrics;
+import com.github.crehn.listquery.QueryMetricsListener;
+
+/**
+ * Emits a {@link QueryExecutionEvent} (<code>com.github.crehn.listquery.QueryExecution</code>) for each query and
+ * each {@link com.github.crehn.listquery.Just} call on a source of at least a given size, so they show up in Java
+ * Flight Recordings with their call site instead of as anonymous stream frames. Install it once at startup:
+ *
+ * <pre>
+ * <code>
+ * QueryEvents.install(10_000);
+ * </code>
+ * </pre>
+ *
+ * The threshold and whether the event is enabled in the running recordings are checked before the execution starts.
+ * Executions that are not recorded are not measured at all; while the event is disabled, nothing is done.
+ */
+public final class QueryEvents {
+
+    private static final String LIBRARY = QueryMetrics.class.getPackage().getName();
+    private static final StackWalker STACK = StackWalker.getInstance(RETAIN_CLASS_REFERENCE);
+
+    private static Threshold installed;
+
+    private QueryEvents() {
+    }
+
+    /**
+     * Record the queries and calls on sources with at least the given number of elements, replacing the threshold of
+     * a previous installation.
+     */
+    public static synchronized void install(int minSourceSize) {
+        uninstall();
+        installed = new Threshold(minSourceSize);
+        QueryMetricsListener.register(installed);
+    }
+
+    public static synchronized void uninstall() {
+        if (installed != null)
+            QueryMetricsListener.unregister(installed);
+        installed = null;
+    }
+
+    /** begins an event for each execution on a source of at least the minimum size, if the event is enabled */
+    static final class Threshold implements QueryMetricsListener {
+        private final int minSourceSize;
+
+        Threshold(int minSourceSize) {
+            this.minSourceSize = minSourceSize;
+        }
+
+        @Override
+        public QueryMetricsListener measuring(long sourceSize) {
+            // the lines of a file and joins are not counted, so they are recorded regardless of the threshold
+            if (sourceSize >= 0 && sourceSize < minSourceSize)
+                return null;
+            QueryExecutionEvent event = new QueryExecutionEvent();
+            if (!event.isEnabled())
+                return null;
+
+            event.begin();
+            return new Execution(event);
+        }
+
+        /** executions are recorded by the listeners returned by {@link #measuring(long)} */
+        @Override
+        public void executed(QueryMetrics metrics) {
+        }
+    }
+
+    /**
+     * commits the event of one execution; the event has its own duration, so the where clause and the mapper are only
+     * counted, not timed
+     */
+    static final class Execution implements QueryMetricsListener {
+        private final QueryExecutionEvent event;
+
+        private Execution(QueryExecutionEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public boolean isTiming() {
+            return false;
+        }
+
+        @Override
+        public void executed(QueryMetrics metrics) {
+            event.end();
+            if (!event.shouldCommit())
+                return;
+
+            event.name = metrics.getName();
+            event.terminal = metrics.getTerminal();
+            event.callSite = callSite();
+            event.sourceSize = metrics.getSourceSize();
+            event.filteredRows = metrics.getFilteredRows();
+            event.resultSize = metrics.getReturnedRows();
+            event.sorted = metrics.isSorted();
+            event.commit();
+        }
+    }
+
+    /** the first frame that is neither part of list-query nor of the JDK, e.g. a stream calling back */
+    private static String callSite() {
+        return STACK.walk(frames -> frames //
+                .filter(frame -> !isInternal(frame.getDeclaringClass())) //
+                .findFirst() //
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber()) //
+                .orElse(null));
+    }
+
+    private static boolean isInternal(Class<?> type) {
+        String packageName = type.getPackageName();
+        return packageName.equals(LIBRARY) || type.getNestHost() == QueryEvents.class
+                || packageName.startsWith("java.") || packageName.startsWith("jdk.");
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.crehn.listquery.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A query or {@link com.github.crehn.listquery.Just} call, as recorded by {@link QueryEvents}. The event begins before
+ * the execution and is committed after it, so its duration is the time the execution took.
+ */
+@Name("com.github.crehn.listquery.QueryExecution")
+@Label("Query Execution")
+@Category("ListQuery")
+@Description("An executed list query or Just call")
+@StackTrace(false)
+class QueryExecutionEvent extends Event {
+
+    @Label("Name")
+    @Description("The name given in the from clause")
+    String name;
+
+    @Label("Terminal")
+    @Description("The select method or the Just method")
+    String terminal;
+
+    @Label("Call Site")
+    @Description("The first method outside of list-query on the stack")
+    String callSite;
+
+    @Label("Source Size")
+    long sourceSize;
+
+    @Label("Filtered Rows")
+    long filteredRows;
+
+    @Label("Result Size")
+    long resultSize;
+
+    @Label("Sorted")
+    boolean sorted;
+}
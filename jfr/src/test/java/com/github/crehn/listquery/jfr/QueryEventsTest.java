@@ -0,0 +1,108 @@
+package com.github.crehn.listquery.jfr;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.crehn.listquery.Just;
+import com.github.crehn.listquery.QueryMetricsListener;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class QueryEventsTest {
+
+    private List<Integer> numbers = IntStream.range(0, 100).boxed().collect(toList());
+
+    @After
+    public void uninstall() {
+        QueryEvents.uninstall();
+    }
+
+    private List<RecordedEvent> record(Runnable queries) throws IOException {
+        Path file = Files.createTempFile("queries", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(QueryExecutionEvent.class);
+            recording.start();
+            queries.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void shouldRecordQueries() throws IOException {
+        QueryEvents.install(10);
+
+        List<RecordedEvent> events = record(() -> from(numbers).named("even").where(n -> n % 2 == 0) //
+                .orderBy((Integer n) -> -n).limit(5).select(n -> n));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("even", event.getString("name"));
+        assertEquals("select", event.getString("terminal"));
+        assertTrue(event.getString("callSite"), event.getString("callSite").startsWith(getClass().getName()));
+        assertEquals(100, event.getLong("sourceSize"));
+        assertEquals(50, event.getLong("filteredRows"));
+        assertEquals(5, event.getLong("resultSize"));
+        assertTrue(event.getBoolean("sorted"));
+        assertFalse(event.getDuration().isNegative() || event.getDuration().isZero());
+    }
+
+    @Test
+    public void shouldRecordJustCalls() throws IOException {
+        QueryEvents.install(10);
+
+        List<RecordedEvent> events = record(() -> Just.map(numbers, n -> n * 2));
+
+        assertEquals(1, events.size());
+        assertEquals("Just.map", events.get(0).getString("terminal"));
+        assertFalse(events.get(0).getBoolean("sorted"));
+    }
+
+    @Test
+    public void shouldOnlyCountRowsOfRecordedExecutions() {
+        try (Recording recording = new Recording()) {
+            recording.enable(QueryExecutionEvent.class);
+            recording.start();
+
+            QueryMetricsListener execution = new QueryEvents.Threshold(10).measuring(100);
+
+            assertNotNull(execution);
+            assertFalse(execution.isTiming());
+        }
+    }
+
+    @Test
+    public void shouldNotMeasureWhileDisabled() {
+        assertNull(new QueryEvents.Threshold(10).measuring(100));
+    }
+
+    @Test
+    public void shouldNotRecordSmallSources() throws IOException {
+        QueryEvents.install(1000);
+
+        assertTrue(record(() -> from(numbers).select()).isEmpty());
+    }
+
+    @Test
+    public void shouldNotRecordWhenUninstalled() throws IOException {
+        QueryEvents.install(10);
+        QueryEvents.uninstall();
+
+        assertTrue(record(() -> from(numbers).select()).isEmpty());
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import com.github.crehn.listquery.Condition.And;
+import com.github.crehn.listquery.Condition.Or;
+
+/**
+ * A conjunction or disjunction that reorders its operands while it is evaluated, so that the cheapest and most
+ * selective ones are tested first. For a conjunction, an operand is selective if it is often false (then the rest need
+ * not be tested), for a disjunction if it is often true.
+ *
+ * Every {@value #SAMPLE_INTERVAL}th element is a sample: the operands are tested in the written order and timed,
+ * short-circuiting just like for the other elements, so an operand is only measured on the samples that reach it.
+ * Every {@value #REORDER_INTERVAL} samples the operands are sorted by their average time per short-circuit, i.e. by
+ * time divided by the share of the samples reaching them that they decided. Operands no sample reached yet stay
+ * last, in the written order.
+ *
+ * Reordering does not change the result as long as the operands are independent and free of side effects. It does
+ * change the result if an operand guards another one (like <code>e != null</code> followed by
+ * <code>e.isActive()</code>), once the guarded operand is tested first for an element that is not a sample. Not
+ * thread-safe: create a new instance for each execution.
+ */
+class AdaptiveCondition<T> implements Predicate<T> {
+
+    static final int SAMPLE_INTERVAL = 8;
+    static final int REORDER_INTERVAL = 32;
+
+    /**
+     * Replace the conjunctions and disjunctions in the given where clause (recursively) by adaptive ones.
+     */
+    static <T> Predicate<T> adaptive(Predicate<T> where) {
+        if (where instanceof And)
+            return new AdaptiveCondition<>(true, ((And<T>) where).getOperands());
+        if (where instanceof Or)
+            return new AdaptiveCondition<>(false, ((Or<T>) where).getOperands());
+        return where;
+    }
+
+    /** <code>true</code> for a conjunction, <code>false</code> for a disjunction */
+    private final boolean conjunction;
+    private final List<Predicate<T>> operands = new ArrayList<>();
+    /** the indexes of the operands in the order they are tested */
+    private int[] order;
+    private final long[] nanos;
+    /** the number of samples in which an operand was tested */
+    private final long[] reached;
+    /** the number of samples in which an operand decided the result */
+    private final long[] decisive;
+    private long tested = 0;
+    private long samples = 0;
+
+    private AdaptiveCondition(boolean conjunction, List<Predicate<T>> operands) {
+        this.conjunction = conjunction;
+        for (Predicate<T> operand : operands)
+            this.operands.add(adaptive(operand));
+        this.order = IntStream.range(0, operands.size()).toArray();
+        this.nanos = new long[operands.size()];
+        this.reached = new long[operands.size()];
+        this.decisive = new long[operands.size()];
+    }
+
+    @Override
+    public boolean test(T element) {
+        if (tested++ % SAMPLE_INTERVAL == 0)
+            return sample(element);
+
+        for (int index : order)
+            if (operands.get(index).test(element) != conjunction)
+                return !conjunction;
+        return conjunction;
+    }
+
+    private boolean sample(T element) {
+        if (++samples % REORDER_INTERVAL == 0)
+            reorder();
+
+        for (int index = 0; index < operands.size(); index++) {
+            reached[index]++;
+            long start = System.nanoTime();
+            boolean value = operands.get(index).test(element);
+            nanos[index] += System.nanoTime() - start;
+            if (value != conjunction) {
+                decisive[index]++;
+                return !conjunction;
+            }
+        }
+        return conjunction;
+    }
+
+    private void reorder() {
+        order = IntStream.range(0, operands.size()).boxed() //
+                .sorted(Comparator.comparingDouble(this::rank)) //
+                .mapToInt(Integer::intValue) //
+                .toArray();
+    }
+
+    /** the average time spent per decision on the samples reaching the operand; the lower the better */
+    private double rank(int index) {
+        if (reached[index] == 0)
+            return Double.MAX_VALUE;
+        return (double) nanos[index] / reached[index] / ((decisive[index] + 1.0) / (reached[index] + 1));
+    }
+}
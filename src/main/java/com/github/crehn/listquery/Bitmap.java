@@ -0,0 +1,256 @@
+package com.github.crehn.listquery;
+
+import java.util.Arrays;
+
+/**
+ * immutable
+ *
+ * A compressed set of row positions in the style of Roaring bitmaps. The positions are split into chunks by their
+ * upper 16 bits. Each chunk keeps its lower 16 bits as a sorted array while it holds at most 4096 positions, and as a
+ * bitmap of 1024 words otherwise. Sparse sets, like the rows of an index key, take two bytes per position, dense ones
+ * one bit per row. The intersection and union work chunk by chunk, on a few thousand words at most.
+ */
+final class Bitmap {
+
+    private static final int CHUNK_WORDS = 1024;
+    /** chunks with more positions are kept as bitmap; a bitmap chunk takes as much space as an array of this size */
+    private static final int MAX_ARRAY = 4096;
+    static final Bitmap EMPTY = new Bitmap(new char[0], new Object[0]);
+
+    /** the upper 16 bits of the positions in each chunk, ascending */
+    private final char[] keys;
+    /** for each key, either a sorted <code>char[]</code> of the lower 16 bits or a <code>long[]</code> bitmap */
+    private final Object[] chunks;
+
+    private Bitmap(char[] keys, Object[] chunks) {
+        this.keys = keys;
+        this.chunks = chunks;
+    }
+
+    /** the given positions, which need to be ascending */
+    static Bitmap ofSorted(int[] positions) {
+        Builder builder = new Builder();
+        int start = 0;
+        while (start < positions.length) {
+            int key = positions[start] >>> 16;
+            int end = start;
+            while (end < positions.length && positions[end] >>> 16 == key)
+                end++;
+            char[] low = new char[end - start];
+            for (int i = start; i < end; i++)
+                low[i - start] = (char) positions[i];
+            builder.add(key, low.length > MAX_ARRAY ? toWords(low) : low);
+            start = end;
+        }
+        return builder.build();
+    }
+
+    /** the set bits of the given words, bit <code>i % 64</code> of word <code>i / 64</code> standing for row i */
+    static Bitmap ofWords(long[] words) {
+        Builder builder = new Builder();
+        for (int from = 0; from < words.length; from += CHUNK_WORDS) {
+            long[] chunk = Arrays.copyOfRange(words, from, from + CHUNK_WORDS);
+            builder.add(from / CHUNK_WORDS, compact(chunk, cardinality(chunk)));
+        }
+        return builder.build();
+    }
+
+    boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    int cardinality() {
+        int result = 0;
+        for (Object chunk : chunks)
+            result += chunk instanceof char[] ? ((char[]) chunk).length : cardinality((long[]) chunk);
+        return result;
+    }
+
+    /** the positions in ascending order */
+    int[] toArray() {
+        int[] result = new int[cardinality()];
+        int n = 0;
+        for (int c = 0; c < keys.length; c++) {
+            int high = keys[c] << 16;
+            if (chunks[c] instanceof char[]) {
+                for (char low : (char[]) chunks[c])
+                    result[n++] = high | low;
+            } else {
+                long[] words = (long[]) chunks[c];
+                for (int w = 0; w < words.length; w++)
+                    for (long word = words[w]; word != 0; word &= word - 1)
+                        result[n++] = high | w << 6 | Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    Bitmap and(Bitmap other) {
+        Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                builder.add(keys[i], and(chunks[i], other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    Bitmap or(Bitmap other) {
+        Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || i < keys.length && keys[i] < other.keys[j])
+                builder.add(keys[i], chunks[i++]);
+            else if (i == keys.length || keys[i] > other.keys[j])
+                builder.add(other.keys[j], other.chunks[j++]);
+            else
+                builder.add(keys[i], or(chunks[i++], other.chunks[j++]));
+        }
+        return builder.build();
+    }
+
+
+    // chunks
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[])
+            return intersect((char[]) a, (char[]) b);
+        if (a instanceof char[])
+            return filter((char[]) a, (long[]) b);
+        if (b instanceof char[])
+            return filter((char[]) b, (long[]) a);
+
+        long[] left = (long[]) a;
+        long[] right = (long[]) b;
+        long[] result = new long[CHUNK_WORDS];
+        int cardinality = 0;
+        for (int w = 0; w < CHUNK_WORDS; w++) {
+            result[w] = left[w] & right[w];
+            cardinality += Long.bitCount(result[w]);
+        }
+        return compact(result, cardinality);
+    }
+
+    private static Object or(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            char[] union = union((char[]) a, (char[]) b);
+            return union.length > MAX_ARRAY ? toWords(union) : union;
+        }
+
+        long[] result = a instanceof long[] ? ((long[]) a).clone() : toWords((char[]) a);
+        if (b instanceof long[]) {
+            long[] words = (long[]) b;
+            for (int w = 0; w < CHUNK_WORDS; w++)
+                result[w] |= words[w];
+        } else {
+            for (char low : (char[]) b)
+                result[low >>> 6] |= 1L << low;
+        }
+        return result;
+    }
+
+    private static char[] intersect(char[] a, char[] b) {
+        char[] result = new char[Math.min(a.length, b.length)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static char[] union(char[] a, char[] b) {
+        char[] result = new char[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || i < a.length && a[i] < b[j])
+                result[n++] = a[i++];
+            else if (i == a.length || a[i] > b[j])
+                result[n++] = b[j++];
+            else {
+                result[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static char[] filter(char[] positions, long[] words) {
+        char[] result = new char[positions.length];
+        int n = 0;
+        for (char low : positions)
+            if ((words[low >>> 6] & 1L << low) != 0)
+                result[n++] = low;
+        return Arrays.copyOf(result, n);
+    }
+
+    private static long[] toWords(char[] positions) {
+        long[] words = new long[CHUNK_WORDS];
+        for (char low : positions)
+            words[low >>> 6] |= 1L << low;
+        return words;
+    }
+
+    /** the chunk as array if it is sparse enough */
+    private static Object compact(long[] words, int cardinality) {
+        if (cardinality > MAX_ARRAY)
+            return words;
+
+        char[] result = new char[cardinality];
+        int n = 0;
+        for (int w = 0; w < words.length; w++)
+            for (long word = words[w]; word != 0; word &= word - 1)
+                result[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+        return result;
+    }
+
+    private static int cardinality(long[] words) {
+        int result = 0;
+        for (long word : words)
+            result += Long.bitCount(word);
+        return result;
+    }
+
+
+    /** collects the non-empty chunks in ascending order of their keys */
+    private static class Builder {
+        private char[] keys = new char[4];
+        private Object[] chunks = new Object[4];
+        private int size = 0;
+
+        void add(int key, Object chunk) {
+            if (chunk instanceof char[] && ((char[]) chunk).length == 0)
+                return;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                chunks = Arrays.copyOf(chunks, size * 2);
+            }
+            keys[size] = (char) key;
+            chunks[size++] = chunk;
+        }
+
+        Bitmap build() {
+            return size == 0 ? EMPTY : new Bitmap(Arrays.copyOf(keys, size), Arrays.copyOf(chunks, size));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.github.crehn.listquery.Condition.Equality;
+import com.github.crehn.listquery.Condition.Range;
+
+/**
+ * immutable
+ *
+ * The values of one field of all rows of a {@link ColumnarSource}: int, long and double fields without
+ * <code>null</code>s are kept in primitive arrays, all others are dictionary-encoded as an array of codes into the
+ * distinct values. A column evaluates an {@link Equality} or a {@link Range} on its field in a tight loop over its
+ * array, without touching the rows, and returns the matching rows as a {@link Bitmap}. Whether a column can evaluate a
+ * condition is known before that loop runs.
+ */
+abstract class Column {
+
+    /**
+     * The values of the given getter for all rows. The type of the first value decides which primitive array to fill;
+     * only if another value does not fit, the values extracted so far are boxed again for a dictionary.
+     */
+    static <T> Column of(List<T> rows, Function<T, ?> getter) {
+        if (rows.isEmpty())
+            return new DictionaryColumn(new Object[0]);
+
+        Object first = getter.apply(rows.get(0));
+        if (first instanceof Integer) {
+            int[] values = new int[rows.size()];
+            values[0] = (Integer) first;
+            for (int i = 1; i < values.length; i++) {
+                Object value = getter.apply(rows.get(i));
+                if (!(value instanceof Integer))
+                    return dictionary(rows, getter, i, value, index -> values[index]);
+                values[i] = (Integer) value;
+            }
+            return new IntColumn(values);
+        }
+        if (first instanceof Long) {
+            long[] values = new long[rows.size()];
+            values[0] = (Long) first;
+            for (int i = 1; i < values.length; i++) {
+                Object value = getter.apply(rows.get(i));
+                if (!(value instanceof Long))
+                    return dictionary(rows, getter, i, value, index -> values[index]);
+                values[i] = (Long) value;
+            }
+            return new LongColumn(values);
+        }
+        if (first instanceof Double) {
+            double[] values = new double[rows.size()];
+            values[0] = (Double) first;
+            for (int i = 1; i < values.length; i++) {
+                Object value = getter.apply(rows.get(i));
+                if (!(value instanceof Double))
+                    return dictionary(rows, getter, i, value, index -> values[index]);
+                values[i] = (Double) value;
+            }
+            return new DoubleColumn(values);
+        }
+        return dictionary(rows, getter, 0, first, index -> null);
+    }
+
+    /**
+     * a dictionary column of the values of the given getter, where the values of the rows before the given one are
+     * already extracted and the value of that row is the given one
+     */
+    private static <T> Column dictionary(List<T> rows, Function<T, ?> getter, int row, Object value,
+            IntFunction<Object> extracted) {
+        Object[] values = new Object[rows.size()];
+        for (int i = 0; i < row; i++)
+            values[i] = extracted.apply(i);
+        values[row] = value;
+        for (int i = row + 1; i < values.length; i++)
+            values[i] = getter.apply(rows.get(i));
+        return new DictionaryColumn(values);
+    }
+
+    /**
+     * computes the rows whose value satisfies the given equality or range; <code>null</code> if the column cannot
+     * tell
+     */
+    abstract Supplier<Bitmap> select(Predicate<?> condition);
+
+    private static long[] words(int rows) {
+        return new long[(rows + 63) >>> 6];
+    }
+
+    /** whether both bounds of the range are either of the given type or unbounded */
+    private static boolean hasBoundsOf(Range<?, ?> range, Class<?> type) {
+        return (range.getMin() == null || range.getMin().getClass() == type)
+                && (range.getMax() == null || range.getMax().getClass() == type);
+    }
+
+
+    private static class IntColumn extends Column {
+        private final int[] values;
+
+        IntColumn(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Supplier<Bitmap> select(Predicate<?> condition) {
+            if (condition instanceof Equality) {
+                Object value = ((Equality<?, ?>) condition).getValue();
+                return value instanceof Integer ? () -> between((Integer) value, (Integer) value) : () -> Bitmap.EMPTY;
+            }
+            Range<?, ?> range = (Range<?, ?>) condition;
+            if (!hasBoundsOf(range, Integer.class))
+                return null;
+            int min = range.getMin() == null ? Integer.MIN_VALUE : (Integer) range.getMin();
+            int max = range.getMax() == null ? Integer.MAX_VALUE : (Integer) range.getMax();
+            return () -> between(min, max);
+        }
+
+        private Bitmap between(int min, int max) {
+            long[] words = words(values.length);
+            for (int i = 0; i < values.length; i++)
+                if (values[i] >= min && values[i] <= max)
+                    words[i >>> 6] |= 1L << i;
+            return Bitmap.ofWords(words);
+        }
+    }
+
+
+    private static class LongColumn extends Column {
+        private final long[] values;
+
+        LongColumn(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Supplier<Bitmap> select(Predicate<?> condition) {
+            if (condition instanceof Equality) {
+                Object value = ((Equality<?, ?>) condition).getValue();
+                return value instanceof Long ? () -> between((Long) value, (Long) value) : () -> Bitmap.EMPTY;
+            }
+            Range<?, ?> range = (Range<?, ?>) condition;
+            if (!hasBoundsOf(range, Long.class))
+                return null;
+            long min = range.getMin() == null ? Long.MIN_VALUE : (Long) range.getMin();
+            long max = range.getMax() == null ? Long.MAX_VALUE : (Long) range.getMax();
+            return () -> between(min, max);
+        }
+
+        private Bitmap between(long min, long max) {
+            long[] words = words(values.length);
+            for (int i = 0; i < values.length; i++)
+                if (values[i] >= min && values[i] <= max)
+                    words[i >>> 6] |= 1L << i;
+            return Bitmap.ofWords(words);
+        }
+    }
+
+
+    /** compares like {@link Double#equals} and {@link Double#compareTo}, so NaN and -0.0 match as for the rows */
+    private static class DoubleColumn extends Column {
+        private final double[] values;
+
+        DoubleColumn(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Supplier<Bitmap> select(Predicate<?> condition) {
+            if (condition instanceof Equality) {
+                Object value = ((Equality<?, ?>) condition).getValue();
+                return value instanceof Double ? () -> equalTo((Double) value) : () -> Bitmap.EMPTY;
+            }
+            Range<?, ?> range = (Range<?, ?>) condition;
+            if (!hasBoundsOf(range, Double.class))
+                return null;
+            return () -> between((Double) range.getMin(), (Double) range.getMax());
+        }
+
+        private Bitmap equalTo(double value) {
+            long bits = Double.doubleToLongBits(value);
+            long[] words = words(values.length);
+            for (int i = 0; i < values.length; i++)
+                if (Double.doubleToLongBits(values[i]) == bits)
+                    words[i >>> 6] |= 1L << i;
+            return Bitmap.ofWords(words);
+        }
+
+        private Bitmap between(Double min, Double max) {
+            long[] words = words(values.length);
+            for (int i = 0; i < values.length; i++)
+                if ((min == null || Double.compare(values[i], min) >= 0)
+                        && (max == null || Double.compare(values[i], max) <= 0))
+                    words[i >>> 6] |= 1L << i;
+            return Bitmap.ofWords(words);
+        }
+    }
+
+
+    private static class DictionaryColumn extends Column {
+        /** the distinct values, indexed by their code */
+        private final Object[] dictionary;
+        private final Map<Object, Integer> codesByValue = new HashMap<>();
+        private final int[] codes;
+
+        DictionaryColumn(Object[] values) {
+            List<Object> distinct = new ArrayList<>();
+            this.codes = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                Integer code = codesByValue.get(values[i]);
+                if (code == null) {
+                    code = distinct.size();
+                    codesByValue.put(values[i], code);
+                    distinct.add(values[i]);
+                }
+                codes[i] = code;
+            }
+            this.dictionary = distinct.toArray();
+        }
+
+        @Override
+        Supplier<Bitmap> select(Predicate<?> condition) {
+            if (condition instanceof Equality) {
+                Object value = ((Equality<?, ?>) condition).getValue();
+                return () -> {
+                    Integer code = codesByValue.get(value);
+                    return code == null ? Bitmap.EMPTY : withCode(code);
+                };
+            }
+            return () -> withCodes(matchingCodes((Range<?, ?>) condition));
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private boolean[] matchingCodes(Range range) {
+            boolean[] matching = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++)
+                matching[code] = range.contains((Comparable) dictionary[code]);
+            return matching;
+        }
+
+        private Bitmap withCode(int code) {
+            long[] words = words(codes.length);
+            for (int i = 0; i < codes.length; i++)
+                if (codes[i] == code)
+                    words[i >>> 6] |= 1L << i;
+            return Bitmap.ofWords(words);
+        }
+
+        private Bitmap withCodes(boolean[] matching) {
+            long[] words = words(codes.length);
+            for (int i = 0; i < codes.length; i++)
+                if (matching[codes[i]])
+                    words[i >>> 6] |= 1L << i;
+            return Bitmap.ofWords(words);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.github.crehn.listquery.Condition.Equality;
+import com.github.crehn.listquery.Condition.Range;
+
+/**
+ * immutable
+ *
+ * A snapshot of a collection together with some of the fields of its elements, extracted once into column arrays:
+ * int, long and double fields as primitive arrays, others dictionary-encoded. Pass it to {@link ListQuery#from} like
+ * any other collection. When the where clause of a query requires equalities or ranges on those fields (see
+ * {@link Conditions#equalTo} and {@link Conditions#between}), they are evaluated by tight loops over the columns into
+ * bitmaps of the matching rows. The bitmaps are intersected for <code>and</code> and united for <code>or</code>. Only
+ * the rows in the combined bitmap are touched as objects.
+ * Example:
+ *
+ * <pre>
+ * <code>
+ * static final Function&lt;Trade, Integer&gt; DAY = Trade::getDay;
+ * static final Function&lt;Trade, Integer&gt; VENUE = Trade::getVenue;
+ *
+ * ColumnarSource&lt;Trade&gt; trades = columnar(tradeList, DAY, VENUE);
+ * from(trades)
+ *     .where(between(DAY, 20170101, 20170131))
+ *     .and(equalTo(VENUE, 7))
+ *     .select();
+ * </code>
+ * </pre>
+ *
+ * Building the columns takes one pass over the collection per field, so this pays off when the same source is
+ * queried many times. Later changes to the collection are not reflected; build a new source instead.
+ */
+public class ColumnarSource<T> extends AbstractList<T> implements RandomAccess {
+
+    private final Object[] rows;
+    /** the columns by getter; the getters are compared by identity */
+    private final Map<Function<T, ?>, Column> columns = new IdentityHashMap<>();
+
+    private ColumnarSource(Collection<T> source) {
+        this.rows = source.toArray();
+    }
+
+    /**
+     * Create a snapshot of the given collection with a column for each of the given getters. Use the very same
+     * getter instances in the conditions for the columns to be used.
+     *
+     * @see ListQuery#columnar(Collection, Function...)
+     */
+    @SafeVarargs
+    public static <T> ColumnarSource<T> columnar(Collection<T> source, Function<T, ?>... getters) {
+        ColumnarSource<T> result = new ColumnarSource<>(source);
+        for (Function<T, ?> getter : getters)
+            result.columns.put(getter, Column.of(result, getter));
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= rows.length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rows.length);
+        return (T) rows[index];
+    }
+
+    @Override
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * The rows that may satisfy the given where clause, in source order, selected by the conditions the columns can
+     * evaluate; <code>null</code> if they do not narrow the rows.
+     */
+    List<T> candidates(Predicate<T> where) {
+        Bitmap selected = Condition.select(where, this::select);
+        return selected == null ? null : new Rows(selected.toArray());
+    }
+
+    /** whether {@link #candidates(Predicate)} narrows the rows, without evaluating any column */
+    boolean narrows(Predicate<T> where) {
+        return Condition.narrows(where, this::select);
+    }
+
+    private Supplier<Bitmap> select(Predicate<T> condition) {
+        Function<T, ?> getter = null;
+        if (condition instanceof Equality)
+            getter = ((Equality<T, ?>) condition).getGetter();
+        else if (condition instanceof Range)
+            getter = ((Range<T, ?>) condition).getGetter();
+        Column column = getter == null ? null : columns.get(getter);
+        return column == null ? null : column.select(condition);
+    }
+
+    private class Rows extends AbstractList<T> implements RandomAccess {
+        private final int[] positions;
+
+        Rows(int[] positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public T get(int index) {
+            return ColumnarSource.this.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
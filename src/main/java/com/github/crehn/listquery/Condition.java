@@ -0,0 +1,277 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * The where clause of a query as a tree of predicates rather than one opaque composed predicate. This allows sources
+ * to recognize the conditions they are able to evaluate faster than by testing each element, e.g. an equality on an
+ * indexed key (see {@link IndexedSource}).
+ *
+ * Chains of <code>and</code> (or <code>or</code>) are flattened into one node, so
+ * <code>where(a).and(b).or(c).and(d)</code> becomes <code>And(Or(And(a, b), c), d)</code>.
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class Condition {
+
+    private static final Predicate<Object> ALWAYS = e -> true;
+
+    @SuppressWarnings("unchecked")
+    static <T> Predicate<T> always() {
+        return (Predicate<T>) ALWAYS;
+    }
+
+    static <T> Predicate<T> and(Predicate<T> left, @NonNull Predicate<T> right) {
+        if (left == ALWAYS)
+            return right;
+
+        List<Predicate<T>> operands = new ArrayList<>();
+        if (left instanceof And)
+            operands.addAll(((And<T>) left).getOperands());
+        else
+            operands.add(left);
+        operands.add(right);
+        return new And<>(Collections.unmodifiableList(operands));
+    }
+
+    static <T> Predicate<T> or(Predicate<T> left, @NonNull Predicate<T> right) {
+        List<Predicate<T>> operands = new ArrayList<>();
+        if (left instanceof Or)
+            operands.addAll(((Or<T>) left).getOperands());
+        else
+            operands.add(left);
+        operands.add(right);
+        return new Or<>(Collections.unmodifiableList(operands));
+    }
+
+
+    /**
+     * A superset of the rows satisfying the given where clause, combining the bitmaps a source has for some of its
+     * conditions (e.g. from an index) by intersection for <code>and</code> and union for <code>or</code>. Operands of
+     * <code>and</code> without a bitmap are skipped, as the other operands still narrow the result; a disjunction needs
+     * a bitmap for each operand. Returns <code>null</code> if the rows cannot be narrowed.
+     *
+     * @param leaves
+     *            computes the bitmap for a condition that is neither a conjunction nor a disjunction; <code>null</code>
+     *            if there is none
+     */
+    static <T> Bitmap select(Predicate<T> where, Function<Predicate<T>, Supplier<Bitmap>> leaves) {
+        if (where instanceof And) {
+            Bitmap result = null;
+            for (Predicate<T> operand : ((And<T>) where).getOperands()) {
+                Bitmap rows = select(operand, leaves);
+                if (rows != null)
+                    result = result == null ? rows : result.and(rows);
+                if (result != null && result.isEmpty())
+                    break;
+            }
+            return result;
+        }
+        if (where instanceof Or) {
+            if (!narrows(where, leaves))
+                return null;
+            Bitmap result = null;
+            for (Predicate<T> operand : ((Or<T>) where).getOperands()) {
+                Bitmap rows = select(operand, leaves);
+                result = result == null ? rows : result.or(rows);
+            }
+            return result;
+        }
+        Supplier<Bitmap> leaf = leaves.apply(where);
+        return leaf == null ? null : leaf.get();
+    }
+
+    /** whether {@link #select(Predicate, Function)} narrows the rows, without computing any bitmap */
+    static <T> boolean narrows(Predicate<T> where, Function<Predicate<T>, Supplier<Bitmap>> leaves) {
+        if (where instanceof And)
+            return ((And<T>) where).getOperands().stream().anyMatch(operand -> narrows(operand, leaves));
+        if (where instanceof Or)
+            return ((Or<T>) where).getOperands().stream().allMatch(operand -> narrows(operand, leaves));
+        return leaves.apply(where) != null;
+    }
+
+    /**
+     * A condition on some other representation of the elements (e.g. the split lines of a file) that is satisfied by
+     * a superset of the elements satisfying the given where clause. It combines the conditions a source has for some
+     * conditions of the clause just like {@link #select(Predicate, Function)} combines bitmaps. Returns
+     * <code>null</code> if there is none.
+     *
+     * @param leaves
+     *            the condition for a condition that is neither a conjunction nor a disjunction, or <code>null</code>
+     */
+    static <T, R> Predicate<R> pushDown(Predicate<T> where, Function<Predicate<T>, Predicate<R>> leaves) {
+        if (where instanceof And) {
+            Predicate<R> result = null;
+            for (Predicate<T> operand : ((And<T>) where).getOperands()) {
+                Predicate<R> condition = pushDown(operand, leaves);
+                if (condition != null)
+                    result = result == null ? condition : result.and(condition);
+            }
+            return result;
+        }
+        if (where instanceof Or) {
+            Predicate<R> result = null;
+            for (Predicate<T> operand : ((Or<T>) where).getOperands()) {
+                Predicate<R> condition = pushDown(operand, leaves);
+                if (condition == null)
+                    return null;
+                result = result == null ? condition : result.or(condition);
+            }
+            return result;
+        }
+        return leaves.apply(where);
+    }
+
+    /**
+     * Replace the parameters in the given where clause by their values. Parts of the clause without parameters are
+     * reused as they are, so binding a clause without any parameter returns the clause itself.
+     */
+    static <T> Predicate<T> bind(Predicate<T> where, Parameters parameters) {
+        if (where instanceof Bindable)
+            return ((Bindable<T>) where).bind(parameters);
+        return where;
+    }
+
+    private static <T> List<Predicate<T>> bind(List<Predicate<T>> operands, Parameters parameters) {
+        List<Predicate<T>> result = new ArrayList<>(operands.size());
+        boolean changed = false;
+        for (Predicate<T> operand : operands) {
+            Predicate<T> bound = bind(operand, parameters);
+            result.add(bound);
+            changed |= bound != operand;
+        }
+        return changed ? Collections.unmodifiableList(result) : operands;
+    }
+
+    interface Bindable<T> extends Predicate<T> {
+        Predicate<T> bind(Parameters parameters);
+    }
+
+
+    @Value
+    static class And<T> implements Bindable<T> {
+        List<Predicate<T>> operands;
+
+        @Override
+        public boolean test(T element) {
+            for (Predicate<T> operand : operands)
+                if (!operand.test(element))
+                    return false;
+            return true;
+        }
+
+        @Override
+        public Predicate<T> bind(Parameters parameters) {
+            List<Predicate<T>> bound = Condition.bind(operands, parameters);
+            return bound == operands ? this : new And<>(bound);
+        }
+    }
+
+    @Value
+    static class Or<T> implements Bindable<T> {
+        List<Predicate<T>> operands;
+
+        @Override
+        public boolean test(T element) {
+            for (Predicate<T> operand : operands)
+                if (operand.test(element))
+                    return true;
+            return false;
+        }
+
+        @Override
+        public Predicate<T> bind(Parameters parameters) {
+            List<Predicate<T>> bound = Condition.bind(operands, parameters);
+            return bound == operands ? this : new Or<>(bound);
+        }
+    }
+
+    /**
+     * The value returned by the getter equals the given value. The getter is compared by identity when looking for an
+     * index, so it needs to be the very same instance the index was built with.
+     */
+    @Value
+    static class Equality<T, K> implements Predicate<T> {
+        @NonNull
+        Function<T, K> getter;
+        K value;
+
+        @Override
+        public boolean test(T element) {
+            return Objects.equals(getter.apply(element), value);
+        }
+    }
+
+    /**
+     * The value returned by the getter lies between the given bounds, inclusively; a <code>null</code> bound is
+     * unbounded. A <code>null</code> value is never in range. Like {@link Equality}, the getter is compared by
+     * identity when looking for a column.
+     */
+    @Value
+    static class Range<T, K extends Comparable<? super K>> implements Predicate<T> {
+        @NonNull
+        Function<T, K> getter;
+        K min;
+        K max;
+
+        @Override
+        public boolean test(T element) {
+            return contains(getter.apply(element));
+        }
+
+        boolean contains(K value) {
+            return value != null && (min == null || value.compareTo(min) >= 0)
+                    && (max == null || value.compareTo(max) <= 0);
+        }
+    }
+
+    /** a predicate depending on the value of a named parameter of a {@link PreparedQuery} */
+    @Value
+    static class Parameter<T, P> implements Bindable<T> {
+        @NonNull
+        String name;
+        @NonNull
+        BiPredicate<T, P> predicate;
+
+        @Override
+        public boolean test(T element) {
+            throw new IllegalStateException("parameter " + name + " is not bound; use a PreparedQuery to bind it");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Predicate<T> bind(Parameters parameters) {
+            P value = (P) parameters.get(name);
+            return element -> predicate.test(element, value);
+        }
+    }
+
+    /** an {@link Equality} with the value of a named parameter of a {@link PreparedQuery} */
+    @Value
+    static class EqualityParameter<T, K> implements Bindable<T> {
+        @NonNull
+        Function<T, K> getter;
+        @NonNull
+        String name;
+
+        @Override
+        public boolean test(T element) {
+            throw new IllegalStateException("parameter " + name + " is not bound; use a PreparedQuery to bind it");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Predicate<T> bind(Parameters parameters) {
+            return new Equality<>(getter, (K) parameters.get(name));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.crehn.listquery;
+
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Predicates for the where clause of a query that, unlike lambdas, can be recognized by a source. A source can then
+ * evaluate them faster than by testing each element, e.g. by looking up an index or scanning a column. On other
+ * sources they behave just like the equivalent lambda. Example:
+ *
+ * <pre>
+ * <code>
+ * static final Function&lt;Customer, String&gt; COUNTRY = Customer::getCountry;
+ *
+ * IndexedSource&lt;Customer&gt; customers = index(customerList, COUNTRY);
+ * from(customers).where(equalTo(COUNTRY, "DE")).select();
+ * </code>
+ * </pre>
+ *
+ * Note that each occurrence of a method reference like <code>Customer::getCountry</code> may create a new function
+ * instance. To be recognized, the very same instance needs to be used for the condition and the source, e.g. by
+ * keeping it in a constant as above.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Conditions {
+
+    /**
+     * Returns a predicate that is true iff the value returned by the getter equals the given value.
+     *
+     * @see java.util.Objects#equals(Object, Object)
+     * @see IndexedSource
+     */
+    public static <T, K> Predicate<T> equalTo(Function<T, K> getter, K value) {
+        return new Condition.Equality<>(getter, value);
+    }
+
+    /**
+     * Returns a predicate that is true iff the value returned by the getter is at least <code>min</code> and at most
+     * <code>max</code>. A <code>null</code> value is never in range.
+     *
+     * @see Comparable#compareTo(Object)
+     * @see ColumnarSource
+     */
+    public static <T, K extends Comparable<? super K>> Predicate<T> between(Function<T, K> getter, @NonNull K min,
+            @NonNull K max) {
+        return new Condition.Range<>(getter, min, max);
+    }
+
+    /**
+     * Returns a predicate that is true iff the value returned by the getter is at least the given value.
+     *
+     * @see #between(Function, Comparable, Comparable)
+     */
+    public static <T, K extends Comparable<? super K>> Predicate<T> atLeast(Function<T, K> getter, @NonNull K min) {
+        return new Condition.Range<>(getter, min, null);
+    }
+
+    /**
+     * Returns a predicate that is true iff the value returned by the getter is at most the given value.
+     *
+     * @see #between(Function, Comparable, Comparable)
+     */
+    public static <T, K extends Comparable<? super K>> Predicate<T> atMost(Function<T, K> getter, @NonNull K max) {
+        return new Condition.Range<>(getter, null, max);
+    }
+
+    /**
+     * Returns a predicate that depends on the value of the named parameter of a {@link PreparedQuery}. The value is
+     * passed to the given predicate as second argument.
+     *
+     * @see ListQuery#prepare(Function)
+     */
+    public static <T, P> Predicate<T> parameter(String name, BiPredicate<T, P> predicate) {
+        return new Condition.Parameter<>(name, predicate);
+    }
+
+    /**
+     * Returns a predicate that is true iff the value returned by the getter equals the value of the named parameter of
+     * a {@link PreparedQuery}. Like {@link #equalTo(Function, Object)}, this can be looked up in an index.
+     *
+     * @see ListQuery#prepare(Function)
+     */
+    public static <T, K> Predicate<T> equalToParameter(Function<T, K> getter, String name) {
+        return new Condition.EqualityParameter<>(getter, name);
+    }
+}
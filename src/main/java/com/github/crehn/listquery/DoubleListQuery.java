@@ -0,0 +1,97 @@
+package com.github.crehn.listquery;
+
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+
+import com.github.crehn.listquery.PrimitiveListQuery.*;
+
+/**
+ * The grammar of queries on double arrays (see {@link ListQuery#from(double[])}). It is the same as the one of
+ * {@link ListQuery}, except that there is no orderBy (the values are ordered naturally) and that the elements are
+ * never boxed unless they are mapped to objects in the select clause.
+ *
+ * <pre>
+ * <code>
+ * DoubleListQuery ::= FROM + [WHERE] + [".ordered()"] + [SPECIAL] + SELECT ;
+ * FROM ::= "from(doubleArray)" ;
+ * WHERE ::= ".where(doublePredicate)" + [AND_OR] ;
+ * AND_OR ::= { ".and(doublePredicate)" | ".or(doublePredicate)" } ;
+ * SPECIAL ::= { [".limit(limit)"] + [".distinct()"] } ;
+ * SELECT ::= ".selectDoubles()" | ".selectDoubles(paging)" | ".select(mapper)" | ".select(mapper, paging)"
+ *          | ".selectFirst()" ;
+ * </code>
+ * </pre>
+ *
+ * Unlike in {@link ListQuery}, ordering applies to the values before they are mapped in the select clause. The clauses
+ * shared by all primitive queries are defined in {@link PrimitiveListQuery}.
+ */
+public interface DoubleListQuery {
+
+    interface DoubleListQueryWithFrom extends //
+            PrimitiveListQueryWheres<DoublePredicate, DoubleListQueryWithWhere>, //
+            PrimitiveListQueryOrderBys<DoubleListQueryWithOrderBy>, //
+            PrimitiveListQuerySpecials<DoubleListQueryWithOrderBy>, //
+            DoubleListQuerySelects //
+    {
+    }
+
+    interface DoubleListQueryWithWhere extends //
+            PrimitiveListQueryAndOrs<DoublePredicate, DoubleListQueryWithWhere>, //
+            PrimitiveListQueryOrderBys<DoubleListQueryWithOrderBy>, //
+            PrimitiveListQuerySpecials<DoubleListQueryWithOrderBy>, //
+            DoubleListQuerySelects //
+    {
+    }
+
+    interface DoubleListQueryWithOrderBy extends //
+            PrimitiveListQuerySpecials<DoubleListQueryWithOrderBy>, //
+            DoubleListQuerySelects //
+    {
+    }
+
+    interface DoubleListQueryWithSpecial extends //
+            DoubleListQuerySelects //
+    {
+    }
+
+    interface DoubleListQuerySelects {
+        /**
+         * Get the resulting values of the query as a new array. The source array is not changed.
+         *
+         * @see DoubleStream#toArray()
+         */
+        double[] selectDoubles();
+
+        /**
+         * Get the resulting values of the query as a new array. The paging parameter specifies which part to return.
+         *
+         * @see ListQuery.ListQuerySelects#select(Paging)
+         */
+        double[] selectDoubles(Paging paging);
+
+        /**
+         * Get the resulting list of the query, applying the given mapping function to each value.
+         *
+         * @see DoubleStream#mapToObj(DoubleFunction)
+         */
+        <U> List<U> select(DoubleFunction<U> mapper);
+
+        /**
+         * Get the resulting list of the query, applying the given mapping function to each value. The paging
+         * parameter specifies which sublist to return.
+         *
+         * @see ListQuery.ListQuerySelects#select(java.util.function.Function, Paging)
+         */
+        <U> List<U> select(DoubleFunction<U> mapper, Paging paging);
+
+        /**
+         * Get the first value that satisfies the query. For ordered queries this is the smallest value.
+         *
+         * @see DoubleStream#findFirst()
+         */
+        OptionalDouble selectFirst();
+    }
+}
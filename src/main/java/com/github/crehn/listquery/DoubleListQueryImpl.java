@@ -0,0 +1,113 @@
+package com.github.crehn.listquery;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+
+import com.github.crehn.listquery.DoubleListQuery.*;
+
+/**
+ * immutable
+ */
+public class DoubleListQueryImpl //
+        extends PrimitiveListQueryImpl<double[], DoublePredicate, DoubleStream, DoubleListQueryImpl> //
+        implements //
+        DoubleListQueryWithFrom, //
+        DoubleListQueryWithWhere, //
+        DoubleListQueryWithOrderBy, //
+        DoubleListQueryWithSpecial //
+{
+
+    DoubleListQueryImpl(double[] array) {
+        this(array, null, false, false, Long.MAX_VALUE);
+    }
+
+    private DoubleListQueryImpl(double[] array, DoublePredicate where, boolean orderedNaturally, boolean distinct,
+            long limit) {
+        super(array, where, orderedNaturally, distinct, limit);
+    }
+
+    @Override
+    DoubleListQueryImpl with(DoublePredicate where, boolean orderedNaturally, boolean distinct, long limit) {
+        return new DoubleListQueryImpl(array, where, orderedNaturally, distinct, limit);
+    }
+
+
+    // pipeline
+
+    @Override
+    DoubleStream stream(double[] array) {
+        return Arrays.stream(array);
+    }
+
+    @Override
+    DoubleStream filter(DoubleStream values, DoublePredicate where) {
+        return values.filter(where);
+    }
+
+    @Override
+    DoubleStream sorted(DoubleStream values) {
+        return values.sorted();
+    }
+
+    @Override
+    DoubleStream distinct(DoubleStream values) {
+        LongKeySet seen = new LongKeySet();
+        return values.filter(value -> seen.add(Double.doubleToLongBits(value)));
+    }
+
+    @Override
+    DoubleStream limit(DoubleStream values, long limit) {
+        return values.limit(limit);
+    }
+
+    @Override
+    DoubleStream skip(DoubleStream values, long skip) {
+        return values.skip(skip);
+    }
+
+    @Override
+    DoublePredicate and(DoublePredicate left, DoublePredicate right) {
+        return left.and(right);
+    }
+
+    @Override
+    DoublePredicate or(DoublePredicate left, DoublePredicate right) {
+        return left.or(right);
+    }
+
+
+    // select
+
+    @Override
+    public double[] selectDoubles() {
+        return selectDoubles(null);
+    }
+
+    @Override
+    public double[] selectDoubles(Paging paging) {
+        return selectStream(paging).toArray();
+    }
+
+    @Override
+    public <U> List<U> select(DoubleFunction<U> mapper) {
+        return select(mapper, null);
+    }
+
+    @Override
+    public <U> List<U> select(DoubleFunction<U> mapper, Paging paging) {
+        return selectStream(paging) //
+                .mapToObj(mapper) //
+                .collect(toList());
+    }
+
+    @Override
+    public OptionalDouble selectFirst() {
+        return selectStream(null).findFirst();
+    }
+}
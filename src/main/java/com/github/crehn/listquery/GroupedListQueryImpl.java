@@ -0,0 +1,113 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.Collector;
+
+import com.github.crehn.listquery.ListQuery.ListQueryWithGroupBy;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * immutable
+ *
+ * Groups in a single pass: each aggregate is a collector into a map of mutable accumulators per key, mostly primitive
+ * arrays, which are converted to the resulting values at the end.
+ */
+@AllArgsConstructor
+class GroupedListQueryImpl<T, K> implements ListQueryWithGroupBy<T, K> {
+
+    private final QueryPlan<T, T> plan;
+    @NonNull
+    private final Function<T, K> getter;
+
+    @Override
+    public Map<K, Long> count() {
+        return group(() -> new long[1], (count, element) -> count[0]++, GroupedListQueryImpl::add, count -> count[0]);
+    }
+
+    @Override
+    public Map<K, Long> sum(@NonNull ToLongFunction<T> value) {
+        return group(() -> new long[1], (sum, element) -> sum[0] += value.applyAsLong(element),
+                GroupedListQueryImpl::add, sum -> sum[0]);
+    }
+
+    @Override
+    public Map<K, Double> avg(@NonNull ToDoubleFunction<T> value) {
+        return group(() -> new double[2], (sumAndCount, element) -> {
+            sumAndCount[0] += value.applyAsDouble(element);
+            sumAndCount[1]++;
+        }, (a, b) -> {
+            a[0] += b[0];
+            a[1] += b[1];
+            return a;
+        }, sumAndCount -> sumAndCount[0] / sumAndCount[1]);
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> Map<K, V> min(@NonNull Function<T, V> value) {
+        return best(value, Comparator.<V> naturalOrder());
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> Map<K, V> max(@NonNull Function<T, V> value) {
+        return best(value, Comparator.<V> reverseOrder());
+    }
+
+    /** the first value per key in the given order */
+    private <V> Map<K, V> best(Function<T, V> value, Comparator<V> order) {
+        return group(() -> new Object[1], (best, element) -> {
+            V candidate = value.apply(element);
+            if (best[0] == null || order.compare(candidate, value(best)) < 0)
+                best[0] = candidate;
+        }, (a, b) -> b[0] != null && (a[0] == null || order.compare(value(b), value(a)) < 0) ? b : a,
+                GroupedListQueryImpl::value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V value(Object[] holder) {
+        return (V) holder[0];
+    }
+
+    @Override
+    public <R> Map<K, R> aggregate(@NonNull Collector<? super T, ?, R> collector) {
+        return aggregateWith(collector);
+    }
+
+    private <A, R> Map<K, R> aggregateWith(Collector<? super T, A, R> collector) {
+        return group(collector.supplier(), collector.accumulator(), collector.combiner(), collector.finisher());
+    }
+
+    @Override
+    public QueryExplanation explain() {
+        List<String> steps = new ArrayList<>(plan.explainCollect().getSteps());
+        steps.add("group: hash map of one accumulator per key");
+        return new QueryExplanation(steps);
+    }
+
+    private static long[] add(long[] a, long[] b) {
+        a[0] += b[0];
+        return a;
+    }
+
+    private <A, R> Map<K, R> group(Supplier<A> newAccumulator, BiConsumer<A, ? super T> accumulate,
+            BinaryOperator<A> merge, Function<A, R> finish) {
+        Function<K, A> create = key -> newAccumulator.get();
+        BiConsumer<Map<K, A>, T> accumulateGroup = (groups, element) -> accumulate
+                .accept(groups.computeIfAbsent(getter.apply(element), create), element);
+        Collector<T, Map<K, A>, Map<K, R>> grouping = Collector.of( //
+                HashMap::new, //
+                accumulateGroup, //
+                (a, b) -> {
+                    b.forEach((key, accumulator) -> a.merge(key, accumulator, merge));
+                    return a;
+                }, //
+                groups -> {
+                    Map<K, R> result = new HashMap<>(groups.size() * 4 / 3 + 1);
+                    groups.forEach((key, accumulator) -> result.put(key, finish.apply(accumulator)));
+                    return result;
+                });
+        return plan.collect(grouping);
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.github.crehn.listquery.Condition.Equality;
+
+/**
+ * immutable
+ *
+ * A snapshot of a collection together with hash indexes on one or more keys. Pass it to {@link ListQuery#from} like
+ * any other collection. When the where clause of a query narrows the elements by equalities on indexed keys (see
+ * {@link Conditions#equalTo}), only the matching elements are looked up instead of scanning the whole source. The
+ * rows of equalities combined by <code>and</code> or <code>or</code> are intersected or united as compressed bitmaps.
+ * Example:
+ *
+ * <pre>
+ * <code>
+ * static final Function&lt;Customer, String&gt; COUNTRY = Customer::getCountry;
+ *
+ * IndexedSource&lt;Customer&gt; customers = index(customerList, COUNTRY);
+ * from(customers)
+ *     .where(equalTo(COUNTRY, "DE"))
+ *     .and(customer -&gt; customer.isActive())
+ *     .select();
+ * </code>
+ * </pre>
+ *
+ * Building the indexes takes one pass over the collection per key, so this pays off when the same source is queried
+ * many times. Later changes to the collection are not reflected; build a new source instead.
+ */
+public class IndexedSource<T> extends AbstractList<T> implements RandomAccess {
+
+    private final Object[] rows;
+    /** row positions by key value, by getter; the getters are compared by identity */
+    private final Map<Function<T, ?>, Map<Object, int[]>> indexes = new IdentityHashMap<>();
+
+    private IndexedSource(Collection<T> source) {
+        this.rows = source.toArray();
+    }
+
+    /**
+     * Create a snapshot of the given collection with a hash index for each of the given getters. Use the very same
+     * getter instances in {@link Conditions#equalTo} for the indexes to be used.
+     */
+    @SafeVarargs
+    public static <T> IndexedSource<T> index(Collection<T> source, Function<T, ?>... getters) {
+        IndexedSource<T> result = new IndexedSource<>(source);
+        for (Function<T, ?> getter : getters)
+            result.indexes.put(getter, result.buildIndex(getter));
+        return result;
+    }
+
+    private Map<Object, int[]> buildIndex(Function<T, ?> getter) {
+        Object[] keys = new Object[rows.length];
+        Map<Object, int[]> counts = new HashMap<>();
+        for (int i = 0; i < rows.length; i++) {
+            keys[i] = getter.apply(get(i));
+            counts.computeIfAbsent(keys[i], key -> new int[1])[0]++;
+        }
+
+        Map<Object, int[]> result = new HashMap<>(counts.size() * 4 / 3 + 1);
+        for (Map.Entry<Object, int[]> count : counts.entrySet())
+            result.put(count.getKey(), new int[count.getValue()[0]]);
+        for (int i = rows.length - 1; i >= 0; i--)
+            result.get(keys[i])[--counts.get(keys[i])[0]] = i;
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= rows.length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rows.length);
+        return (T) rows[index];
+    }
+
+    @Override
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * The rows that may satisfy the given where clause, in source order, looked up in the indexes that apply and
+     * combined by intersection and union; <code>null</code> if the indexes do not narrow the rows.
+     */
+    List<T> candidates(Predicate<T> where) {
+        Bitmap selected = Condition.select(where, this::lookup);
+        return selected == null ? null : new Rows(selected.toArray());
+    }
+
+    /** whether {@link #candidates(Predicate)} narrows the rows, without looking up anything */
+    boolean narrows(Predicate<T> where) {
+        return Condition.narrows(where, this::lookup);
+    }
+
+    private Supplier<Bitmap> lookup(Predicate<T> condition) {
+        if (!(condition instanceof Equality))
+            return null;
+
+        Equality<T, ?> equality = (Equality<T, ?>) condition;
+        Map<Object, int[]> index = indexes.get(equality.getGetter());
+        if (index == null)
+            return null;
+        return () -> Bitmap.ofSorted(index.getOrDefault(equality.getValue(), new int[0]));
+    }
+
+    private class Rows extends AbstractList<T> implements RandomAccess {
+        private final int[] positions;
+
+        Rows(int[] positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public T get(int index) {
+            return IndexedSource.this.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
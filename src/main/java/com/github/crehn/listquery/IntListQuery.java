@@ -0,0 +1,97 @@
+package com.github.crehn.listquery;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import com.github.crehn.listquery.PrimitiveListQuery.*;
+
+/**
+ * The grammar of queries on int arrays (see {@link ListQuery#from(int[])}). It is the same as the one of
+ * {@link ListQuery}, except that there is no orderBy (the values are ordered naturally) and that the elements are
+ * never boxed unless they are mapped to objects in the select clause.
+ *
+ * <pre>
+ * <code>
+ * IntListQuery ::= FROM + [WHERE] + [".ordered()"] + [SPECIAL] + SELECT ;
+ * FROM ::= "from(intArray)" ;
+ * WHERE ::= ".where(intPredicate)" + [AND_OR] ;
+ * AND_OR ::= { ".and(intPredicate)" | ".or(intPredicate)" } ;
+ * SPECIAL ::= { [".limit(limit)"] + [".distinct()"] } ;
+ * SELECT ::= ".selectInts()" | ".selectInts(paging)" | ".select(mapper)" | ".select(mapper, paging)"
+ *          | ".selectFirst()" ;
+ * </code>
+ * </pre>
+ *
+ * Unlike in {@link ListQuery}, ordering applies to the values before they are mapped in the select clause. The clauses
+ * shared by all primitive queries are defined in {@link PrimitiveListQuery}.
+ */
+public interface IntListQuery {
+
+    interface IntListQueryWithFrom extends //
+            PrimitiveListQueryWheres<IntPredicate, IntListQueryWithWhere>, //
+            PrimitiveListQueryOrderBys<IntListQueryWithOrderBy>, //
+            PrimitiveListQuerySpecials<IntListQueryWithOrderBy>, //
+            IntListQuerySelects //
+    {
+    }
+
+    interface IntListQueryWithWhere extends //
+            PrimitiveListQueryAndOrs<IntPredicate, IntListQueryWithWhere>, //
+            PrimitiveListQueryOrderBys<IntListQueryWithOrderBy>, //
+            PrimitiveListQuerySpecials<IntListQueryWithOrderBy>, //
+            IntListQuerySelects //
+    {
+    }
+
+    interface IntListQueryWithOrderBy extends //
+            PrimitiveListQuerySpecials<IntListQueryWithOrderBy>, //
+            IntListQuerySelects //
+    {
+    }
+
+    interface IntListQueryWithSpecial extends //
+            IntListQuerySelects //
+    {
+    }
+
+    interface IntListQuerySelects {
+        /**
+         * Get the resulting values of the query as a new array. The source array is not changed.
+         *
+         * @see IntStream#toArray()
+         */
+        int[] selectInts();
+
+        /**
+         * Get the resulting values of the query as a new array. The paging parameter specifies which part to return.
+         *
+         * @see ListQuery.ListQuerySelects#select(Paging)
+         */
+        int[] selectInts(Paging paging);
+
+        /**
+         * Get the resulting list of the query, applying the given mapping function to each value.
+         *
+         * @see IntStream#mapToObj(IntFunction)
+         */
+        <U> List<U> select(IntFunction<U> mapper);
+
+        /**
+         * Get the resulting list of the query, applying the given mapping function to each value. The paging
+         * parameter specifies which sublist to return.
+         *
+         * @see ListQuery.ListQuerySelects#select(java.util.function.Function, Paging)
+         */
+        <U> List<U> select(IntFunction<U> mapper, Paging paging);
+
+        /**
+         * Get the first value that satisfies the query. For ordered queries this is the smallest value.
+         *
+         * @see IntStream#findFirst()
+         */
+        OptionalInt selectFirst();
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.crehn.listquery;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import com.github.crehn.listquery.IntListQuery.*;
+
+/**
+ * immutable
+ */
+public class IntListQueryImpl //
+        extends PrimitiveListQueryImpl<int[], IntPredicate, IntStream, IntListQueryImpl> //
+        implements //
+        IntListQueryWithFrom, //
+        IntListQueryWithWhere, //
+        IntListQueryWithOrderBy, //
+        IntListQueryWithSpecial //
+{
+
+    IntListQueryImpl(int[] array) {
+        this(array, null, false, false, Long.MAX_VALUE);
+    }
+
+    private IntListQueryImpl(int[] array, IntPredicate where, boolean orderedNaturally, boolean distinct,
+            long limit) {
+        super(array, where, orderedNaturally, distinct, limit);
+    }
+
+    @Override
+    IntListQueryImpl with(IntPredicate where, boolean orderedNaturally, boolean distinct, long limit) {
+        return new IntListQueryImpl(array, where, orderedNaturally, distinct, limit);
+    }
+
+
+    // pipeline
+
+    @Override
+    IntStream stream(int[] array) {
+        return Arrays.stream(array);
+    }
+
+    @Override
+    IntStream filter(IntStream values, IntPredicate where) {
+        return values.filter(where);
+    }
+
+    @Override
+    IntStream sorted(IntStream values) {
+        return values.sorted();
+    }
+
+    @Override
+    IntStream distinct(IntStream values) {
+        LongKeySet seen = new LongKeySet();
+        return values.filter(value -> seen.add(value));
+    }
+
+    @Override
+    IntStream limit(IntStream values, long limit) {
+        return values.limit(limit);
+    }
+
+    @Override
+    IntStream skip(IntStream values, long skip) {
+        return values.skip(skip);
+    }
+
+    @Override
+    IntPredicate and(IntPredicate left, IntPredicate right) {
+        return left.and(right);
+    }
+
+    @Override
+    IntPredicate or(IntPredicate left, IntPredicate right) {
+        return left.or(right);
+    }
+
+
+    // select
+
+    @Override
+    public int[] selectInts() {
+        return selectInts(null);
+    }
+
+    @Override
+    public int[] selectInts(Paging paging) {
+        return selectStream(paging).toArray();
+    }
+
+    @Override
+    public <U> List<U> select(IntFunction<U> mapper) {
+        return select(mapper, null);
+    }
+
+    @Override
+    public <U> List<U> select(IntFunction<U> mapper, Paging paging) {
+        return selectStream(paging) //
+                .mapToObj(mapper) //
+                .collect(toList());
+    }
+
+    @Override
+    public OptionalInt selectFirst() {
+        return selectStream(null).findFirst();
+    }
+}
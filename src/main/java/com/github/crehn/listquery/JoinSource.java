@@ -0,0 +1,86 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The pairs of elements of two collections with equal keys, computed while streaming. A hash table on the smaller
+ * collection is built when the join is created, then the larger collection is streamed and each of its elements is
+ * paired with the matching ones in the table. So the pairs come in the order of the larger collection. A left join
+ * always streams the left collection, pairing elements without match with <code>null</code>. Elements with a
+ * <code>null</code> key never match.
+ *
+ * Later changes to the collection in the hash table are not reflected. The size is computed when first needed, by
+ * probing all elements of the streamed collection. Queries never need it, as they count a join as a large source.
+ */
+class JoinSource<A, B> extends AbstractCollection<Pair<A, B>> {
+
+    /** the streamed collection */
+    private final Collection<?> probe;
+    private final Function<Object, ?> probeKey;
+    private final boolean probeIsLeft;
+    private final boolean outer;
+    /** the elements of the other collection by key */
+    private final Map<Object, List<Object>> table;
+    private long size = -1;
+
+    @SuppressWarnings("unchecked")
+    <K> JoinSource(Collection<A> left, Collection<B> right, Function<A, K> leftKey, Function<B, K> rightKey,
+            boolean outer) {
+        this.probeIsLeft = outer || left.size() >= right.size();
+        this.outer = outer;
+        this.probe = probeIsLeft ? left : right;
+        this.probeKey = (Function<Object, ?>) (probeIsLeft ? leftKey : rightKey);
+        this.table = probeIsLeft ? index(right, rightKey) : index(left, leftKey);
+    }
+
+    private static <X> Map<Object, List<Object>> index(Collection<X> elements, Function<X, ?> key) {
+        Map<Object, List<Object>> result = new HashMap<>();
+        for (X element : elements) {
+            Object value = key.apply(element);
+            if (value != null)
+                result.computeIfAbsent(value, k -> new ArrayList<>(1)).add(element);
+        }
+        return result;
+    }
+
+    @Override
+    public Stream<Pair<A, B>> stream() {
+        return probe.stream().flatMap(this::pairs);
+    }
+
+    @Override
+    public Stream<Pair<A, B>> parallelStream() {
+        return probe.parallelStream().flatMap(this::pairs);
+    }
+
+    @Override
+    public Iterator<Pair<A, B>> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public int size() {
+        if (size < 0)
+            size = probe.stream().mapToLong(element -> Math.max(matches(element).size(), outer ? 1 : 0)).sum();
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private Stream<Pair<A, B>> pairs(Object element) {
+        List<Object> matches = matches(element);
+        if (matches.isEmpty())
+            return outer ? Stream.of(pair(element, null)) : Stream.empty();
+        return matches.stream().map(match -> pair(element, match));
+    }
+
+    private List<Object> matches(Object element) {
+        Object key = probeKey.apply(element);
+        return key == null ? Collections.emptyList() : table.getOrDefault(key, Collections.emptyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Pair<A, B> pair(Object probed, Object match) {
+        return probeIsLeft ? new Pair<>((A) probed, (B) match) : new Pair<>((A) match, (B) probed);
+    }
+}
@@ -6,6 +6,7 @@ import static java.util.stream.Collectors.toList;
 
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,6 +34,9 @@ import lombok.NoArgsConstructor;
  * map(list, String::toLowerCase);
  * </code>
  * </pre>
+ *
+ * The methods returning a collection, an array or a string report their calls to the {@link QueryMetricsListener}s
+ * registered for all queries.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Just {
@@ -40,13 +44,31 @@ public class Just {
     /**
      * Returns a new list with the given mapping function applied to each element.
      *
-     * @implNote This method converts the array to a list, and does not operate on the array directly, so there is some
-     *           performance cost.
-     *
      * @see Stream#map(Function)
      */
     public static <T, U> List<U> map(T[] array, Function<T, U> mapper) {
-        return map(asList(array), mapper);
+        MeteredQuery.Meter meter = MeteredQuery.start(array.length);
+        List<U> result = new ArrayList<>(array.length);
+        for (T element : array)
+            result.add(mapper.apply(element));
+        MeteredQuery.just("map", false, meter, result.size());
+        return result;
+    }
+
+    /**
+     * Returns a new array with the given mapping function applied to each element. The generator creates the
+     * resulting array with the given length, usually it is a reference to the array constructor like
+     * <code>Dto[]::new</code>.
+     *
+     * @see Stream#toArray(IntFunction)
+     */
+    public static <T, U> U[] mapToArray(T[] array, Function<T, U> mapper, IntFunction<U[]> generator) {
+        MeteredQuery.Meter meter = MeteredQuery.start(array.length);
+        U[] result = generator.apply(array.length);
+        for (int i = 0; i < array.length; i++)
+            result[i] = mapper.apply(array[i]);
+        MeteredQuery.just("mapToArray", false, meter, result.length);
+        return result;
     }
 
     /**
@@ -55,21 +77,66 @@ public class Just {
      * @see Stream#map(Function)
      */
     public static <T, U> List<U> map(Collection<T> list, Function<T, U> mapper) {
-        return list.stream() //
+        MeteredQuery.Meter meter = MeteredQuery.start(list.size());
+        List<U> result = list.stream() //
                 .map(mapper) //
                 .collect(toList());
+        MeteredQuery.just("map", false, meter, result.size());
+        return result;
     }
 
     /**
-     * Returns a new list filtered using the given predicate.
+     * Returns a new array with the given mapping function applied to each element.
      *
-     * @implNote This method converts the array to a list, and does not operate on the array directly, so there is some
-     *           performance cost.
+     * @see #mapToArray(Object[], Function, IntFunction)
+     */
+    public static <T, U> U[] mapToArray(Collection<T> list, Function<T, U> mapper, IntFunction<U[]> generator) {
+        MeteredQuery.Meter meter = MeteredQuery.start(list.size());
+        U[] result = generator.apply(list.size());
+        int i = 0;
+        for (T element : list)
+            result[i++] = mapper.apply(element);
+        MeteredQuery.just("mapToArray", false, meter, result.length);
+        return result;
+    }
+
+    /**
+     * Returns a new list filtered using the given predicate.
      *
      * @see Stream#filter(Predicate)
      */
     public static <T> List<T> filter(T[] array, Predicate<T> predicate) {
-        return filter(asList(array), predicate);
+        MeteredQuery.Meter meter = MeteredQuery.start(array.length);
+        List<T> result = new ArrayList<>();
+        for (T element : array)
+            if (predicate.test(element))
+                result.add(element);
+        MeteredQuery.just("filter", true, meter, result.size());
+        return result;
+    }
+
+    /**
+     * Returns a new array filtered using the given predicate. The generator creates the resulting array with the
+     * given length, usually it is a reference to the array constructor like <code>Entity[]::new</code>.
+     *
+     * @implNote The matching elements are marked in a first pass, so the resulting array is created with its exact
+     *           length and the predicate is only evaluated once per element.
+     *
+     * @see Stream#toArray(IntFunction)
+     */
+    public static <T> T[] filterToArray(T[] array, Predicate<T> predicate, IntFunction<T[]> generator) {
+        MeteredQuery.Meter meter = MeteredQuery.start(array.length);
+        BitSet matching = new BitSet(array.length);
+        for (int i = 0; i < array.length; i++)
+            if (predicate.test(array[i]))
+                matching.set(i);
+
+        T[] result = generator.apply(matching.cardinality());
+        int j = 0;
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1))
+            result[j++] = array[i];
+        MeteredQuery.just("filterToArray", true, meter, result.length);
+        return result;
     }
 
     /**
@@ -78,9 +145,26 @@ public class Just {
      * @see Stream#filter(Predicate)
      */
     public static <T> List<T> filter(Collection<T> list, Predicate<T> predicate) {
-        return list.stream() //
+        MeteredQuery.Meter meter = MeteredQuery.start(list.size());
+        List<T> result = list.stream() //
                 .filter(predicate) //
                 .collect(toList());
+        MeteredQuery.just("filter", true, meter, result.size());
+        return result;
+    }
+
+    /**
+     * Returns a new array filtered using the given predicate.
+     *
+     * @see #filterToArray(Object[], Predicate, IntFunction)
+     */
+    public static <T> T[] filterToArray(Collection<T> list, Predicate<T> predicate, IntFunction<T[]> generator) {
+        MeteredQuery.Meter meter = MeteredQuery.start(list.size());
+        T[] result = list.stream() //
+                .filter(predicate) //
+                .toArray(generator);
+        MeteredQuery.just("filterToArray", true, meter, result.length);
+        return result;
     }
 
     /**
@@ -106,29 +190,29 @@ public class Just {
      * @see Collectors#joining(CharSequence)
      */
     public static <T> String join(Collection<T> list, String delimiter) {
-        return list.stream() //
+        MeteredQuery.Meter meter = MeteredQuery.start(list.size());
+        String result = list.stream() //
                 .map(Object::toString) //
                 .collect(joining(delimiter));
+        MeteredQuery.just("join", false, meter, list.size());
+        return result;
     }
 
     /**
      * Returns true iff all elements in the given collection satisfy the given predicate.
      *
-     * @implNote This method converts the array to a list, and does not operate on the array directly, so there is some
-     *           performance cost.
-     *
      * @see Stream#allMatch(Predicate)
      */
     public static <T> boolean allAre(T[] array, Predicate<T> predicate) {
-        return allAre(asList(array), predicate);
+        for (T element : array)
+            if (!predicate.test(element))
+                return false;
+        return true;
     }
 
     /**
      * Returns true iff all elements in the given collection satisfy the given predicate.
      *
-     * @implNote This method converts the array to a list, and does not operate on the array directly, so there is some
-     *           performance cost.
-     *
      * @see Stream#allMatch(Predicate)
      */
     public static <T> boolean allAre(Collection<T> list, Predicate<T> predicate) {
@@ -139,13 +223,13 @@ public class Just {
     /**
      * Returns true iff at least one element in the given collection satisfies the given predicate.
      *
-     * @implNote This method converts the array to a list, and does not operate on the array directly, so there is some
-     *           performance cost.
-     *
      * @see Stream#anyMatch(Predicate)
      */
     public static <T> boolean oneExists(T[] array, Predicate<T> predicate) {
-        return oneExists(asList(array), predicate);
+        for (T element : array)
+            if (predicate.test(element))
+                return true;
+        return false;
     }
 
     /**
@@ -161,13 +245,13 @@ public class Just {
     /**
      * Returns true iff one of the elements in the given collection satisfy the given predicate.
      *
-     * @implNote This method converts the array to a list, and does not operate on the array directly, so there is some
-     *           performance cost.
-     *
      * @see Stream#noneMatch(Predicate)
      */
     public static <T> boolean noneIs(T[] array, Predicate<T> predicate) {
-        return noneIs(asList(array), predicate);
+        for (T element : array)
+            if (predicate.test(element))
+                return false;
+        return true;
     }
 
     /**
@@ -0,0 +1,52 @@
+package com.github.crehn.listquery;
+
+/**
+ * A set of keys for removing duplicates, which only supports adding. The keys are kept in a single array using open
+ * addressing with linear probing, so there is no entry object per key as in a {@link java.util.HashSet}.
+ *
+ * Not thread-safe.
+ */
+class KeySet {
+
+    /** stands for the <code>null</code> key, as <code>null</code> marks free slots */
+    private static final Object NULL = new Object();
+
+    private Object[] table = new Object[16];
+    private int size = 0;
+
+    /** @return whether the key was not contained yet */
+    boolean add(Object key) {
+        Object element = key == null ? NULL : key;
+        int mask = table.length - 1;
+        int index = slot(element, mask);
+        while (table[index] != null) {
+            if (table[index].equals(element))
+                return false;
+            index = (index + 1) & mask;
+        }
+        table[index] = element;
+        if (++size * 2 > table.length)
+            grow();
+        return true;
+    }
+
+    private void grow() {
+        Object[] old = table;
+        table = new Object[old.length * 2];
+        int mask = table.length - 1;
+        for (Object element : old) {
+            if (element == null)
+                continue;
+            int index = slot(element, mask);
+            while (table[index] != null)
+                index = (index + 1) & mask;
+            table[index] = element;
+        }
+    }
+
+    /** spread the hash code, so keys with similar hash codes do not form long runs */
+    private static int slot(Object element, int mask) {
+        int hash = element.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * An unmodifiable list of the elements of an iterator, which are only pulled from the iterator when they are
+ * accessed. Even the iterator is only created at the first access. Pulled elements are kept, so each element is
+ * computed only once. Iterating, {@link #isEmpty()}, {@link #get(int)} and {@link #contains(Object)} pull only as many
+ * elements as needed, while {@link #size()} pulls all of them.
+ *
+ * Not thread-safe.
+ */
+class LazyList<U> extends AbstractList<U> {
+
+    private final List<U> computed = new ArrayList<>();
+    /** creates the iterator at the first access; <code>null</code> after that */
+    private Supplier<Iterator<U>> pending;
+    /** <code>null</code> before the first access and when all elements are computed */
+    private Iterator<U> remaining;
+
+    LazyList(Supplier<Iterator<U>> pending) {
+        this.pending = pending;
+    }
+
+    @Override
+    public U get(int index) {
+        if (!isComputed(index))
+            throw new IndexOutOfBoundsException("index " + index + " but size " + computed.size());
+        return computed.get(index);
+    }
+
+    @Override
+    public int size() {
+        isComputed(Integer.MAX_VALUE);
+        return computed.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !isComputed(0);
+    }
+
+    @Override
+    public Iterator<U> iterator() {
+        return new Iterator<U>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return isComputed(next);
+            }
+
+            @Override
+            public U next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return computed.get(next++);
+            }
+        };
+    }
+
+    /** pull elements up to the given index, if there are that many */
+    private boolean isComputed(int index) {
+        if (pending != null) {
+            remaining = pending.get();
+            pending = null;
+        }
+        while (remaining != null && computed.size() <= index) {
+            if (!remaining.hasNext()) {
+                remaining = null;
+                break;
+            }
+            computed.add(remaining.next());
+        }
+        return index < computed.size();
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PACKAGE;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * immutable
+ *
+ * How to split the lines of a delimited text file (like CSV or TSV) into columns and how to create an element from
+ * them, to query the file with {@link ListQuery#fromLines(java.nio.file.Path, LineParser)}. The fields describe
+ * columns that conditions may be evaluated on before the element is created. Example:
+ *
+ * <pre>
+ * <code>
+ * static final LineParser&lt;Trade&gt; TRADE = LineParser.csv(columns -&gt; new Trade(columns[0],
+ *         Integer.parseInt(columns[1]), Long.parseLong(columns[2]))).withHeader();
+ * static final Field&lt;Trade, String&gt; VENUE = TRADE.column(0, Trade::getVenue);
+ * static final Field&lt;Trade, Integer&gt; DAY = TRADE.intColumn(1, Trade::getDay);
+ *
+ * fromLines(Paths.get("trades.csv"), TRADE)
+ *     .where(equalTo(VENUE, "XETRA"))
+ *     .and(between(DAY, 20170101, 20170131))
+ *     .select();
+ * </code>
+ * </pre>
+ *
+ * Each line is one element; quoted columns may contain the delimiter, but not line breaks. Empty lines are skipped.
+ */
+@Getter(PACKAGE)
+@AllArgsConstructor(access = PRIVATE)
+public class LineParser<T> {
+
+    /** the quote of parsers whose columns are not quoted */
+    private static final char UNQUOTED = 0;
+
+    private final char delimiter;
+    /** encloses columns containing the delimiter, where two quotes stand for one */
+    private final char quote;
+    /** whether the first line of the file holds the column names rather than an element */
+    private final boolean header;
+    @NonNull
+    private final Charset charset;
+    @NonNull
+    private final Function<String[], T> builder;
+
+    /** comma separated columns, which may be enclosed in double quotes */
+    public static <T> LineParser<T> csv(Function<String[], T> builder) {
+        return new LineParser<>(',', '"', false, StandardCharsets.UTF_8, builder);
+    }
+
+    /** tab separated columns, which are not quoted */
+    public static <T> LineParser<T> tsv(Function<String[], T> builder) {
+        return of('\t', builder);
+    }
+
+    /** columns separated by the given delimiter, which are not quoted */
+    public static <T> LineParser<T> of(char delimiter, Function<String[], T> builder) {
+        return new LineParser<>(delimiter, UNQUOTED, false, StandardCharsets.UTF_8, builder);
+    }
+
+    /**
+     * This parser skipping the first line of the file. Create the fields from the returned parser, the fields of this
+     * one are not recognized on files queried with the other one.
+     */
+    public LineParser<T> withHeader() {
+        return new LineParser<>(delimiter, quote, true, charset, builder);
+    }
+
+    /**
+     * This parser for files in the given charset rather than UTF-8. The files are split into lines at the byte of
+     * '\n', so the charset must encode it as that byte alone, like ISO-8859-1 does, but UTF-16 does not.
+     */
+    public LineParser<T> withCharset(@NonNull Charset charset) {
+        if (!Arrays.equals("\n".getBytes(charset), new byte[] { '\n' }))
+            throw new IllegalArgumentException(charset + " does not encode line breaks as a single byte");
+        return new LineParser<>(delimiter, quote, header, charset, builder);
+    }
+
+    /** the column with the given index, which the getter returns for the elements */
+    public Field<T, String> column(int index, Function<T, String> getter) {
+        return new Field<>(this, FieldType.STRING, index(index), getter);
+    }
+
+    /** the column with the given index parsed as int, which the getter returns for the elements */
+    public Field<T, Integer> intColumn(int index, Function<T, Integer> getter) {
+        return new Field<>(this, FieldType.INT, index(index), getter);
+    }
+
+    /** the column with the given index parsed as long, which the getter returns for the elements */
+    public Field<T, Long> longColumn(int index, Function<T, Long> getter) {
+        return new Field<>(this, FieldType.LONG, index(index), getter);
+    }
+
+    /** the column with the given index parsed as double, which the getter returns for the elements */
+    public Field<T, Double> doubleColumn(int index, Function<T, Double> getter) {
+        return new Field<>(this, FieldType.DOUBLE, index(index), getter);
+    }
+
+    private static int index(int index) {
+        if (index < 0)
+            throw new IllegalArgumentException("column index must not be negative, but is " + index);
+        return index;
+    }
+
+    /** the columns of the given line, without their quotes */
+    String[] split(String line) {
+        if (quote == UNQUOTED || line.indexOf(quote) < 0)
+            return splitUnquoted(line);
+
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted && c == quote && i + 1 < line.length() && line.charAt(i + 1) == quote) {
+                column.append(quote);
+                i++;
+            } else if (c == quote) {
+                quoted = !quoted;
+            } else if (c == delimiter && !quoted) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns.toArray(new String[columns.size()]);
+    }
+
+    private String[] splitUnquoted(String line) {
+        List<String> columns = new ArrayList<>();
+        int start = 0;
+        for (int end = line.indexOf(delimiter); end >= 0; end = line.indexOf(delimiter, start)) {
+            columns.add(line.substring(start, end));
+            start = end + 1;
+        }
+        columns.add(line.substring(start));
+        return columns.toArray(new String[columns.size()]);
+    }
+
+    enum FieldType {
+        STRING, INT, LONG, DOUBLE
+    }
+
+    /**
+     * immutable
+     *
+     * A column of each line. Used as getter in {@link Conditions#equalTo} or {@link Conditions#between}, the condition
+     * is evaluated on the split line before the element is created; for the elements (e.g. when querying other
+     * sources) the getter given for the field is used. So the getter needs to return the value of the column, parsed
+     * like {@link Integer#valueOf(String)} etc. for the numeric columns.
+     */
+    @Getter(PACKAGE)
+    @AllArgsConstructor(access = PRIVATE)
+    public static class Field<T, K> implements Function<T, K> {
+        private final LineParser<T> parser;
+        private final FieldType type;
+        private final int index;
+        @NonNull
+        private final Function<T, K> getter;
+
+        @Override
+        public K apply(T element) {
+            return getter.apply(element);
+        }
+
+        /**
+         * the value of this column in the given columns of a line; <code>null</code> if the line has no such column or
+         * it is not a number, so only the element can tell whether it satisfies a condition
+         */
+        Object valueIn(String[] columns) {
+            if (index >= columns.length)
+                return null;
+            String column = columns[index];
+            try {
+                switch (type) {
+                case INT:
+                    return Integer.valueOf(column.trim());
+                case LONG:
+                    return Long.valueOf(column.trim());
+                case DOUBLE:
+                    return Double.valueOf(column.trim());
+                default:
+                    return column;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.crehn.listquery;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.github.crehn.listquery.Condition.Equality;
+import com.github.crehn.listquery.Condition.Range;
+import com.github.crehn.listquery.LineParser.Field;
+
+/**
+ * immutable
+ *
+ * The lines of a memory-mapped text file as a collection. Each element is created by the {@link LineParser} while it
+ * is streamed, and not kept, so the first elements are available before the rest of the file is read. Equalities and
+ * ranges on the fields of the parser are evaluated on the split lines, so only the lines satisfying them are created
+ * as elements. Parallel streams split the file at line boundaries.
+ *
+ * The size needs a pass over the file, so it is counted only when needed and then kept; the file must not change
+ * while it is queried.
+ */
+class LinesSource<T> extends AbstractCollection<T> {
+
+    private static final int SEGMENT_BITS = 30;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+    /** parts of the file smaller than this are not split any further */
+    private static final long MIN_SPLIT = 1 << 16;
+
+    private final LineParser<T> parser;
+    private final ByteBuffer[] segments;
+    private final long length;
+    /** the position of the first line after the header */
+    private final long start;
+    /** the condition on the columns of a line; <code>null</code> for all lines */
+    private final Predicate<String[]> columns;
+    /** the number of elements, or -1 if not counted yet */
+    private volatile int size = -1;
+
+    private LinesSource(LineParser<T> parser, ByteBuffer[] segments, long length, long start,
+            Predicate<String[]> columns) {
+        this.parser = parser;
+        this.segments = segments;
+        this.length = length;
+        this.start = start;
+        this.columns = columns;
+    }
+
+    static <T> LinesSource<T> map(Path file, LineParser<T> parser) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            ByteBuffer[] segments = new ByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS)];
+            for (int s = 0; s < segments.length; s++) {
+                long position = (long) s << SEGMENT_BITS;
+                segments[s] = channel.map(READ_ONLY, position, Math.min(SEGMENT_MASK + 1L, length - position));
+            }
+            LinesSource<T> source = new LinesSource<>(parser, segments, length, 0, null);
+            return parser.isHeader() ? source.after(source.lineEnd(0)) : source;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private LinesSource<T> after(long position) {
+        return new LinesSource<>(parser, segments, length, Math.min(position + 1, length), columns);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Lines(start, length);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public int size() {
+        if (size < 0)
+            size = (int) Math.min(columns == null ? countLines() : countCandidates(), Integer.MAX_VALUE);
+        return size;
+    }
+
+    /**
+     * The lines that may satisfy the given where clause, selected by the conditions on fields of the parser;
+     * <code>null</code> if they do not narrow the lines.
+     */
+    LinesSource<T> candidates(Predicate<T> where) {
+        if (columns != null)
+            return null;
+        Predicate<String[]> condition = Condition.pushDown(where, this::condition);
+        return condition == null ? null : new LinesSource<>(parser, segments, length, start, condition);
+    }
+
+    /** whether {@link #candidates(Predicate)} narrows the lines, without reading the file */
+    boolean narrows(Predicate<T> where) {
+        return columns == null && Condition.pushDown(where, this::condition) != null;
+    }
+
+    /** a value that is not in the line or not a number may still satisfy the condition, so the line is kept */
+    private Predicate<String[]> condition(Predicate<T> condition) {
+        if (condition instanceof Equality && ((Equality<T, ?>) condition).getGetter() instanceof Field) {
+            Equality<T, ?> equality = (Equality<T, ?>) condition;
+            Field<T, ?> field = (Field<T, ?>) equality.getGetter();
+            if (field.getParser() != parser)
+                return null;
+            return line -> {
+                Object value = field.valueIn(line);
+                return value == null || value.equals(equality.getValue());
+            };
+        }
+        if (condition instanceof Range && ((Range<T, ?>) condition).getGetter() instanceof Field) {
+            Range<T, ?> range = (Range<T, ?>) condition;
+            Field<T, ?> field = (Field<T, ?>) range.getGetter();
+            if (field.getParser() != parser || !isOfType(field, range.getMin()) || !isOfType(field, range.getMax()))
+                return null;
+            return line -> {
+                Object value = field.valueIn(line);
+                return value == null || contains(range, value);
+            };
+        }
+        return null;
+    }
+
+    /** the value of a field is of the type of the bounds of the range, see {@link #isOfType(Field, Object)} */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static boolean contains(Range range, Object value) {
+        return range.contains((Comparable) value);
+    }
+
+    private static boolean isOfType(Field<?, ?> field, Object bound) {
+        if (bound == null)
+            return true;
+        switch (field.getType()) {
+        case INT:
+            return bound instanceof Integer;
+        case LONG:
+            return bound instanceof Long;
+        case DOUBLE:
+            return bound instanceof Double;
+        default:
+            return bound instanceof String;
+        }
+    }
+
+
+    // lines
+
+    private byte byteAt(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    /** the position of the line break ending the line at the given position, or the length of the file */
+    private long lineEnd(long position) {
+        while (position < length && byteAt(position) != '\n')
+            position++;
+        return position;
+    }
+
+    /** the lines that are not empty, without splitting them */
+    private long countLines() {
+        long count = 0;
+        for (long position = start; position < length;) {
+            long end = lineEnd(position);
+            long bytes = end - position;
+            if (bytes > 1 || bytes == 1 && byteAt(position) != '\r')
+                count++;
+            position = end + 1;
+        }
+        return count;
+    }
+
+    /** the lines satisfying the condition on their columns, without creating their elements */
+    private long countCandidates() {
+        Lines lines = new Lines(start, length);
+        long count = 0;
+        while (lines.nextColumns() != null)
+            count++;
+        return count;
+    }
+
+    /**
+     * The elements of the lines starting between the given positions, created as they are consumed. Splits at the
+     * first line starting in the middle of the remaining part, so every line is read by exactly one part.
+     */
+    private class Lines implements Spliterator<T> {
+        private long position;
+        private final long end;
+        private byte[] line = new byte[256];
+
+        Lines(long position, long end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            String[] next = nextColumns();
+            if (next == null)
+                return false;
+            action.accept(parser.getBuilder().apply(next));
+            return true;
+        }
+
+        /** the columns of the next line that is not empty and satisfies the condition; <code>null</code> at the end */
+        String[] nextColumns() {
+            while (position < end) {
+                String text = nextLine();
+                if (text.isEmpty())
+                    continue;
+                String[] split = parser.split(text);
+                if (columns == null || columns.test(split))
+                    return split;
+            }
+            return null;
+        }
+
+        /** decodes the line at the current position, without its line break, and moves to the next one */
+        private String nextLine() {
+            int bytes = 0;
+            for (; position < length; position++) {
+                byte b = byteAt(position);
+                if (b == '\n')
+                    break;
+                if (bytes == line.length)
+                    line = Arrays.copyOf(line, 2 * bytes);
+                line[bytes++] = b;
+            }
+            position++;
+            if (bytes > 0 && line[bytes - 1] == '\r')
+                bytes--;
+            return new String(line, 0, bytes, parser.getCharset());
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (end - position < MIN_SPLIT)
+                return null;
+            long middle = lineEnd(position + (end - position) / 2) + 1;
+            if (middle >= end)
+                return null;
+            Lines prefix = new Lines(position, middle);
+            position = middle;
+            return prefix;
+        }
+
+        /** the remaining bytes; there are less elements */
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | IMMUTABLE;
+        }
+    }
+}
@@ -2,27 +2,47 @@ package com.github.crehn.listquery;
 
 import static java.util.Arrays.asList;
 
+import java.nio.file.Path;
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.*;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.github.crehn.listquery.DoubleListQuery.DoubleListQueryWithFrom;
+import com.github.crehn.listquery.IntListQuery.IntListQueryWithFrom;
+import com.github.crehn.listquery.LongListQuery.LongListQueryWithFrom;
+
 /**
  * This grammar defines the allowed queries:
  *
  * <pre>
  * <code>
  * ListQuery ::= FROM + [WHERE] + [".ordered()"] + [SPECIAL] + SELECT
- *             | FROM + [WHERE] +    ORDER_BY    + [SPECIAL] + MAP_SELECT ;
- * FROM ::= "from(collection)" ;
+ *             | FROM + [WHERE] +    ORDER_BY    + [SPECIAL] + MAP_SELECT
+ *             | FROM + [WHERE] + ".groupBy(getter)" + AGGREGATE ;
+ * FROM ::= "from(collection)" + [OPTIONS] + { JOIN + [OPTIONS] } ;
+ * JOIN ::= ( ".join(collection)" | ".leftJoin(collection)" ) + ".on(leftKey, rightKey)" ;
+ * OPTIONS ::= { ".parallel(pool)" | ".adaptive()" | ".cached(cache, name, version)"
+ *         | ".named(name)" | ".metrics(listener)" } ;
  * WHERE ::= ".where(predicate)" + [AND_OR] ;
  * AND_OR ::= { ".and(predicate)" | ".or(predicate)" } ;
- * ORDER_BY ::= ".orderBy(comparator)" | ".orderBy(getter)" ;
- * SPECIAL ::= { [".limit(limit)"] + [".distinct()"] } ;
+ * ORDER_BY ::= ".orderBy(comparator)" | ".orderBy(getter)"
+ *            | ".orderByInt(intGetter)" | ".orderByLong(longGetter)" ;
+ * SPECIAL ::= { [".limit(limit)"] + [".distinct()"] + [".distinctBy(key)"] } ;
  * SELECT ::= MAP_SELECT | IDENTITY_SELECT ;
- * IDENTITY_SELECT ::= ".select()" | ".select(paging)" | ".selectFirst()" ;
- * MAP_SELECT ::= ".select(mapper)" | ".select(mapper, paging)" | ".selectFirst(mapper)" ;
+ * IDENTITY_SELECT ::= ".select()" | ".select(paging)" | ".selectFirst()" | ".selectLazy()"
+ *                   | ".forEach(action)" | ".iterator()" | ".selectInBatches(size, action)"
+ *                   | ".selectLive()" | ".count()" | ".exists()" | ".sum(getter)" | ".min(getter)"
+ *                   | ".max(getter)" | ".average(getter)" | ".explain()" | ".explain(paging)" ;
+ * MAP_SELECT ::= ".select(mapper)" | ".select(mapper, paging)" | ".selectFirst(mapper)"
+ *              | ".selectLazy(mapper)" | ".forEach(mapper, action)" | ".iterator(mapper)"
+ *              | ".selectInBatches(mapper, size, action)" | ".selectLive(mapper)" | ".exists()"
+ *              | ".count(mapper)" | ".sum(mapper, getter)" | ".min(mapper, getter)" | ".max(mapper, getter)"
+ *              | ".average(mapper, getter)" | ".explain(mapper)" | ".explain(mapper, paging)" ;
+ * AGGREGATE ::= ".count()" | ".sum(getter)" | ".avg(getter)" | ".min(getter)" | ".max(getter)"
+ *             | ".aggregate(collector)" | ".explain()" ;
  * </code>
  * </pre>
  *
@@ -34,10 +54,12 @@ import java.util.stream.Stream;
  * ListQueryWithFrom ::= WHERE + ListQueryWithWhere
  *                      | ".ordered()" + ListQueryWithOrderBy
  *                      | ORDER_BY + TypedListQueryWithOrderBy
+ *                      | ".groupBy(getter)" + ListQueryWithGroupBy
  *                      | SPECIAL + ListQueryWithSpecial
  *                      | SELECT ;
  * ListQueryWithWhere ::= ".ordered()" + ListQueryWithOrderBy
  *                      | ORDER_BY + TypedListQueryWithOrderBy
+ *                      | ".groupBy(getter)" + ListQueryWithGroupBy
  *                      | SPECIAL + ListQueryWithSpecial
  *                      | SELECT ;
  * ListQueryWithOrderBy ::= SPECIAL + ListQueryWithSpecial
@@ -45,14 +67,21 @@ import java.util.stream.Stream;
  * TypedListQueryWithOrderBy ::= SPECIAL + TypedListQueryWithSpecial
  *                             | MAP_SELECT
  * TypedListQueryWithSpecial ::= MAP_SELECT
+ * ListQueryWithGroupBy ::= AGGREGATE
  * </code>
  * </pre>
+ *
+ * Queries on primitive arrays have their own grammar, see {@link IntListQuery}, {@link LongListQuery} and
+ * {@link DoubleListQuery}.
  */
 public interface ListQuery {
 
     /**
      * Create a list query which reads from the given collection. Using list query will never change the given
      * collection itself but rather return a new List.
+     *
+     * @implNote Sequential queries on {@link RandomAccess} lists are executed as a plain indexed loop rather than a
+     *           stream, all other queries use a stream.
      */
     static <T> ListQueryWithFrom<T> from(Collection<T> list) {
         return new ListQueryImpl<>(list);
@@ -62,16 +91,132 @@ public interface ListQuery {
      * Create a list query which reads from the given array. Using list query will never change the array itself but
      * rather return a new List.
      *
-     * @implNote This method converts the array to a list, and does not operate on the array directly, so there is some
-     *           performance cost.
+     * @implNote The array is wrapped in a list view without copying. Like all sequential queries on random access
+     *           lists, queries on arrays are executed as a plain indexed loop rather than a stream.
      */
     @SafeVarargs
     static <T> ListQueryWithFrom<T> from(T... array) {
         return new ListQueryImpl<>(asList(array));
     }
 
+    /**
+     * Create a list query which reads the records of the given binary file, memory-mapped rather than loaded into the
+     * heap. The file consists of records of the fixed size given by the layout, each record is read into an element
+     * only when it is needed. Equalities and ranges on the fields of the layout in the where clause are evaluated on
+     * the mapped bytes, so only the records satisfying them are read into elements. Example:
+     *
+     * <pre>
+     * <code>
+     * from(Paths.get("trades.bin"), TRADE).where(equalTo(DAY, 20170103)).select();
+     * </code>
+     * </pre>
+     *
+     * @throws java.io.UncheckedIOException
+     *             if the file cannot be mapped
+     * @throws IllegalArgumentException
+     *             if the file size is not a multiple of the record size
+     * @see RecordLayout
+     */
+    static <T> ListQueryWithFrom<T> from(Path file, RecordLayout<T> layout) {
+        return new ListQueryImpl<>(MappedSource.map(file, layout));
+    }
+
+    /**
+     * Create a list query which streams the lines of the given delimited text file (like CSV or TSV), memory-mapped
+     * rather than loaded into the heap. Each line is split into columns and turned into an element by the parser while
+     * the query reads it, so the first results are available before the whole file is read. Equalities and ranges on
+     * the fields of the parser in the where clause are evaluated on the split columns, so only the lines satisfying
+     * them are turned into elements. Parallel queries split the file at line boundaries. Example:
+     *
+     * <pre>
+     * <code>
+     * fromLines(Paths.get("trades.csv"), TRADE).where(equalTo(VENUE, "XETRA")).select();
+     * </code>
+     * </pre>
+     *
+     * @throws java.io.UncheckedIOException
+     *             if the file cannot be mapped
+     * @see LineParser
+     */
+    static <T> ListQueryWithFrom<T> fromLines(Path file, LineParser<T> parser) {
+        return new ListQueryImpl<>(LinesSource.map(file, parser));
+    }
+
+    /**
+     * Create a snapshot of the given collection with the given fields of its elements extracted into columns, to be
+     * queried with {@link #from(Collection)}. Equalities and ranges on these fields in the where clause are evaluated
+     * on the columns rather than on the elements. Example:
+     *
+     * <pre>
+     * <code>
+     * ColumnarSource&lt;Trade&gt; trades = columnar(tradeList, DAY, VENUE);
+     * from(trades).where(between(DAY, 20170101, 20170131)).and(equalTo(VENUE, 7)).select();
+     * </code>
+     * </pre>
+     *
+     * @see ColumnarSource
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <T> ColumnarSource<T> columnar(Collection<T> collection, Function<T, ?>... getters) {
+        return ColumnarSource.columnar(collection, getters);
+    }
+
+    /**
+     * Build the shape of a query once, to execute it many times against different sources and parameter values. The
+     * given function receives the start of a query without source and returns the query stage to be continued on
+     * execution, i.e. the query without its select clause. Use {@link Conditions#parameter} or
+     * {@link Conditions#equalToParameter} for conditions depending on parameter values. Example:
+     *
+     * <pre>
+     * <code>
+     * PreparedQuery&lt;Customer, ListQueryWithWhere&lt;Customer&gt;&gt; byCountry = prepare(query -&gt; query
+     *         .where(equalToParameter(Customer::getCountry, "country")));
+     *
+     * List&lt;Customer&gt; result = byCountry.bind(customers, with("country", "DE")).select();
+     * </code>
+     * </pre>
+     *
+     * @see PreparedQuery
+     */
+    static <T, Q> PreparedQuery<T, Q> prepare(Function<ListQueryWithFrom<T>, Q> shape) {
+        // a placeholder of its own, so the shape can be told apart from queries over any other source
+        return PreparedQuery.prepare(new ListQueryImpl<>(new ArrayList<>(0)), shape);
+    }
+
+    /**
+     * Create a query which reads from the given int array without boxing its values. Using the query will never change
+     * the array itself but rather return a new array or list.
+     *
+     * @see IntListQuery
+     */
+    static IntListQueryWithFrom from(int[] array) {
+        return new IntListQueryImpl(array);
+    }
+
+    /**
+     * Create a query which reads from the given long array without boxing its values. Using the query will never
+     * change the array itself but rather return a new array or list.
+     *
+     * @see LongListQuery
+     */
+    static LongListQueryWithFrom from(long[] array) {
+        return new LongListQueryImpl(array);
+    }
+
+    /**
+     * Create a query which reads from the given double array without boxing its values. Using the query will never
+     * change the array itself but rather return a new array or list.
+     *
+     * @see DoubleListQuery
+     */
+    static DoubleListQueryWithFrom from(double[] array) {
+        return new DoubleListQueryImpl(array);
+    }
+
     interface ListQueryWithFrom<T> extends //
             ListQueryOrderBys<T>, //
+            ListQueryGroupBys<T>, //
             ListQuerySpecials<T>, //
             ListQuerySelects<T> //
     {
@@ -80,10 +225,102 @@ public interface ListQuery {
          * is defined in the select clause). If you need to filter after the mapping, use {@link Stream} instead.
          */
         ListQueryWithWhere<T> where(Predicate<T> predicate);
+
+        /**
+         * Execute the query in parallel using the given pool. The result is the same as for a sequential query,
+         * including its order. Sources with less than {@value QueryOptions#DEFAULT_PARALLEL_THRESHOLD} elements are
+         * still queried sequentially, as splitting them costs more than it gains.
+         *
+         * Predicates and mapping functions are called concurrently, so they must be free of side effects.
+         *
+         * @see Stream#parallel()
+         */
+        ListQueryWithFrom<T> parallel(ForkJoinPool pool);
+
+        /**
+         * Execute the query in parallel using the given pool if the source contains at least <code>threshold</code>
+         * elements. Otherwise the query is executed sequentially.
+         *
+         * @see #parallel(ForkJoinPool)
+         */
+        ListQueryWithFrom<T> parallel(ForkJoinPool pool, int threshold);
+
+        /**
+         * Evaluate the conditions of the where clause in an adaptive order: While the query is executed, the cost and
+         * selectivity of each condition combined with <code>and</code> (or <code>or</code>) is sampled, and the
+         * cheapest and most selective conditions are tested first. The statistics are collected per execution, so
+         * this pays off for large sources.
+         *
+         * The result is the same as long as the conditions are independent and free of side effects. Do not use this
+         * if a condition guards another one, as in <code>where(e -&gt; e != null).and(e -&gt; e.isActive())</code>.
+         * Parallel queries always evaluate the conditions in the order written.
+         */
+        ListQueryWithFrom<T> adaptive();
+
+        /**
+         * Take the result of the query from the given cache, if it has been computed before for the same source,
+         * name, select method and source version. Otherwise execute the query and put its result into the cache.
+         *
+         * The name identifies the query, i.e. its where clause, ordering, specials and mapping function: never use
+         * the same name for different queries. Increment the source version whenever the source changes; results
+         * computed for other versions are not used.
+         *
+         * @see QueryCache
+         */
+        ListQueryWithFrom<T> cached(QueryCache cache, String name, long sourceVersion);
+
+        /**
+         * Name the query, so its {@link QueryMetrics} tell which query they are about.
+         */
+        ListQueryWithFrom<T> named(String name);
+
+        /**
+         * Pass the {@link QueryMetrics} of each execution of this query to the given listener, in addition to the
+         * listeners registered for all queries.
+         *
+         * @see QueryMetricsListener
+         */
+        ListQueryWithFrom<T> metrics(QueryMetricsListener listener);
+
+        /**
+         * Join the collection with another one: the query continues on the pairs of elements with equal keys (given
+         * by {@link ListQueryJoin#on}). A hash table is built on the smaller of both collections, the larger one is
+         * streamed, so the order of the pairs follows the larger collection. Example:
+         *
+         * <pre>
+         * <code>
+         * from(orders)
+         *     .join(customers).on(Order::getCustomerId, Customer::getId)
+         *     .where(pair -&gt; pair.getRight().isActive())
+         *     .select(combining((order, customer) -&gt; new OrderDto(order, customer.getName())));
+         * </code>
+         * </pre>
+         *
+         * The options of the query apply to the joined query, except for caching.
+         *
+         * @see Pair#combining
+         */
+        <B> ListQueryJoin<T, B> join(Collection<B> other);
+
+        /**
+         * Like {@link #join(Collection)}, but keep the elements of this collection without matching element in the
+         * other one, paired with <code>null</code>. The hash table is always built on the other collection, so the
+         * order of the pairs follows this collection.
+         */
+        <B> ListQueryJoin<T, B> leftJoin(Collection<B> other);
+    }
+
+    interface ListQueryJoin<A, B> {
+        /**
+         * Pair the elements of both collections whose keys are equal. Elements with a <code>null</code> key never
+         * match.
+         */
+        <K> ListQueryWithFrom<Pair<A, B>> on(Function<A, K> leftKey, Function<B, K> rightKey);
     }
 
     interface ListQueryWithWhere<T> extends //
             ListQueryOrderBys<T>, //
+            ListQueryGroupBys<T>, //
             ListQuerySpecials<T>, //
             ListQuerySelects<T> //
     {
@@ -92,6 +329,42 @@ public interface ListQuery {
         ListQueryWithWhere<T> or(Predicate<T> predicate);
     }
 
+    /**
+     * The elements of a query grouped by a key. Each aggregate returns the result for each key in one pass over the
+     * source, keeping a single accumulator per key rather than a list of its elements. Parallel queries accumulate
+     * into separate maps per task, which are merged at the end. The returned maps have no particular order.
+     */
+    interface ListQueryWithGroupBy<T, K> {
+        /** the number of elements per key */
+        Map<K, Long> count();
+
+        /** the sum of the given values of the elements per key */
+        Map<K, Long> sum(ToLongFunction<T> getter);
+
+        /** the average of the given values of the elements per key */
+        Map<K, Double> avg(ToDoubleFunction<T> getter);
+
+        /** the smallest of the given values of the elements per key */
+        <V extends Comparable<? super V>> Map<K, V> min(Function<T, V> getter);
+
+        /** the largest of the given values of the elements per key */
+        <V extends Comparable<? super V>> Map<K, V> max(Function<T, V> getter);
+
+        /**
+         * the result of the given collector for the elements of each key
+         *
+         * @see Collectors#groupingBy(Function, Collector)
+         */
+        <R> Map<K, R> aggregate(Collector<? super T, ?, R> collector);
+
+        /**
+         * Describe how the aggregates would be computed now.
+         *
+         * @see ListQuerySelects#explain()
+         */
+        QueryExplanation explain();
+    }
+
     interface ListQueryWithOrderBy<T> extends //
             ListQuerySpecials<T>, //
             ListQuerySelects<T> //
@@ -117,6 +390,24 @@ public interface ListQuery {
 
     // "mixin" interfaces
 
+    interface ListQueryGroupBys<T> {
+        /**
+         * Group the elements by the given key and aggregate each group. Example:
+         *
+         * <pre>
+         * <code>
+         * Map&lt;String, Long&gt; bytesPerTenant = from(events)
+         *         .where(Event::isDownload)
+         *         .groupBy(Event::getTenant)
+         *         .sum(Event::getBytes);
+         * </code>
+         * </pre>
+         *
+         * @see Collectors#groupingBy(Function)
+         */
+        <K> ListQueryWithGroupBy<T, K> groupBy(Function<T, K> getter);
+    }
+
     interface ListQueryOrderBys<T> {
         /**
          * Sort the result based on the natural order defined by implementing Comparable. The result of the query is
@@ -160,6 +451,22 @@ public interface ListQuery {
          */
         <U, V extends Comparable<V>> TypedListQueryWithOrderBy<T, U> orderBy(Function<U, V> getter);
 
+        /**
+         * Sort the result by the given int field. This is the same as {@link #orderBy(Function)}, but the values of
+         * the field are compared without boxing them.
+         *
+         * @see Comparator#comparingInt(ToIntFunction)
+         */
+        <U> TypedListQueryWithOrderBy<T, U> orderByInt(ToIntFunction<U> getter);
+
+        /**
+         * Sort the result by the given long field. This is the same as {@link #orderBy(Function)}, but the values of
+         * the field are compared without boxing them.
+         *
+         * @see Comparator#comparingLong(ToLongFunction)
+         */
+        <U> TypedListQueryWithOrderBy<T, U> orderByLong(ToLongFunction<U> getter);
+
         /**
          * Sort the result based on the given comparator. The result of the query is sorted (i.e. not the source). So
          * when you specify a mapping to a new type in the select clause, the comparator needs to be able to compare
@@ -179,9 +486,26 @@ public interface ListQuery {
          */
         ListQueryWithOrderBy<T> distinct();
 
+        /**
+         * Remove elements with the same key as an earlier element, before mapping. So unlike {@link #distinct()}, the
+         * mapping function is not applied to the duplicates, and the mapped type does not need to implement
+         * <code>equals</code> and <code>hashCode</code>. The first element for each key is kept.
+         *
+         * Example:
+         *
+         * <pre>
+         * <code>
+         * from(orders).distinctBy(Order::getCustomerId).select(Order::toCustomerDto);
+         * </code>
+         * </pre>
+         */
+        ListQueryWithOrderBy<T> distinctBy(Function<T, ?> key);
+
         /**
          * Limit the result to the given amount. Additional elements are truncated. For implementing paging, you should
-         * rather use the paging parameter in the select method.
+         * rather use the paging parameter in the select method. If the query is ordered, the limit applies to the
+         * ordered result. Otherwise the first elements of the source satisfying the where clause are taken before
+         * mapping and removing duplicates.
          *
          * @see Stream#limit(long)
          * @see ListQuerySelects#select(Paging)
@@ -213,7 +537,7 @@ public interface ListQuery {
          *
          * @param paging
          *            Specifies only to return page {@link Paging#page} with {@link Paging#perPage} elements per page.
-         *            Paging starts with page 1.
+         *            Paging starts with page 1. Paging applies to the ordered result.
          * @see Collectors#toList()
          */
         List<T> select(Paging paging);
@@ -244,7 +568,7 @@ public interface ListQuery {
          *
          * @param paging
          *            Specifies only to return page {@link Paging#page} with {@link Paging#perPage} elements per page.
-         *            Paging starts with page 1.
+         *            Paging starts with page 1. Paging applies to the ordered result.
          * @see Collectors#toList()
          * @see Stream#map(Function)
          */
@@ -255,12 +579,164 @@ public interface ListQuery {
 
         /**
          * Get the first element that satisfies the query. Before returning the result, apply the given mapping
-         * function. If you need earlier mapping (e.g. before filtering or sorting), use {@link Stream} instead.
+         * function. If you need earlier mapping (e.g. before filtering or sorting), use {@link Stream} instead. For
+         * ordered queries this is the smallest element, which is found without sorting the whole result.
          *
          * @see Stream#findFirst()
          * @see Stream#map(Function)
          */
         <U> Optional<U> selectFirst(Function<T, U> mapper);
+
+        /**
+         * Get the resulting list of the query, but evaluate it only as far as its elements are accessed. The returned
+         * list is unmodifiable; accessing its first elements (or checking if it is empty) executes the query only up
+         * to there, computed elements are kept. {@link List#size()} evaluates the whole query.
+         *
+         * The query is evaluated sequentially, when the list is accessed. So the source must not be changed until
+         * then. Ordered queries are evaluated completely at the first access.
+         */
+        List<T> selectLazy();
+
+        /**
+         * Get the resulting list of the query, but evaluate it only as far as its elements are accessed. Before
+         * returning an element, apply the given mapping function.
+         *
+         * @see #selectLazy()
+         */
+        <U> List<U> selectLazy(Function<T, U> mapper);
+
+        /**
+         * Pass each element of the resulting list to the given action, in order, without constructing the list.
+         * Parallel queries call the action from the threads of their pool, but one element at a time.
+         *
+         * @see Stream#forEachOrdered(Consumer)
+         */
+        void forEach(Consumer<? super T> action);
+
+        /**
+         * Pass each element of the resulting list to the given action, in order, without constructing the list. Before
+         * passing an element, apply the given mapping function.
+         *
+         * @see #forEach(Consumer)
+         */
+        <U> void forEach(Function<T, U> mapper, Consumer<? super U> action);
+
+        /**
+         * Iterate the resulting list without constructing it. The query is evaluated sequentially, as far as it is
+         * iterated. Ordered queries are evaluated completely at the first call of {@link Iterator#hasNext()} or
+         * {@link Iterator#next()}.
+         *
+         * @see Stream#iterator()
+         */
+        Iterator<T> iterator();
+
+        /**
+         * Iterate the resulting list without constructing it. Before returning an element, apply the given mapping
+         * function.
+         *
+         * @see #iterator()
+         */
+        <U> Iterator<U> iterator(Function<T, U> mapper);
+
+        /**
+         * Pass the resulting list to the given action in consecutive sublists of the given size (only the last one may
+         * be smaller), without constructing the whole list. Each batch is a new list, which the action may keep.
+         *
+         * Example:
+         *
+         * <pre>
+         * <code>
+         * from(customers).where(Customer::isActive).selectInBatches(1000, batch -&gt; insert(batch));
+         * </code>
+         * </pre>
+         */
+        void selectInBatches(int batchSize, Consumer<List<T>> action);
+
+        /**
+         * Pass the resulting list to the given action in consecutive sublists of the given size. Before adding an
+         * element to a batch, apply the given mapping function.
+         *
+         * @see #selectInBatches(int, Consumer)
+         */
+        <U> void selectInBatches(Function<T, U> mapper, int batchSize, Consumer<List<U>> action);
+
+        /**
+         * Keep the result of the query up to date while the source changes, see {@link LiveQuery}. The source must be
+         * an {@link ObservableCollection}.
+         */
+        LiveQuery<T> selectLive();
+
+        /**
+         * Keep the result of the query up to date while the source changes. Before adding an element to the result,
+         * apply the given mapping function.
+         *
+         * @see #selectLive()
+         */
+        <U> LiveQuery<U> selectLive(Function<T, U> mapper);
+
+        /**
+         * Get the number of elements of the resulting list, without constructing it. If there is neither a where
+         * clause nor distinct, this is the size of the source (or the limit), without iterating it.
+         *
+         * @see Stream#count()
+         */
+        long count();
+
+        /**
+         * Check if the resulting list is not empty, without constructing it. Stops at the first element satisfying
+         * the query.
+         *
+         * @see Stream#anyMatch(Predicate)
+         */
+        boolean exists();
+
+        /**
+         * Get the sum of the given values of the elements of the resulting list, computed in one pass without
+         * constructing the list.
+         *
+         * @see java.util.stream.LongStream#sum()
+         */
+        long sum(ToLongFunction<T> getter);
+
+        /**
+         * Get the smallest of the given values of the elements of the resulting list, computed in one pass without
+         * constructing the list. Empty if the list is empty.
+         *
+         * @see Stream#min(Comparator)
+         */
+        <V extends Comparable<? super V>> Optional<V> min(Function<T, V> getter);
+
+        /**
+         * Get the largest of the given values of the elements of the resulting list, computed in one pass without
+         * constructing the list. Empty if the list is empty.
+         *
+         * @see Stream#max(Comparator)
+         */
+        <V extends Comparable<? super V>> Optional<V> max(Function<T, V> getter);
+
+        /**
+         * Get the average of the given values of the elements of the resulting list, computed in one pass without
+         * constructing the list. Empty if the list is empty.
+         *
+         * @see java.util.stream.DoubleStream#average()
+         */
+        OptionalDouble average(ToDoubleFunction<T> getter);
+
+        /**
+         * Describe how {@link #select()} would be executed now, for the current source and options: e.g. whether an
+         * index or a parallel stream is used, and whether the result is sorted fully, by a bounded heap or a min scan,
+         * or not at all because the source is sorted already. Nothing is selected.
+         *
+         * @see QueryExplanation
+         */
+        QueryExplanation explain();
+
+        /**
+         * Describe how {@link #select(Paging)} would be executed now.
+         *
+         * @see #explain()
+         */
+        QueryExplanation explain(Paging paging);
     }
 
     interface TypedListQuerySpecials<T, U> {
@@ -271,9 +747,17 @@ public interface ListQuery {
          */
         TypedListQueryWithOrderBy<T, U> distinct();
 
+        /**
+         * Remove elements with the same key as an earlier element, before mapping. The first element for each key in
+         * the order of the source is kept.
+         *
+         * @see ListQuerySpecials#distinctBy(Function)
+         */
+        TypedListQueryWithOrderBy<T, U> distinctBy(Function<T, ?> key);
+
         /**
          * Limit the result to the given amount. Additional elements are truncated. For implementing paging, you should
-         * rather use the paging parameter in the select method.
+         * rather use the paging parameter in the select method. The limit applies to the ordered result.
          *
          * @see Stream#limit(long)
          * @see ListQuerySelects#select(Paging)
@@ -309,7 +793,7 @@ public interface ListQuery {
          *
          * @param paging
          *            Specifies only to return page {@link Paging#page} with {@link Paging#perPage} elements per page.
-         *            Paging starts with page 1.
+         *            Paging starts with page 1. Paging applies to the ordered result.
          * @see Collectors#toList()
          * @see Stream#map(Function)
          */
@@ -317,11 +801,111 @@ public interface ListQuery {
 
         /**
          * Get the first element that satisfies the query. Before returning the result, apply the given mapping
-         * function. If you need earlier mapping (e.g. before filtering or sorting), use {@link Stream} instead.
+         * function. If you need earlier mapping (e.g. before filtering or sorting), use {@link Stream} instead. For
+         * ordered queries this is the smallest element, which is found without sorting the whole result.
          *
          * @see Stream#findFirst()
          * @see Stream#map(Function)
          */
         Optional<U> selectFirst(Function<T, U> mapper);
+
+        /**
+         * Get the resulting list of the query, but evaluate it only as far as its elements are accessed. Before
+         * returning an element, apply the given mapping function.
+         *
+         * @see ListQuerySelects#selectLazy()
+         */
+        List<U> selectLazy(Function<T, U> mapper);
+
+        /**
+         * Pass each element of the resulting list to the given action, in order, without constructing the list. Before
+         * passing an element, apply the given mapping function.
+         *
+         * @see ListQuerySelects#forEach(Consumer)
+         */
+        void forEach(Function<T, U> mapper, Consumer<? super U> action);
+
+        /**
+         * Iterate the resulting list without constructing it. Before returning an element, apply the given mapping
+         * function.
+         *
+         * @see ListQuerySelects#iterator()
+         */
+        Iterator<U> iterator(Function<T, U> mapper);
+
+        /**
+         * Pass the resulting list to the given action in consecutive sublists of the given size. Before adding an
+         * element to a batch, apply the given mapping function.
+         *
+         * @see ListQuerySelects#selectInBatches(int, Consumer)
+         */
+        void selectInBatches(Function<T, U> mapper, int batchSize, Consumer<List<U>> action);
+
+        /**
+         * Keep the result of the query up to date while the source changes. Before adding an element to the result,
+         * apply the given mapping function.
+         *
+         * @see ListQuerySelects#selectLive()
+         */
+        LiveQuery<U> selectLive(Function<T, U> mapper);
+
+        /**
+         * Check if the resulting list is not empty, without constructing it. Stops at the first element satisfying
+         * the query.
+         *
+         * @see ListQuerySelects#exists()
+         */
+        boolean exists();
+
+        /**
+         * Get the number of elements of the resulting list, without constructing it. The mapping function is only
+         * needed for distinct queries, as it determines which elements are equal.
+         *
+         * @see ListQuerySelects#count()
+         */
+        long count(Function<T, U> mapper);
+
+        /**
+         * Get the sum of the given values of the mapped elements of the resulting list, computed in one pass. Ordered
+         * queries need to find the elements of the result first if they have a limit.
+         *
+         * @see ListQuerySelects#sum(ToLongFunction)
+         */
+        long sum(Function<T, U> mapper, ToLongFunction<U> getter);
+
+        /**
+         * Get the smallest of the given values of the mapped elements of the resulting list.
+         *
+         * @see ListQuerySelects#min(Function)
+         */
+        <V extends Comparable<? super V>> Optional<V> min(Function<T, U> mapper, Function<U, V> getter);
+
+        /**
+         * Get the largest of the given values of the mapped elements of the resulting list.
+         *
+         * @see ListQuerySelects#max(Function)
+         */
+        <V extends Comparable<? super V>> Optional<V> max(Function<T, U> mapper, Function<U, V> getter);
+
+        /**
+         * Get the average of the given values of the mapped elements of the resulting list.
+         *
+         * @see ListQuerySelects#average(ToDoubleFunction)
+         */
+        OptionalDouble average(Function<T, U> mapper, ToDoubleFunction<U> getter);
+
+        /**
+         * Describe how {@link #select(Function)} would be executed now.
+         *
+         * @see ListQuerySelects#explain()
+         */
+        QueryExplanation explain(Function<T, U> mapper);
+
+        /**
+         * Describe how {@link #select(Function, Paging)} would be executed now.
+         *
+         * @see ListQuerySelects#explain()
+         */
+        QueryExplanation explain(Function<T, U> mapper, Paging paging);
     }
 }
@@ -1,14 +1,17 @@
 package com.github.crehn.listquery;
 
+import static com.github.crehn.listquery.Paging.page;
 import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingLong;
 import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toList;
 import static lombok.AccessLevel.PACKAGE;
 import static lombok.AccessLevel.PRIVATE;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.github.crehn.listquery.ListQuery.*;
@@ -26,34 +29,103 @@ public class ListQueryImpl<T> implements //
         ListQueryWithFrom<T>, //
         ListQueryWithWhere<T>, //
         ListQueryWithOrderBy<T>, //
-        ListQueryWithSpecial<T> //
+        ListQueryWithSpecial<T>, //
+        PreparedQuery.Shape<T> //
 {
 
     @NonNull
     @Getter(PACKAGE)
     private Collection<T> list;
     @Getter(PACKAGE)
-    private Predicate<T> where = e -> true;
+    private Predicate<T> where = Condition.always();
     private boolean orderedNaturally = false;
     private boolean distinct = false;
+    private Function<T, ?> distinctKey;
     private long limit = Long.MAX_VALUE;
+    @Getter(PACKAGE)
+    private QueryOptions options = QueryOptions.SEQUENTIAL;
+
+
+    // options
+
+    @Override
+    public ListQueryWithFrom<T> parallel(ForkJoinPool pool) {
+        return parallel(pool, QueryOptions.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    @Override
+    public ListQueryWithFrom<T> parallel(@NonNull ForkJoinPool pool, int threshold) {
+        return withOptions(options.withPool(pool).withParallelThreshold(threshold));
+    }
+
+    @Override
+    public ListQueryWithFrom<T> adaptive() {
+        return withOptions(options.withAdaptive(true));
+    }
+
+    @Override
+    public ListQueryWithFrom<T> cached(@NonNull QueryCache cache, @NonNull String name, long sourceVersion) {
+        return withOptions(options.withCache(cache).withCacheName(name).withSourceVersion(sourceVersion));
+    }
+
+    @Override
+    public ListQueryWithFrom<T> named(@NonNull String name) {
+        return withOptions(options.withName(name));
+    }
+
+    @Override
+    public ListQueryWithFrom<T> metrics(@NonNull QueryMetricsListener listener) {
+        return withOptions(options.withMetrics(listener));
+    }
+
+
+    // group by
+
+    @Override
+    public <K> ListQueryWithGroupBy<T, K> groupBy(Function<T, K> getter) {
+        return new GroupedListQueryImpl<>(plan(identity(), null), getter);
+    }
+
+
+    // join
+
+    @Override
+    public <B> ListQueryJoin<T, B> join(Collection<B> other) {
+        return join(other, false);
+    }
+
+    @Override
+    public <B> ListQueryJoin<T, B> leftJoin(Collection<B> other) {
+        return join(other, true);
+    }
 
+    private <B> ListQueryJoin<T, B> join(@NonNull Collection<B> other, boolean outer) {
+        return new ListQueryJoin<T, B>() {
+            @Override
+            public <K> ListQueryWithFrom<Pair<T, B>> on(@NonNull Function<T, K> leftKey,
+                    @NonNull Function<B, K> rightKey) {
+                // a join source is a new collection each time, so it would never be found in the cache
+                return new ListQueryImpl<>(new JoinSource<>(list, other, leftKey, rightKey, outer)) //
+                        .withOptions(options.withCache(null));
+            }
+        };
+    }
 
     // where
 
     @Override
     public ListQueryWithWhere<T> where(Predicate<T> predicate) {
-        return withWhere(this.where.and(predicate));
+        return withWhere(Condition.and(this.where, predicate));
     }
 
     @Override
     public ListQueryWithWhere<T> and(Predicate<T> predicate) {
-        return withWhere(this.where.and(predicate));
+        return withWhere(Condition.and(this.where, predicate));
     }
 
     @Override
     public ListQueryWithWhere<T> or(Predicate<T> predicate) {
-        return withWhere(this.where.or(predicate));
+        return withWhere(Condition.or(this.where, predicate));
     }
 
 
@@ -72,7 +144,19 @@ public class ListQueryImpl<T> implements //
 
     @Override
     public <U, V extends Comparable<V>> TypedListQueryWithOrderBy<T, U> orderBy(Function<U, V> getter) {
-        return new TypedListQueryImpl<T, U>(this).withComparator(comparing(getter));
+        return new TypedListQueryImpl<T, U>(this).withComparator(comparing(getter)).withSortKey(getter);
+    }
+
+    @Override
+    public <U> TypedListQueryWithOrderBy<T, U> orderByInt(ToIntFunction<U> getter) {
+        return new TypedListQueryImpl<T, U>(this).withComparator(comparingInt(getter))
+                .withSortKey(getter::applyAsInt);
+    }
+
+    @Override
+    public <U> TypedListQueryWithOrderBy<T, U> orderByLong(ToLongFunction<U> getter) {
+        return new TypedListQueryImpl<T, U>(this).withComparator(comparingLong(getter))
+                .withSortKey(getter::applyAsLong);
     }
 
 
@@ -83,12 +167,30 @@ public class ListQueryImpl<T> implements //
         return this.withDistinct(true);
     }
 
+    @Override
+    public ListQueryWithOrderBy<T> distinctBy(@NonNull Function<T, ?> key) {
+        return this.withDistinctKey(key);
+    }
+
     @Override
     public ListQueryWithOrderBy<T> limit(long limit) {
         return this.withLimit(limit);
     }
 
 
+    // prepared queries
+
+    @Override
+    public ListQueryImpl<T> bind(Collection<T> source, Parameters parameters) {
+        return withList(source).withWhere(Condition.bind(where, parameters));
+    }
+
+    @Override
+    public boolean isOver(Collection<?> source) {
+        return list == source;
+    }
+
+
     // select
 
     @Override
@@ -103,43 +205,162 @@ public class ListQueryImpl<T> implements //
 
     @Override
     public List<T> select(Paging paging) {
-        return select(identity(), paging);
+        if (!isSeekable(paging))
+            return select(identity(), paging);
+
+        // the tail set is a new view each time, so the result is cached for the whole set
+        return new ArrayList<>(options.cached(list, Arrays.asList("select", paging),
+                () -> seek(paging).select(page(1).eachContaining(paging.getPerPage()))));
+    }
+
+    private boolean isSeekable(Paging paging) {
+        return paging != null && paging.isKeyset() && orderedNaturally && list instanceof NavigableSet
+                && ((NavigableSet<T>) list).comparator() == null;
+    }
+
+    /** the source is sorted just like the result, so seek past the key and stop after the page */
+    @SuppressWarnings("unchecked")
+    private ListQueryImpl<T> seek(Paging paging) {
+        NavigableSet<T> after = ((NavigableSet<T>) list).tailSet((T) paging.getLastKey(), false);
+        return withList(after).withOrderedNaturally(false).withOptions(options.withCache(null));
     }
 
     @Override
     public <U> List<U> select(Function<T, U> mapper, Paging paging) {
-        return selectStream(mapper, paging) //
-                .collect(toList());
+        return plan(mapper, paging).select();
     }
 
-    private <U> Stream<U> selectStream(Function<T, U> mapper, Paging paging) {
-        Stream<U> result = list.stream() //
-                .filter(where) //
-                .limit(limit) //
-                .map(mapper);
-        result = distinct ? result.distinct() : result;
-        result = applyPaging(result, paging);
-        return orderedNaturally ? result.sorted() : result;
+    @Override
+    public Optional<T> selectFirst() {
+        return selectFirst(identity());
     }
 
+    @Override
+    public <U> Optional<U> selectFirst(Function<T, U> mapper) {
+        return plan(mapper, null).selectFirst();
+    }
 
-    private <U> Stream<U> applyPaging(Stream<U> result, Paging paging) {
-        if (paging == null)
-            return result;
+    @Override
+    public List<T> selectLazy() {
+        return selectLazy(identity());
+    }
 
-        return result //
-                .skip((paging.getPage() - 1) * paging.getPerPage()) //
-                .limit(paging.getPerPage());
+    @Override
+    public <U> List<U> selectLazy(Function<T, U> mapper) {
+        return new LazyList<>(plan(mapper, null)::iterator);
     }
 
     @Override
-    public Optional<T> selectFirst() {
-        return selectFirst(identity());
+    public void forEach(Consumer<? super T> action) {
+        forEach(identity(), action);
     }
 
     @Override
-    public <U> Optional<U> selectFirst(Function<T, U> mapper) {
-        return selectStream(mapper, null).findFirst();
+    public <U> void forEach(Function<T, U> mapper, Consumer<? super U> action) {
+        plan(mapper, null).forEach(action);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(identity());
+    }
+
+    @Override
+    public <U> Iterator<U> iterator(Function<T, U> mapper) {
+        return plan(mapper, null).iterator();
+    }
+
+    @Override
+    public void selectInBatches(int batchSize, Consumer<List<T>> action) {
+        selectInBatches(identity(), batchSize, action);
+    }
+
+    @Override
+    public <U> void selectInBatches(Function<T, U> mapper, int batchSize, Consumer<List<U>> action) {
+        plan(mapper, null).forEachBatch(batchSize, action);
+    }
+
+    @Override
+    public LiveQuery<T> selectLive() {
+        return selectLive(identity());
+    }
+
+    @Override
+    public <U> LiveQuery<U> selectLive(Function<T, U> mapper) {
+        return plan(mapper, null).live();
+    }
+
+    @Override
+    public long count() {
+        return plan(identity(), null).count();
+    }
+
+    @Override
+    public boolean exists() {
+        return plan(identity(), null).exists();
+    }
+
+    @Override
+    public long sum(@NonNull ToLongFunction<T> getter) {
+        return plan(identity(), null).reduce(Collectors.summingLong(getter));
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> Optional<V> min(@NonNull Function<T, V> getter) {
+        return plan(identity(), null).reduce(Collectors.mapping(getter, Collectors.minBy(Comparator.naturalOrder())));
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> Optional<V> max(@NonNull Function<T, V> getter) {
+        return plan(identity(), null).reduce(Collectors.mapping(getter, Collectors.maxBy(Comparator.naturalOrder())));
+    }
+
+    @Override
+    public OptionalDouble average(@NonNull ToDoubleFunction<T> getter) {
+        return average(plan(identity(), null), getter);
+    }
+
+    @Override
+    public QueryExplanation explain() {
+        return plan(identity(), null).explain();
+    }
+
+    @Override
+    public QueryExplanation explain(Paging paging) {
+        if (!isSeekable(paging))
+            return plan(identity(), paging).explain();
+
+        List<String> steps = new ArrayList<>();
+        steps.add("seek: past " + paging.getLastKey() + " in the sorted source");
+        steps.addAll(seek(paging).explain(page(1).eachContaining(paging.getPerPage())).getSteps());
+        return new QueryExplanation(steps);
+    }
+
+    static <U> OptionalDouble average(QueryPlan<?, U> plan, ToDoubleFunction<U> getter) {
+        DoubleSummaryStatistics statistics = plan.reduce(Collectors.summarizingDouble(getter));
+        return statistics.getCount() == 0 ? OptionalDouble.empty() : OptionalDouble.of(statistics.getAverage());
+    }
+
+    private <U> QueryPlan<T, U> plan(Function<T, U> mapper, Paging paging) {
+        return new QueryPlan<>(list, where, limit, mapper, distinct, distinctKey,
+                orderedNaturally ? naturalOrder() : null, paging, keyset(paging), options);
+    }
+
+    private <U> Predicate<U> keyset(Paging paging) {
+        if (paging == null || !paging.isKeyset())
+            return null;
+        if (!orderedNaturally)
+            throw new IllegalStateException("keyset paging needs an ordered query");
+        return paging.keyset(identity());
+    }
+
+    /**
+     * Like {@link Comparator#naturalOrder()} but without requiring the type to be comparable at compile time. Just
+     * like {@link Stream#sorted()}, a ClassCastException is thrown when comparing elements that are not.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <U> Comparator<U> naturalOrder() {
+        return (Comparator) Comparator.naturalOrder();
     }
 
 }
@@ -0,0 +1,347 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The result of a query on an {@link ObservableCollection}, kept up to date while the collection changes. Each added,
+ * removed or updated element is filtered, mapped and sorted into the result on its own, in O(log n) time, instead of
+ * executing the whole query again. Selecting a page takes O(log n) time plus its size. Select a live query with
+ * {@link ListQuery.ListQuerySelects#selectLive()}.
+ *
+ * Unordered results keep the order in which the elements were added to the collection. Elements comparing equal keep
+ * that order as well, even when they are updated. Distinct live queries keep the first of equal elements, just like
+ * the query does. Removing an element from the collection removes the first element equal to it, like a list does.
+ *
+ * A live query is notified by its collection until it is closed. Not thread-safe.
+ */
+public class LiveQuery<U> implements AutoCloseable {
+
+    /** the matching elements; the first <code>limit</code> of them are the result */
+    private final RankTree<Node<U>> result;
+    /**
+     * all matching elements in the order of the collection, for unordered distinct queries, which apply the limit
+     * before removing the duplicates; <code>null</code> for other queries
+     */
+    private final RankTree<Match<U>> matched;
+    private final long limit;
+    private final Runnable detach;
+
+    private LiveQuery(RankTree<Node<U>> result, RankTree<Match<U>> matched, long limit, Runnable detach) {
+        this.result = result;
+        this.matched = matched;
+        this.limit = limit;
+        this.detach = detach;
+    }
+
+    static <T, U> LiveQuery<U> attach(ObservableCollection<T> source, Predicate<T> where, Function<T, U> mapper,
+            boolean distinct, Function<? super T, ?> distinctKey, Comparator<? super U> comparator, long limit) {
+        Comparator<Node<U>> order = comparator == null //
+                ? Comparator.comparingLong(Node::getSequence) //
+                : (a, b) -> {
+                    int result = comparator.compare(a.value, b.value);
+                    return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+                };
+        RankTree<Match<U>> matched = comparator == null && (distinct || distinctKey != null) //
+                ? new RankTree<>(Comparator.comparingLong(match -> match.node.sequence)) //
+                : null;
+        Maintainer<T, U> maintainer = new Maintainer<>(where, mapper, distinct, distinctKey, new RankTree<>(order),
+                matched);
+        for (T element : source)
+            maintainer.added(element);
+        source.addListener(maintainer);
+        return new LiveQuery<>(maintainer.result, matched, limit, () -> source.removeListener(maintainer));
+    }
+
+    /** a copy of the current result */
+    public List<U> select() {
+        return select(0, Long.MAX_VALUE);
+    }
+
+    /** a copy of the given page of the current result */
+    public List<U> select(Paging paging) {
+        return select((long) (paging.getPage() - 1) * paging.getPerPage(), paging.getPerPage());
+    }
+
+    private List<U> select(long skip, long take) {
+        if (skip < 0 || take < 0)
+            throw new IllegalArgumentException("negative paging: " + skip + ", " + take);
+
+        long end = Math.min(size(), skip + Math.min(take, Integer.MAX_VALUE));
+        List<U> page = new ArrayList<>((int) Math.max(end - skip, 0));
+        Node<U> node = result.get(skip);
+        for (long index = skip; index < end; index++, node = result.next(node))
+            page.add(node.value);
+        return page;
+    }
+
+    public Optional<U> selectFirst() {
+        return size() == 0 ? Optional.empty() : Optional.of(result.get(0).value);
+    }
+
+    public int size() {
+        if (matched == null || matched.size() <= limit)
+            return (int) Math.min(result.size(), limit);
+        // the distinct elements up to the last matching element within the limit
+        return (int) result.countUpTo(matched.get(limit - 1).node);
+    }
+
+    /** Stop updating the result. */
+    @Override
+    public void close() {
+        detach.run();
+    }
+
+    private static class Node<U> extends RankTree.Node<Node<U>> {
+        /** the position in the collection, used as tie-breaker */
+        private final long sequence;
+        /** the element in the collection */
+        private final Object element;
+        /** whether the element matches the where clause */
+        private boolean matching;
+        /** the mapped element, if it matches */
+        private U value;
+        /** the key to remove duplicates by, if it matches and the query has one */
+        private Object key;
+        /** the node in the tree of all matching elements, if the query needs it */
+        private Match<U> match;
+
+        Node(long sequence, Object element) {
+            this.sequence = sequence;
+            this.element = element;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+    }
+
+    /** a matching node in a second tree */
+    private static class Match<U> extends RankTree.Node<Match<U>> {
+        private final Node<U> node;
+
+        Match(Node<U> node) {
+            this.node = node;
+        }
+    }
+
+    private static class Maintainer<T, U> implements ObservableCollection.Listener<T> {
+        private final Predicate<T> where;
+        private final Function<T, U> mapper;
+        private final Function<? super T, ?> distinctKey;
+        private final RankTree<Node<U>> result;
+        private final RankTree<Match<U>> matched;
+        /** the nodes of each element in the collection, matching or not; elements are compared by identity */
+        private final Map<T, List<Node<U>>> nodes = new IdentityHashMap<>();
+        /** the nodes of equal elements, to find the one a collection removes */
+        private final Groups<U> equal = new Groups<>();
+        /** pass matching nodes on to the result, removing duplicates on the way */
+        private final Consumer<Node<U>> enter;
+        private final Consumer<Node<U>> leave;
+        private long sequence = 0;
+
+        Maintainer(Predicate<T> where, Function<T, U> mapper, boolean distinct, Function<? super T, ?> distinctKey,
+                RankTree<Node<U>> result, RankTree<Match<U>> matched) {
+            this.where = where;
+            this.mapper = mapper;
+            this.distinctKey = distinctKey;
+            this.result = result;
+            this.matched = matched;
+
+            // like the query: duplicates by key first, then duplicates of the mapped elements
+            Consumer<Node<U>> enter = result::insert;
+            Consumer<Node<U>> leave = result::remove;
+            if (distinct) {
+                Distinct<U> values = new Distinct<>(node -> node.value, enter, leave);
+                enter = values::enter;
+                leave = values::leave;
+            }
+            if (distinctKey != null) {
+                Distinct<U> keys = new Distinct<>(node -> node.key, enter, leave);
+                enter = keys::enter;
+                leave = keys::leave;
+            }
+            this.enter = enter;
+            this.leave = leave;
+        }
+
+        @Override
+        public void added(T element) {
+            Node<U> node = new Node<>(sequence++, element);
+            nodes.computeIfAbsent(element, e -> new ArrayList<>(1)).add(node);
+            equal.add(node, element);
+            evaluate(element, node);
+        }
+
+        @Override
+        public void removed(T element) {
+            Node<U> node = equal.first(element);
+            if (node != null)
+                remove(node);
+        }
+
+        @Override
+        public void removedInstance(T element) {
+            List<Node<U>> elementNodes = nodes.get(element);
+            if (elementNodes != null)
+                remove(elementNodes.get(0));
+        }
+
+        private void remove(Node<U> node) {
+            leave(node);
+            equal.remove(node);
+            List<Node<U>> elementNodes = nodes.get(node.element);
+            elementNodes.remove(node);
+            if (elementNodes.isEmpty())
+                nodes.remove(node.element);
+        }
+
+        @Override
+        public void updated(T element) {
+            List<Node<U>> elementNodes = nodes.get(element);
+            if (elementNodes == null)
+                return;
+
+            // leave first, so the groups of the changed element are left before it is hashed again
+            for (Node<U> node : elementNodes) {
+                leave(node);
+                equal.remove(node);
+            }
+            for (Node<U> node : elementNodes) {
+                equal.add(node, element);
+                evaluate(element, node);
+            }
+        }
+
+        private void evaluate(T element, Node<U> node) {
+            if (!where.test(element))
+                return;
+            node.value = mapper.apply(element);
+            node.key = distinctKey == null ? null : distinctKey.apply(element);
+            node.matching = true;
+            if (matched != null) {
+                if (node.match == null)
+                    node.match = new Match<>(node);
+                matched.insert(node.match);
+            }
+            enter.accept(node);
+        }
+
+        private void leave(Node<U> node) {
+            if (!node.matching)
+                return;
+            leave.accept(node);
+            if (matched != null)
+                matched.remove(node.match);
+            node.matching = false;
+            node.value = null;
+            node.key = null;
+        }
+    }
+
+    /** passes on only the first node of the nodes with equal keys, in the order of the collection */
+    private static class Distinct<U> {
+        private final Function<Node<U>, Object> key;
+        private final Consumer<Node<U>> next;
+        private final Consumer<Node<U>> nextLeave;
+        private final Groups<U> groups = new Groups<>();
+
+        Distinct(Function<Node<U>, Object> key, Consumer<Node<U>> next, Consumer<Node<U>> nextLeave) {
+            this.key = key;
+            this.next = next;
+            this.nextLeave = nextLeave;
+        }
+
+        void enter(Node<U> node) {
+            Node<U> first = groups.add(node, key.apply(node));
+            if (first != null && first.sequence < node.sequence)
+                return;
+            if (first != null)
+                nextLeave.accept(first);
+            next.accept(node);
+        }
+
+        void leave(Node<U> node) {
+            Node<U> first = groups.remove(node);
+            if (first != null && first.sequence < node.sequence)
+                return;
+            nextLeave.accept(node);
+            if (first != null)
+                next.accept(first);
+        }
+    }
+
+    /**
+     * Nodes grouped by equal keys, each group in the order of the collection. Keys are hashed when their node is added
+     * and nodes are removed by reference, so keys may change before their node is removed.
+     */
+    private static class Groups<U> {
+        private final Map<Key, Group<U>> groups = new HashMap<>();
+        private final Map<Node<U>, Group<U>> groupOf = new IdentityHashMap<>();
+
+        /** @return the first node of the group before adding, <code>null</code> if there was none */
+        Node<U> add(Node<U> node, Object key) {
+            Group<U> group = groups.computeIfAbsent(new Key(key), Group::new);
+            Node<U> first = group.members.isEmpty() ? null : group.members.firstKey();
+            group.members.put(node, key);
+            groupOf.put(node, group);
+            return first;
+        }
+
+        /** the first node with a key equal to the given one, or <code>null</code> if there is none */
+        Node<U> first(Object key) {
+            Group<U> group = groups.get(new Key(key));
+            return group == null ? null : group.members.firstKey();
+        }
+
+        /** @return the first node of the group after removing, <code>null</code> if there is none */
+        Node<U> remove(Node<U> node) {
+            Group<U> group = groupOf.remove(node);
+            Object key = group.members.remove(node);
+            if (group.members.isEmpty()) {
+                groups.remove(group.key);
+                return null;
+            }
+            if (group.key.value == key) {
+                // the key of the group may have changed with its node; continue with the key of another node
+                groups.remove(group.key);
+                group.key = new Key(group.members.firstEntry().getValue());
+                groups.put(group.key, group);
+            }
+            return group.members.firstKey();
+        }
+    }
+
+    private static class Group<U> {
+        private Key key;
+        /** the nodes and their keys */
+        private final TreeMap<Node<U>, Object> members = new TreeMap<>(Comparator.comparingLong(Node::getSequence));
+
+        Group(Key key) {
+            this.key = key;
+        }
+    }
+
+    /** a key with the hash code it had when it was created */
+    private static class Key {
+        private final Object value;
+        private final int hash;
+
+        Key(Object value) {
+            this.value = value;
+            this.hash = Objects.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && hash == ((Key) other).hash && Objects.equals(value, ((Key) other).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.crehn.listquery;
+
+/**
+ * Like {@link KeySet}, but for long keys, which are kept unboxed in a single long array. The values of primitive
+ * queries are added as long: int values widened, double values as their {@link Double#doubleToLongBits bits}, which
+ * makes them equal just like {@link Double#equals} does.
+ *
+ * Not thread-safe.
+ */
+class LongKeySet {
+
+    private long[] table = new long[16];
+    /** 0 marks free slots, so the key 0 is not kept in the table */
+    private boolean containsZero = false;
+    private int size = 0;
+
+    /** @return whether the key was not contained yet */
+    boolean add(long key) {
+        if (key == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int mask = table.length - 1;
+        int index = slot(key, mask);
+        while (table[index] != 0) {
+            if (table[index] == key)
+                return false;
+            index = (index + 1) & mask;
+        }
+        table[index] = key;
+        if (++size * 2 > table.length)
+            grow();
+        return true;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long key : old) {
+            if (key == 0)
+                continue;
+            int index = slot(key, mask);
+            while (table[index] != 0)
+                index = (index + 1) & mask;
+            table[index] = key;
+        }
+    }
+
+    /** spread the bits of the key, so similar keys do not form long runs */
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.crehn.listquery;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+import com.github.crehn.listquery.PrimitiveListQuery.*;
+
+/**
+ * The grammar of queries on long arrays (see {@link ListQuery#from(long[])}). It is the same as the one of
+ * {@link ListQuery}, except that there is no orderBy (the values are ordered naturally) and that the elements are
+ * never boxed unless they are mapped to objects in the select clause.
+ *
+ * <pre>
+ * <code>
+ * LongListQuery ::= FROM + [WHERE] + [".ordered()"] + [SPECIAL] + SELECT ;
+ * FROM ::= "from(longArray)" ;
+ * WHERE ::= ".where(longPredicate)" + [AND_OR] ;
+ * AND_OR ::= { ".and(longPredicate)" | ".or(longPredicate)" } ;
+ * SPECIAL ::= { [".limit(limit)"] + [".distinct()"] } ;
+ * SELECT ::= ".selectLongs()" | ".selectLongs(paging)" | ".select(mapper)" | ".select(mapper, paging)"
+ *          | ".selectFirst()" ;
+ * </code>
+ * </pre>
+ *
+ * Unlike in {@link ListQuery}, ordering applies to the values before they are mapped in the select clause. The clauses
+ * shared by all primitive queries are defined in {@link PrimitiveListQuery}.
+ */
+public interface LongListQuery {
+
+    interface LongListQueryWithFrom extends //
+            PrimitiveListQueryWheres<LongPredicate, LongListQueryWithWhere>, //
+            PrimitiveListQueryOrderBys<LongListQueryWithOrderBy>, //
+            PrimitiveListQuerySpecials<LongListQueryWithOrderBy>, //
+            LongListQuerySelects //
+    {
+    }
+
+    interface LongListQueryWithWhere extends //
+            PrimitiveListQueryAndOrs<LongPredicate, LongListQueryWithWhere>, //
+            PrimitiveListQueryOrderBys<LongListQueryWithOrderBy>, //
+            PrimitiveListQuerySpecials<LongListQueryWithOrderBy>, //
+            LongListQuerySelects //
+    {
+    }
+
+    interface LongListQueryWithOrderBy extends //
+            PrimitiveListQuerySpecials<LongListQueryWithOrderBy>, //
+            LongListQuerySelects //
+    {
+    }
+
+    interface LongListQueryWithSpecial extends //
+            LongListQuerySelects //
+    {
+    }
+
+    interface LongListQuerySelects {
+        /**
+         * Get the resulting values of the query as a new array. The source array is not changed.
+         *
+         * @see LongStream#toArray()
+         */
+        long[] selectLongs();
+
+        /**
+         * Get the resulting values of the query as a new array. The paging parameter specifies which part to return.
+         *
+         * @see ListQuery.ListQuerySelects#select(Paging)
+         */
+        long[] selectLongs(Paging paging);
+
+        /**
+         * Get the resulting list of the query, applying the given mapping function to each value.
+         *
+         * @see LongStream#mapToObj(LongFunction)
+         */
+        <U> List<U> select(LongFunction<U> mapper);
+
+        /**
+         * Get the resulting list of the query, applying the given mapping function to each value. The paging
+         * parameter specifies which sublist to return.
+         *
+         * @see ListQuery.ListQuerySelects#select(java.util.function.Function, Paging)
+         */
+        <U> List<U> select(LongFunction<U> mapper, Paging paging);
+
+        /**
+         * Get the first value that satisfies the query. For ordered queries this is the smallest value.
+         *
+         * @see LongStream#findFirst()
+         */
+        OptionalLong selectFirst();
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.crehn.listquery;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+import com.github.crehn.listquery.LongListQuery.*;
+
+/**
+ * immutable
+ */
+public class LongListQueryImpl //
+        extends PrimitiveListQueryImpl<long[], LongPredicate, LongStream, LongListQueryImpl> //
+        implements //
+        LongListQueryWithFrom, //
+        LongListQueryWithWhere, //
+        LongListQueryWithOrderBy, //
+        LongListQueryWithSpecial //
+{
+
+    LongListQueryImpl(long[] array) {
+        this(array, null, false, false, Long.MAX_VALUE);
+    }
+
+    private LongListQueryImpl(long[] array, LongPredicate where, boolean orderedNaturally, boolean distinct,
+            long limit) {
+        super(array, where, orderedNaturally, distinct, limit);
+    }
+
+    @Override
+    LongListQueryImpl with(LongPredicate where, boolean orderedNaturally, boolean distinct, long limit) {
+        return new LongListQueryImpl(array, where, orderedNaturally, distinct, limit);
+    }
+
+
+    // pipeline
+
+    @Override
+    LongStream stream(long[] array) {
+        return Arrays.stream(array);
+    }
+
+    @Override
+    LongStream filter(LongStream values, LongPredicate where) {
+        return values.filter(where);
+    }
+
+    @Override
+    LongStream sorted(LongStream values) {
+        return values.sorted();
+    }
+
+    @Override
+    LongStream distinct(LongStream values) {
+        LongKeySet seen = new LongKeySet();
+        return values.filter(value -> seen.add(value));
+    }
+
+    @Override
+    LongStream limit(LongStream values, long limit) {
+        return values.limit(limit);
+    }
+
+    @Override
+    LongStream skip(LongStream values, long skip) {
+        return values.skip(skip);
+    }
+
+    @Override
+    LongPredicate and(LongPredicate left, LongPredicate right) {
+        return left.and(right);
+    }
+
+    @Override
+    LongPredicate or(LongPredicate left, LongPredicate right) {
+        return left.or(right);
+    }
+
+
+    // select
+
+    @Override
+    public long[] selectLongs() {
+        return selectLongs(null);
+    }
+
+    @Override
+    public long[] selectLongs(Paging paging) {
+        return selectStream(paging).toArray();
+    }
+
+    @Override
+    public <U> List<U> select(LongFunction<U> mapper) {
+        return select(mapper, null);
+    }
+
+    @Override
+    public <U> List<U> select(LongFunction<U> mapper, Paging paging) {
+        return selectStream(paging) //
+                .mapToObj(mapper) //
+                .collect(toList());
+    }
+
+    @Override
+    public OptionalLong selectFirst() {
+        return selectStream(null).findFirst();
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.crehn.listquery;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.github.crehn.listquery.Condition.Equality;
+import com.github.crehn.listquery.Condition.Range;
+import com.github.crehn.listquery.RecordLayout.Field;
+
+/**
+ * immutable
+ *
+ * The records of a memory-mapped binary file as a list. Each element is created by the {@link RecordLayout} when it
+ * is read, and not kept. Equalities and ranges on the fields of the layout are evaluated on the mapped bytes into
+ * {@link Bitmap}s, combined like the index lookups of an {@link IndexedSource}, so only the rows left after that are
+ * created as elements.
+ *
+ * The source is deliberately not {@link RandomAccess}, so queries scanning the whole file stream it; the candidates
+ * narrowed by fields are a random access view, which the indexed loop reads once per record. Files larger than 2 GB are mapped in several segments of whole records. The
+ * file must not change while it is queried.
+ */
+class MappedSource<T> extends AbstractList<T> {
+
+    private final RecordLayout<T> layout;
+    private final ByteBuffer[] segments;
+    private final int recordsPerSegment;
+    private final int size;
+
+    private MappedSource(RecordLayout<T> layout, ByteBuffer[] segments, int recordsPerSegment, int size) {
+        this.layout = layout;
+        this.segments = segments;
+        this.recordsPerSegment = recordsPerSegment;
+        this.size = size;
+    }
+
+    static <T> MappedSource<T> map(Path file, RecordLayout<T> layout) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            int recordSize = layout.getRecordSize();
+            if (length % recordSize != 0)
+                throw new IllegalArgumentException(
+                        file + " has " + length + " bytes, which is not a multiple of the record size " + recordSize);
+            if (length / recordSize > Integer.MAX_VALUE)
+                throw new IllegalArgumentException(file + " has more than " + Integer.MAX_VALUE + " records");
+
+            int size = (int) (length / recordSize);
+            int recordsPerSegment = Integer.MAX_VALUE / recordSize;
+            ByteBuffer[] segments = new ByteBuffer[(size + recordsPerSegment - 1) / recordsPerSegment];
+            for (int s = 0; s < segments.length; s++) {
+                long start = (long) s * recordsPerSegment * recordSize;
+                long bytes = Math.min((long) recordsPerSegment * recordSize, length - start);
+                segments[s] = channel.map(READ_ONLY, start, bytes).order(layout.getOrder());
+            }
+            return new MappedSource<>(layout, segments, recordsPerSegment, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return layout.getReader().read(segments[index / recordsPerSegment],
+                index % recordsPerSegment * layout.getRecordSize());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The elements that may satisfy the given where clause, in file order, selected by the conditions on fields of the
+     * layout; <code>null</code> if they do not narrow the rows. The selected records are read when the list is
+     * accessed, so a query stopping early reads only the records it needs.
+     */
+    List<T> candidates(Predicate<T> where) {
+        Bitmap selected = Condition.select(where, this::select);
+        return selected == null ? null : new Rows(selected.toArray());
+    }
+
+    /** whether {@link #candidates(Predicate)} narrows the rows, without reading the file */
+    boolean narrows(Predicate<T> where) {
+        return Condition.narrows(where, this::select);
+    }
+
+    private Supplier<Bitmap> select(Predicate<T> condition) {
+        if (condition instanceof Equality && ((Equality<T, ?>) condition).getGetter() instanceof Field) {
+            Equality<T, ?> equality = (Equality<T, ?>) condition;
+            Field<T, ?> field = (Field<T, ?>) equality.getGetter();
+            if (field.getLayout() != layout)
+                return null;
+            if (!isOfType(field, equality.getValue()))
+                return () -> Bitmap.EMPTY;
+            return field.getType() == RecordLayout.FieldType.DOUBLE //
+                    ? () -> equalDoubles(field.getOffset(), (Double) equality.getValue()) //
+                    : () -> between(field, equality.getValue(), equality.getValue());
+        }
+        if (condition instanceof Range && ((Range<T, ?>) condition).getGetter() instanceof Field) {
+            Range<T, ?> range = (Range<T, ?>) condition;
+            Field<T, ?> field = (Field<T, ?>) range.getGetter();
+            if (field.getLayout() != layout || !isOfType(field, range.getMin()) && range.getMin() != null
+                    || !isOfType(field, range.getMax()) && range.getMax() != null)
+                return null;
+            return () -> between(field, range.getMin(), range.getMax());
+        }
+        return null;
+    }
+
+    private static boolean isOfType(Field<?, ?> field, Object value) {
+        switch (field.getType()) {
+        case INT:
+            return value instanceof Integer;
+        case LONG:
+            return value instanceof Long;
+        default:
+            return value instanceof Double;
+        }
+    }
+
+    /** the rows whose value is within the given bounds; <code>null</code> bounds are unbounded */
+    private Bitmap between(Field<T, ?> field, Object min, Object max) {
+        switch (field.getType()) {
+        case INT:
+            return betweenInts(field.getOffset(), min == null ? Integer.MIN_VALUE : (Integer) min,
+                    max == null ? Integer.MAX_VALUE : (Integer) max);
+        case LONG:
+            return betweenLongs(field.getOffset(), min == null ? Long.MIN_VALUE : (Long) min,
+                    max == null ? Long.MAX_VALUE : (Long) max);
+        default:
+            return betweenDoubles(field.getOffset(), (Double) min, (Double) max);
+        }
+    }
+
+
+    // scans; each loops over the records of one segment at a time
+
+    private Bitmap betweenInts(int offset, int min, int max) {
+        long[] words = new long[(size + 63) >>> 6];
+        int recordSize = layout.getRecordSize();
+        for (int s = 0; s < segments.length; s++) {
+            ByteBuffer segment = segments[s];
+            int first = s * recordsPerSegment;
+            int records = Math.min(recordsPerSegment, size - first);
+            for (int r = 0, at = offset; r < records; r++, at += recordSize) {
+                int value = segment.getInt(at);
+                if (value >= min && value <= max)
+                    words[first + r >>> 6] |= 1L << first + r;
+            }
+        }
+        return Bitmap.ofWords(words);
+    }
+
+    private Bitmap betweenLongs(int offset, long min, long max) {
+        long[] words = new long[(size + 63) >>> 6];
+        int recordSize = layout.getRecordSize();
+        for (int s = 0; s < segments.length; s++) {
+            ByteBuffer segment = segments[s];
+            int first = s * recordsPerSegment;
+            int records = Math.min(recordsPerSegment, size - first);
+            for (int r = 0, at = offset; r < records; r++, at += recordSize) {
+                long value = segment.getLong(at);
+                if (value >= min && value <= max)
+                    words[first + r >>> 6] |= 1L << first + r;
+            }
+        }
+        return Bitmap.ofWords(words);
+    }
+
+    /** compares like {@link Double#compareTo}, as the conditions do on the elements */
+    private Bitmap betweenDoubles(int offset, Double min, Double max) {
+        long[] words = new long[(size + 63) >>> 6];
+        int recordSize = layout.getRecordSize();
+        for (int s = 0; s < segments.length; s++) {
+            ByteBuffer segment = segments[s];
+            int first = s * recordsPerSegment;
+            int records = Math.min(recordsPerSegment, size - first);
+            for (int r = 0, at = offset; r < records; r++, at += recordSize) {
+                double value = segment.getDouble(at);
+                if ((min == null || Double.compare(value, min) >= 0)
+                        && (max == null || Double.compare(value, max) <= 0))
+                    words[first + r >>> 6] |= 1L << first + r;
+            }
+        }
+        return Bitmap.ofWords(words);
+    }
+
+    /** compares like {@link Double#equals}, as the conditions do on the elements */
+    private Bitmap equalDoubles(int offset, double value) {
+        long bits = Double.doubleToLongBits(value);
+        long[] words = new long[(size + 63) >>> 6];
+        int recordSize = layout.getRecordSize();
+        for (int s = 0; s < segments.length; s++) {
+            ByteBuffer segment = segments[s];
+            int first = s * recordsPerSegment;
+            int records = Math.min(recordsPerSegment, size - first);
+            for (int r = 0, at = offset; r < records; r++, at += recordSize)
+                if (Double.doubleToLongBits(segment.getDouble(at)) == bits)
+                    words[first + r >>> 6] |= 1L << first + r;
+        }
+        return Bitmap.ofWords(words);
+    }
+
+
+    /** the records at the given positions, read on each access */
+    private class Rows extends AbstractList<T> implements RandomAccess {
+        private final int[] positions;
+
+        Rows(int[] positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public T get(int index) {
+            return MappedSource.this.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Passes the {@link QueryMetrics} of executed queries and {@link Just} calls to the registered
+ * {@link QueryMetricsListener}s. A {@link Meter} collects them while the query is executed as usual.
+ *
+ * Thread-safe. Queries check for listeners with a single volatile read, so they pay nothing for metrics while no
+ * listener is registered.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class MeteredQuery {
+
+    private static final QueryMetricsListener[] NONE = {};
+
+    /** copied on write, so queries can read it without locking */
+    private static volatile QueryMetricsListener[] global = NONE;
+
+    static synchronized void register(@NonNull QueryMetricsListener listener) {
+        QueryMetricsListener[] listeners = Arrays.copyOf(global, global.length + 1);
+        listeners[global.length] = listener;
+        global = listeners;
+    }
+
+    static synchronized void unregister(QueryMetricsListener listener) {
+        List<QueryMetricsListener> listeners = new ArrayList<>(Arrays.asList(global));
+        if (listeners.remove(listener))
+            global = listeners.toArray(NONE);
+    }
+
+    static boolean hasGlobalListeners() {
+        return global.length > 0;
+    }
+
+
+    /**
+     * A meter for an execution on a source of the given size, or <code>null</code> if no listener measures it: the
+     * listener of the query and the global ones decide before the execution starts.
+     */
+    static Meter meter(QueryMetricsListener listener, long sourceSize) {
+        QueryMetricsListener[] listeners = global;
+        List<QueryMetricsListener> measuring = new ArrayList<>(listeners.length + 1);
+        if (listener != null)
+            addMeasuring(measuring, listener, sourceSize);
+        for (QueryMetricsListener registered : listeners)
+            addMeasuring(measuring, registered, sourceSize);
+        return measuring.isEmpty() ? null : new Meter(measuring, sourceSize);
+    }
+
+    private static void addMeasuring(List<QueryMetricsListener> measuring, QueryMetricsListener listener,
+            long sourceSize) {
+        QueryMetricsListener execution = listener.measuring(sourceSize);
+        if (execution != null)
+            measuring.add(execution);
+    }
+
+
+    // just
+
+    /** the meter of a call of a {@link Just} method, or <code>null</code> if no global listener measures it */
+    static Meter start(int sourceSize) {
+        return hasGlobalListeners() ? meter(null, sourceSize) : null;
+    }
+
+    /**
+     * Pass the metrics of a call of a {@link Just} method to the global listeners measuring it. Its time is reported
+     * as filtering or as mapping time, depending on what the method does.
+     */
+    static void just(String method, boolean filtering, Meter meter, int resultSize) {
+        if (meter == null)
+            return;
+
+        long nanos = System.nanoTime() - meter.start;
+        meter.notify(new QueryMetrics(null, "Just." + method, meter.sourceSize, resultSize, resultSize, resultSize,
+                resultSize, false, filtering ? nanos : 0, filtering ? 0 : nanos, 0, 0));
+    }
+
+
+    /**
+     * Measures a single execution of a query from its creation on. The plan wraps its where clause and mapper with it
+     * after deciding on its strategy, so the query is executed just like an unmeasured one. Thread-safe, as parallel
+     * queries filter and map in several threads.
+     */
+    static class Meter {
+        private final List<QueryMetricsListener> listeners;
+        private final long sourceSize;
+        private final long start = System.nanoTime();
+        private final LongAdder filteredRows = new LongAdder();
+        private final LongAdder mappedRows = new LongAdder();
+        private final LongAdder distinctRows = new LongAdder();
+        private final LongAdder filterNanos = new LongAdder();
+        private final LongAdder mapNanos = new LongAdder();
+        private final LongAdder sortNanos = new LongAdder();
+        /** whether any listener needs the time of the phases; otherwise the rows are only counted */
+        private final boolean timed;
+        private boolean sorted;
+
+        private Meter(List<QueryMetricsListener> listeners, long sourceSize) {
+            this.listeners = listeners;
+            this.sourceSize = sourceSize;
+            this.timed = listeners.stream().anyMatch(QueryMetricsListener::isTiming);
+        }
+
+        <T> Predicate<T> filter(Predicate<T> where) {
+            if (!timed)
+                return element -> {
+                    boolean matches = where.test(element);
+                    if (matches)
+                        filteredRows.increment();
+                    return matches;
+                };
+            return element -> {
+                long begin = System.nanoTime();
+                boolean matches = where.test(element);
+                filterNanos.add(System.nanoTime() - begin);
+                if (matches)
+                    filteredRows.increment();
+                return matches;
+            };
+        }
+
+        <T, U> Function<T, U> map(Function<T, U> mapper) {
+            if (!timed)
+                return element -> {
+                    mappedRows.increment();
+                    return mapper.apply(element);
+                };
+            return element -> {
+                long begin = System.nanoTime();
+                U mapped = mapper.apply(element);
+                mapNanos.add(System.nanoTime() - begin);
+                mappedRows.increment();
+                return mapped;
+            };
+        }
+
+        /** count elements passed on to sorting or paging after removing duplicates */
+        void distinct(long rows) {
+            distinctRows.add(rows);
+        }
+
+        /** whether the strategy sorts the elements; not for sources that are sorted already */
+        void sorting(boolean sorts) {
+            this.sorted = sorts;
+        }
+
+        <R> R sort(Supplier<R> sort) {
+            if (!timed)
+                return sort.get();
+            long begin = System.nanoTime();
+            R sorted = sort.get();
+            sortNanos.add(System.nanoTime() - begin);
+            return sorted;
+        }
+
+        /**
+         * Pass the metrics of the execution to the listeners measuring it. The time not spent filtering, mapping or
+         * sorting is reported as paging; without timed phases, all of it.
+         */
+        void executed(String name, String terminal, long returnedRows) {
+            long total = System.nanoTime() - start;
+            long filter = filterNanos.sum();
+            long map = mapNanos.sum();
+            long sort = sortNanos.sum();
+            long page = Math.max(total - filter - map - sort, 0);
+            notify(new QueryMetrics(name, terminal, sourceSize, filteredRows.sum(), mappedRows.sum(),
+                    distinctRows.sum(), returnedRows, sorted, filter, map, sort, page));
+        }
+
+        private void notify(QueryMetrics metrics) {
+            for (QueryMetricsListener listener : listeners)
+                listener.executed(metrics);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+
+/**
+ * A collection that notifies its live queries about added, removed and updated elements. Pass it to
+ * {@link ListQuery#from} and select a {@link LiveQuery} to keep the result of a query up to date. Example:
+ *
+ * <pre>
+ * <code>
+ * ObservableCollection&lt;Order&gt; orders = new ObservableCollection&lt;&gt;(new LinkedHashSet&lt;&gt;());
+ * LiveQuery&lt;OrderDto&gt; bids = from(orders)
+ *     .where(Order::isBid)
+ *     .orderBy(OrderDto::getPrice)
+ *     .selectLive(OrderDto::of);
+ *
+ * orders.add(order);
+ * order.setPrice(price);
+ * orders.update(order);
+ * </code>
+ * </pre>
+ *
+ * The elements are kept in the collection given on construction, which must not be changed directly afterwards.
+ * Elements that are changed in place need to be passed to {@link #update(Object)}.
+ *
+ * Not thread-safe.
+ */
+public class ObservableCollection<T> extends AbstractCollection<T> {
+
+    private final Collection<T> elements;
+    private final List<Listener<T>> listeners = new ArrayList<>();
+
+    /** Create an empty observable collection keeping its elements in an {@link ArrayList}. */
+    public ObservableCollection() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Create an observable collection keeping its elements in the given collection, e.g. a {@link LinkedHashSet} for
+     * fast removal. The given collection must not be changed directly afterwards.
+     */
+    public ObservableCollection(Collection<T> elements) {
+        this.elements = Objects.requireNonNull(elements);
+    }
+
+    @Override
+    public boolean add(T element) {
+        if (!elements.add(element))
+            return false;
+        for (Listener<T> listener : listeners)
+            listener.added(element);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object element) {
+        if (!elements.remove(element))
+            return false;
+        for (Listener<T> listener : listeners)
+            listener.removed((T) element);
+        return true;
+    }
+
+    /**
+     * Notify the live queries that the given element has been changed in place, e.g. by a setter. It must be the very
+     * instance contained in this collection.
+     */
+    public void update(T element) {
+        for (Listener<T> listener : listeners)
+            listener.updated(element);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> iterator = elements.iterator();
+        return new Iterator<T>() {
+            private T current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                for (Listener<T> listener : listeners)
+                    listener.removedInstance(current);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    void addListener(Listener<T> listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Listener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    interface Listener<T> {
+        void added(T element);
+
+        /** the first element equal to the given one was removed; it is not necessarily the same instance */
+        void removed(T element);
+
+        /** the given instance was removed, e.g. by an iterator */
+        void removedInstance(T element);
+
+        void updated(T element);
+    }
+}
@@ -2,7 +2,11 @@ package com.github.crehn.listquery;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 import lombok.AllArgsConstructor;
+import lombok.NonNull;
 import lombok.Value;
 
 /**
@@ -14,6 +18,18 @@ import lombok.Value;
  * page(2).eachContaining(10);
  * </code>
  * </pre>
+ *
+ * For ordered queries, keyset paging is an alternative: Instead of counting pages, each page starts after the sort key
+ * of the last element of the previous page, so earlier elements do not need to be sorted and skipped. Construct
+ * instances using {@link #after(Comparable)}. Example:
+ *
+ * <pre>
+ * <code>
+ * from(customers)
+ *     .orderBy(Customer::getId)
+ *     .select(e -&gt; e, after(lastId).eachContaining(100));
+ * </code>
+ * </pre>
  */
 @Value
 @AllArgsConstructor(access = PRIVATE)
@@ -21,18 +37,47 @@ public class Paging {
 
     int page;
     int perPage;
+    /** for keyset paging: the sort key all elements of the page are greater than */
+    Comparable<?> lastKey;
+    boolean keyset;
 
     public static OngoingPaging page(int page) {
         return new OngoingPaging(page);
     }
 
+    /**
+     * Start keyset paging: the page contains the elements whose sort key is greater than the given one. The query
+     * needs to be ordered by a getter (then the key is the value of the getter) or by natural order (then the key is
+     * the element itself). Keyset paging applies before the limit of the query.
+     */
+    public static OngoingKeysetPaging after(@NonNull Comparable<?> lastKey) {
+        return new OngoingKeysetPaging(lastKey);
+    }
+
+    /** the elements on a keyset page, given the sort key of an element */
+    @SuppressWarnings("unchecked")
+    <U> Predicate<U> keyset(Function<U, ?> sortKey) {
+        Comparable<Object> last = (Comparable<Object>) lastKey;
+        return element -> last.compareTo(sortKey.apply(element)) < 0;
+    }
+
     @Value
     @AllArgsConstructor(access = PRIVATE)
     public static class OngoingPaging {
         int page;
 
         public Paging eachContaining(int perPage) {
-            return new Paging(page, perPage);
+            return new Paging(page, perPage, null, false);
+        }
+    }
+
+    @Value
+    @AllArgsConstructor(access = PRIVATE)
+    public static class OngoingKeysetPaging {
+        Comparable<?> lastKey;
+
+        public Paging eachContaining(int perPage) {
+            return new Paging(1, perPage, lastKey, true);
         }
     }
 }
@@ -0,0 +1,34 @@
+package com.github.crehn.listquery;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import lombok.Value;
+
+/**
+ * immutable
+ *
+ * A pair of joined elements, see {@link ListQuery.ListQueryWithFrom#join(java.util.Collection)}. The right element
+ * of a left join is <code>null</code> if there is no matching one.
+ */
+@Value
+public class Pair<A, B> {
+
+    A left;
+    B right;
+
+    /**
+     * A mapping function for the select clause of a join, taking both elements as separate arguments. Example:
+     *
+     * <pre>
+     * <code>
+     * from(orders)
+     *     .join(customers).on(Order::getCustomerId, Customer::getId)
+     *     .select(combining((order, customer) -&gt; new OrderDto(order, customer.getName())));
+     * </code>
+     * </pre>
+     */
+    public static <A, B, U> Function<Pair<A, B>, U> combining(BiFunction<? super A, ? super B, U> combiner) {
+        return pair -> combiner.apply(pair.left, pair.right);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * immutable
+ *
+ * The values bound to the named parameters of a {@link PreparedQuery}. Construct instances using
+ * {@link #with(String, Object)}. Example:
+ *
+ * <pre>
+ * <code>
+ * with("country", "DE").and("minAge", 18);
+ * </code>
+ * </pre>
+ */
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(access = PRIVATE)
+public class Parameters {
+
+    static final Parameters NONE = new Parameters(Collections.emptyMap());
+
+    private final Map<String, Object> values;
+
+    public static Parameters with(String name, Object value) {
+        return NONE.and(name, value);
+    }
+
+    public Parameters and(@NonNull String name, Object value) {
+        Map<String, Object> result = new HashMap<>(values);
+        result.put(name, value);
+        return new Parameters(Collections.unmodifiableMap(result));
+    }
+
+    /**
+     * @throws IllegalArgumentException
+     *             if no value is bound to the given name
+     */
+    Object get(String name) {
+        if (!values.containsKey(name))
+            throw new IllegalArgumentException("no value bound to parameter " + name);
+        return values.get(name);
+    }
+}
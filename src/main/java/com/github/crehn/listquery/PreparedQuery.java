@@ -0,0 +1,81 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PACKAGE;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+import com.github.crehn.listquery.ListQuery.ListQueryWithFrom;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * immutable
+ *
+ * A query shape that is built once and then executed against any source with bound parameter values. Instances are
+ * thread-safe, so they can be kept in a constant. Construct instances using {@link ListQuery#prepare(Function)}.
+ * Example:
+ *
+ * <pre>
+ * <code>
+ * static final PreparedQuery&lt;Customer, TypedListQueryWithOrderBy&lt;Customer, Customer&gt;&gt; BY_COUNTRY = prepare(
+ *         query -&gt; query
+ *                 .where(parameter("country", (Customer customer, String country) -&gt; customer.isFrom(country)))
+ *                 .orderBy(Customer::getName));
+ *
+ * List&lt;Customer&gt; result = BY_COUNTRY.bind(customers, with("country", "DE")).select(e -&gt; e);
+ * </code>
+ * </pre>
+ *
+ * @param <T>
+ *            the element type of the sources
+ * @param <Q>
+ *            the query stage the shape ends with, i.e. the clauses that may follow when executing it
+ */
+@AllArgsConstructor(access = PACKAGE)
+public class PreparedQuery<T, Q> {
+
+    /** a query stage that can be bound to a source and parameter values */
+    interface Shape<T> {
+        Object bind(Collection<T> source, Parameters parameters);
+
+        /** whether this stage queries the given source itself, i.e. not a join of it */
+        boolean isOver(Collection<?> source);
+    }
+
+    private final Shape<T> shape;
+
+    static <T, Q> PreparedQuery<T, Q> prepare(ListQueryImpl<T> start, Function<ListQueryWithFrom<T>, Q> shape) {
+        Q end = shape.apply(start);
+        if (!(end instanceof Shape))
+            throw new IllegalArgumentException("a prepared query must end before the select clause, but ended with "
+                    + end);
+        if (!((Shape<?>) end).isOver(start.getList()))
+            throw new IllegalArgumentException(
+                    "a prepared query must query the elements of its source, not a join or another source, but was "
+                            + end);
+        @SuppressWarnings("unchecked")
+        Shape<T> result = (Shape<T>) end;
+        return new PreparedQuery<>(result);
+    }
+
+    /**
+     * Bind the query to the given source and parameter values. The result is the query stage the shape ends with, so
+     * you can continue with the select clause.
+     *
+     * @throws IllegalArgumentException
+     *             if a parameter used in the query has no value
+     */
+    @SuppressWarnings("unchecked")
+    public Q bind(@NonNull Collection<T> source, @NonNull Parameters parameters) {
+        return (Q) shape.bind(source, parameters);
+    }
+
+    /**
+     * Bind the query to the given source; for queries without parameters.
+     */
+    public Q bind(Collection<T> source) {
+        return bind(source, Parameters.NONE);
+    }
+}
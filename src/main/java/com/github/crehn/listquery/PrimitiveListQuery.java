@@ -0,0 +1,53 @@
+package com.github.crehn.listquery;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * The clauses shared by the queries on int, long and double arrays (see {@link IntListQuery}, {@link LongListQuery}
+ * and {@link DoubleListQuery}), for the predicate type <code>P</code> of their values. Only the select clauses differ
+ * in more than their types.
+ */
+public interface PrimitiveListQuery {
+
+    interface PrimitiveListQueryWheres<P, W> {
+        /**
+         * Filter the values based on the given predicate.
+         *
+         * @see ListQuery.ListQueryWithFrom#where(Predicate)
+         */
+        W where(P predicate);
+    }
+
+    interface PrimitiveListQueryAndOrs<P, W> {
+        W and(P predicate);
+
+        W or(P predicate);
+    }
+
+    interface PrimitiveListQueryOrderBys<O> {
+        /**
+         * Sort the values in ascending order.
+         *
+         * @see Stream#sorted()
+         */
+        O ordered();
+    }
+
+    interface PrimitiveListQuerySpecials<O> {
+        /**
+         * Remove duplicates from the values.
+         *
+         * @see Stream#distinct()
+         */
+        O distinct();
+
+        /**
+         * Limit the result to the given amount. If the query is ordered, the limit applies to the ordered values.
+         * Otherwise the first values satisfying the where clause are taken.
+         *
+         * @see Stream#limit(long)
+         */
+        O limit(long limit);
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PACKAGE;
+
+import java.util.stream.BaseStream;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * immutable
+ *
+ * The clauses and the pipeline shared by the queries on int, long and double arrays: filter, then limit and remove
+ * duplicates, or for ordered queries remove duplicates, sort and limit; finally apply the paging. The subclasses run
+ * the pipeline on the stream of their primitive type, so the values are never boxed.
+ *
+ * @param <A>
+ *            the type of the array
+ * @param <P>
+ *            the type of the predicates on the values
+ * @param <S>
+ *            the type of the stream of the values
+ * @param <Q>
+ *            the type of the subclass
+ */
+@AllArgsConstructor(access = PACKAGE)
+abstract class PrimitiveListQueryImpl<A, P, S extends BaseStream<?, S>, Q extends PrimitiveListQueryImpl<A, P, S, Q>> {
+
+    @NonNull
+    final A array;
+    /** <code>null</code> if all values are selected */
+    final P where;
+    final boolean orderedNaturally;
+    final boolean distinct;
+    final long limit;
+
+    abstract Q with(P where, boolean orderedNaturally, boolean distinct, long limit);
+
+    abstract S stream(A array);
+
+    abstract S filter(S values, P where);
+
+    abstract S sorted(S values);
+
+    /** remove the duplicates, keeping the first of equal values; see {@link LongKeySet} */
+    abstract S distinct(S values);
+
+    abstract S limit(S values, long limit);
+
+    abstract S skip(S values, long skip);
+
+    abstract P and(P left, P right);
+
+    abstract P or(P left, P right);
+
+
+    // where
+
+    public Q where(P predicate) {
+        return and(predicate);
+    }
+
+    public Q and(P predicate) {
+        return with(where == null ? predicate : and(where, predicate), orderedNaturally, distinct, limit);
+    }
+
+    public Q or(P predicate) {
+        return with(where == null ? null : or(where, predicate), orderedNaturally, distinct, limit);
+    }
+
+
+    // order by, distinct, limit
+
+    public Q ordered() {
+        return with(where, true, distinct, limit);
+    }
+
+    public Q distinct() {
+        return with(where, orderedNaturally, true, limit);
+    }
+
+    public Q limit(long limit) {
+        return with(where, orderedNaturally, distinct, limit);
+    }
+
+
+    // select
+
+    S selectStream(Paging paging) {
+        S result = where == null ? stream(array) : filter(stream(array), where);
+        if (orderedNaturally) {
+            result = distinct ? distinct(result) : result;
+            result = limit(sorted(result), limit);
+        } else {
+            result = limit(result, limit);
+            result = distinct ? distinct(result) : result;
+        }
+        if (paging == null)
+            return result;
+
+        return limit(skip(result, (long) (paging.getPage() - 1) * paging.getPerPage()), paging.getPerPage());
+    }
+}
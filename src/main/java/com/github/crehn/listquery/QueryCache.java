@@ -0,0 +1,128 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * thread-safe
+ *
+ * A cache for query results with least-recently-used eviction. Queries use it when they are given the cache in the
+ * from clause, see {@link ListQuery.ListQueryWithFrom#cached(QueryCache, String, long)}. Example:
+ *
+ * <pre>
+ * <code>
+ * QueryCache cache = new QueryCache(1000);
+ *
+ * from(products)
+ *     .cached(cache, "active-by-rank", productsVersion)
+ *     .where(Product::isActive)
+ *     .orderBy(Product::getRank)
+ *     .select(Product::toApi, page(1).eachContaining(20));
+ * </code>
+ * </pre>
+ *
+ * A result is identified by the source (by identity), the name of the query, the select method used including its
+ * paging, and the version of the source. Predicates, comparators and mapping functions cannot be compared, so the
+ * name needs to identify them: never use the same name for different queries on the same source. A result is only
+ * returned as long as the version of the source given to the query is the same as the one it was computed for. So
+ * whenever the source changes, increment its version (or call {@link #invalidate(Object)}).
+ *
+ * The cache keeps references to the sources of its entries until they are evicted or invalidated.
+ */
+public class QueryCache {
+
+    private final Map<Key, Entry> entries;
+
+    /**
+     * @param maxEntries
+     *            the maximum number of results to keep; when exceeded, the least recently used result is evicted
+     */
+    public QueryCache(int maxEntries) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("a cache needs at least one entry, but got " + maxEntries);
+
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Remove all results of queries on the given source.
+     */
+    public synchronized void invalidate(Object source) {
+        entries.keySet().removeIf(key -> key.getSource().get() == source);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Return the cached result, or execute the query and cache its result. The query is executed without holding the
+     * lock, so concurrent misses for the same key may execute it more than once.
+     */
+    <R> R get(Object source, String name, long version, Object select, Supplier<R> query) {
+        Key key = new Key(new Identity(source), name, select);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.getVersion() == version)
+                return entry.<R> getResult();
+        }
+
+        R result = query.get();
+        synchronized (this) {
+            entries.put(key, new Entry(version, result));
+        }
+        return result;
+    }
+
+    @Value
+    private static class Key {
+        Identity source;
+        String name;
+        /** the select method and its paging */
+        Object select;
+    }
+
+    @RequiredArgsConstructor
+    private static class Identity {
+        private final Object object;
+
+        Object get() {
+            return object;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity && ((Identity) other).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+
+    @Value
+    private static class Entry {
+        long version;
+        Object result;
+
+        @SuppressWarnings("unchecked")
+        <R> R getResult() {
+            return (R) result;
+        }
+    }
+}
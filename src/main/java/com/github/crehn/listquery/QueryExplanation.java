@@ -0,0 +1,37 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PACKAGE;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * immutable
+ *
+ * The steps a query will be executed in, as decided for its current source, options and paging. Example:
+ *
+ * <pre>
+ * <code>
+ * scan: indexed loop over 10000 rows
+ * filter
+ * map
+ * sort: top-k heap of 20
+ * page: skip 0, take 20
+ * </code>
+ * </pre>
+ *
+ * The steps are meant to be read, their wording may change between versions.
+ */
+@Value
+@AllArgsConstructor(access = PACKAGE)
+public class QueryExplanation {
+
+    List<String> steps;
+
+    @Override
+    public String toString() {
+        return String.join("\n", steps);
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PACKAGE;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * immutable
+ *
+ * What happened during the execution of a query, passed to {@link QueryMetricsListener}s. Queries are executed just
+ * like unmeasured ones, so they only count the rows they actually read, and stop after the requested page if they can.
+ * The time of filtering and mapping is measured with {@link System#nanoTime()} around each call of the where clause
+ * and the mapper, summed over all threads for parallel queries; everything else counts as paging.
+ */
+@Value
+@AllArgsConstructor(access = PACKAGE)
+public class QueryMetrics {
+
+    /** the name given in the from clause, or <code>null</code> */
+    String name;
+    /** the select method, e.g. <code>"select"</code> or <code>"selectFirst"</code>, or the {@link Just} method */
+    String terminal;
+    /** the number of elements of the source, or -1 for the lines of a file or a join, which are not counted for it */
+    long sourceSize;
+    /** the number of elements satisfying the where clause among those the query read */
+    long filteredRows;
+    /** the number of elements the mapper was applied to */
+    long mappedRows;
+    /**
+     * the number of elements passed on to sorting or paging after removing duplicates, among those the query read;
+     * unordered queries without <code>distinct</code> map only the elements they return, so this may exceed
+     * <code>mappedRows</code>
+     */
+    long distinctRows;
+    long returnedRows;
+    /** whether the elements were sorted; sources already sorted in the order of the query are not */
+    boolean sorted;
+    long filterNanos;
+    long mapNanos;
+    /** the time spent sorting the mapped elements; sorting within parallel streams counts as paging */
+    long sortNanos;
+    long pageNanos;
+
+    public long getTotalNanos() {
+        return filterNanos + mapNanos + sortNanos + pageNanos;
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.crehn.listquery;
+
+/**
+ * Receives the {@link QueryMetrics} of each executed query. Register a listener for all queries with
+ * {@link #register(QueryMetricsListener)}, or for a single query in its from clause, see
+ * {@link ListQuery.ListQueryWithFrom#metrics(QueryMetricsListener)}. Example:
+ *
+ * <pre>
+ * <code>
+ * QueryMetricsListener.register(metrics -&gt; {
+ *     if (metrics.getTotalNanos() &gt; 10_000_000)
+ *         log.warn("slow query {}: {}", metrics.getName(), metrics);
+ * });
+ * </code>
+ * </pre>
+ *
+ * Queries are only measured while a listener is registered for them. The <code>select</code>,
+ * <code>selectFirst</code>, <code>forEach</code>, <code>iterator</code> and <code>selectInBatches</code> methods are
+ * measured; lazy and live selects and aggregates are not. The listeners registered for all queries are also told about
+ * calls of the {@link Just} methods returning a collection, an array or a string.
+ *
+ * Listeners are called in the thread executing the query, before and after it has been executed.
+ */
+@FunctionalInterface
+public interface QueryMetricsListener {
+
+    void executed(QueryMetrics metrics);
+
+    /**
+     * Called before a query or {@link Just} call on a source of the given size is executed (-1 for the lines of a
+     * file or a join, which are not counted). Returns the listener for the metrics of this execution, or
+     * <code>null</code> to not measure it; executions no listener measures are executed without a meter. By default,
+     * this listener measures every execution.
+     */
+    default QueryMetricsListener measuring(long sourceSize) {
+        return this;
+    }
+
+    /**
+     * Whether this listener needs the time spent filtering, mapping and sorting, which is measured around each call
+     * of the where clause and the mapper. If no listener of an execution does, the rows are only counted and the
+     * metrics report the whole execution time as paging.
+     */
+    default boolean isTiming() {
+        return true;
+    }
+
+    /** Register a listener for all queries. */
+    static void register(QueryMetricsListener listener) {
+        MeteredQuery.register(listener);
+    }
+
+    static void unregister(QueryMetricsListener listener) {
+        MeteredQuery.unregister(listener);
+    }
+}
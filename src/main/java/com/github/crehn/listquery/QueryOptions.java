@@ -0,0 +1,84 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PACKAGE;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.experimental.Wither;
+
+/**
+ * immutable
+ *
+ * Options specified in the from clause that do not change the result of a query but the way it is executed.
+ */
+@Value
+@Wither(PACKAGE)
+@AllArgsConstructor(access = PRIVATE)
+class QueryOptions {
+
+    static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+    static final QueryOptions SEQUENTIAL = new QueryOptions(null, Integer.MAX_VALUE, false, null, null, 0, null, null,
+            null);
+
+    /** the pool to run parallel queries in; <code>null</code> for sequential execution */
+    ForkJoinPool pool;
+    /** sources with less elements than this are queried sequentially even when a pool is given */
+    int parallelThreshold;
+    /** reorder the conditions of the where clause based on their cost and selectivity while executing */
+    boolean adaptive;
+    /** the cache for the results of the query; <code>null</code> if they are not to be cached */
+    QueryCache cache;
+    /** identifies the query in the cache */
+    String cacheName;
+    /** the version of the source the results are valid for */
+    long sourceVersion;
+    /** identifies the query in its {@link QueryMetrics}; <code>null</code> if it is not named */
+    String name;
+    /** the listener for the metrics of this query, in addition to the global ones; may be <code>null</code> */
+    QueryMetricsListener metrics;
+    /** measures the current execution of the query; <code>null</code> if it is not measured */
+    MeteredQuery.Meter meter;
+
+    /** sources whose size is only known after a pass over them, like the lines of a file or a join, count as large */
+    boolean isParallelFor(Collection<?> source) {
+        return pool != null
+                && (parallelThreshold <= 0 || !QueryStrategy.isSizeKnown(source) || source.size() >= parallelThreshold);
+    }
+
+    /** whether the executions of the query are measured, i.e. whether any listener is registered for it */
+    boolean isMetered() {
+        return metrics != null || MeteredQuery.hasGlobalListeners();
+    }
+
+    /**
+     * Returns the cached result of the query on the given source, or executes it. The select method, including its
+     * paging, is part of the key.
+     */
+    <R> R cached(Collection<?> source, Object select, Supplier<R> query) {
+        if (cache == null)
+            return query.get();
+
+        return cache.get(source, cacheName, sourceVersion, select, query);
+    }
+
+    <T> Stream<T> stream(Collection<T> source) {
+        return isParallelFor(source) ? source.parallelStream() : source.stream();
+    }
+
+    /**
+     * Runs the terminal operation of a query. Parallel queries need to be started from within the pool, so that the
+     * stream framework forks its tasks into that pool rather than into the common pool.
+     */
+    <R> R execute(Collection<?> source, Supplier<R> terminal) {
+        if (!isParallelFor(source))
+            return terminal.get();
+
+        return pool.submit(terminal::get).join();
+    }
+}
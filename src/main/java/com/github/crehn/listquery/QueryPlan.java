@@ -0,0 +1,651 @@
+package com.github.crehn.listquery;
+
+import static java.util.stream.Collectors.toList;
+import static lombok.AccessLevel.PACKAGE;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.crehn.listquery.QueryStrategy.Narrowing;
+import com.github.crehn.listquery.QueryStrategy.Scan;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import lombok.experimental.Wither;
+
+/**
+ * immutable
+ *
+ * Everything a query has collected up to its select clause. The plan is executed either as a {@link Stream} pipeline
+ * or, for sequential queries on {@link RandomAccess} lists (which includes arrays), as a fused indexed loop. Both
+ * return the same result. If the source is an {@link IndexedSource}, a {@link ColumnarSource}, a {@link MappedSource}
+ * or a {@link LinesSource}, an index, the columns or the fields may narrow the source to the candidates for the where
+ * clause first. Sequential adaptive queries evaluate the where clause using {@link AdaptiveCondition}. Results of
+ * cached queries are taken from their {@link QueryCache} if possible. While a {@link QueryMetricsListener} is
+ * registered for a query, its where clause and mapper are measured.
+ *
+ * Unordered queries filter, limit, map, remove duplicates and finally apply the paging. Ordered queries filter, map,
+ * remove duplicates, sort and then apply limit and paging to the sorted result; keyset paging filters the mapped
+ * elements before sorting. Duplicates by key are removed before mapping. When only the first few elements of the
+ * sorted result are needed, a bounded heap selects them instead of sorting everything; for the first element only, a
+ * min scan. Sorted sets in the order of the query are not sorted at all. The {@link QueryStrategy} takes these
+ * decisions, both for executing the plan and for {@link #explain()}.
+ */
+@Value
+@Wither(PRIVATE)
+@AllArgsConstructor(access = PACKAGE)
+class QueryPlan<T, U> {
+
+    /** runs of elements comparing equal up to this size are searched for duplicates without hashing */
+    private static final int SHORT_RUN = 8;
+
+    Collection<T> source;
+    Predicate<T> where;
+    long limit;
+    Function<T, U> mapper;
+    boolean distinct;
+    /** the key to remove duplicates by before mapping; <code>null</code> if there is none */
+    Function<? super T, ?> distinctKey;
+    /** <code>null</code> if the result is not to be sorted */
+    Comparator<? super U> comparator;
+    /** <code>null</code> if the whole result is to be returned */
+    Paging paging;
+    /** for keyset paging of ordered queries: the mapped elements after the last key; <code>null</code> otherwise */
+    Predicate<? super U> keyset;
+    QueryOptions options;
+
+    List<U> select() {
+        return select("select");
+    }
+
+    private List<U> select(String terminal) {
+        long skip = skipped();
+        long take = perPage();
+        if (options.getCache() == null)
+            return execute(terminal, skip, take);
+
+        // the cached list must not be changed by the callers
+        return new ArrayList<>(
+                options.cached(source, Arrays.asList("select", paging), () -> execute(terminal, skip, take)));
+    }
+
+    Optional<U> selectFirst() {
+        return options.cached(source, "selectFirst", () -> {
+            List<U> result = execute("selectFirst", 0, 1);
+            return result.isEmpty() ? Optional.<U> empty() : Optional.of(result.get(0));
+        });
+    }
+
+    /**
+     * The elements of {@link #select()}, computed as they are iterated. Nothing is executed before the first call of
+     * {@link Iterator#hasNext()} or {@link Iterator#next()}. Ordered and cached queries need their whole result anyway,
+     * others are executed sequentially, one element at a time. Measured executions are selected as a whole, too.
+     */
+    Iterator<U> iterator() {
+        return new Deferred<>(this::start);
+    }
+
+    private Iterator<U> start() {
+        if (comparator != null || options.getCache() != null)
+            return select("iterator").iterator();
+        MeteredQuery.Meter meter = meter();
+        if (meter != null)
+            return execute("iterator", skipped(), perPage(), meter).iterator();
+
+        long skip = skipped();
+        long take = perPage();
+        QueryPlan<T, U> sequential = withOptions(options.withPool(null));
+        return sequential.prepared(QueryStrategy.of(sequential, skip, take)) //
+                .stream(skip, take) //
+                .iterator();
+    }
+
+    /**
+     * Pass the elements of {@link #select()} to the given action in order, without collecting them first. Ordered and
+     * cached queries need their whole result anyway, and so do measured executions.
+     */
+    void forEach(Consumer<? super U> action) {
+        if (comparator != null || options.getCache() != null) {
+            select("forEach").forEach(action);
+            return;
+        }
+        MeteredQuery.Meter meter = meter();
+        if (meter != null) {
+            execute("forEach", skipped(), perPage(), meter).forEach(action);
+            return;
+        }
+        long skip = skipped();
+        long take = perPage();
+        checkArguments(skip, take);
+        QueryStrategy strategy = QueryStrategy.of(this, skip, take);
+        QueryPlan<T, U> plan = prepared(strategy);
+        if (strategy.getScan() == Scan.PARALLEL) {
+            plan.options.execute(plan.source, () -> {
+                plan.stream(skip, take).forEachOrdered(action);
+                return null;
+            });
+        } else if (strategy.getScan() == Scan.LOOP) {
+            plan.loop((List<T>) plan.source, skip, take, action);
+        } else {
+            plan.stream(skip, take).forEachOrdered(action);
+        }
+    }
+
+    /** like {@link #forEach(Consumer)}, but pass the elements in lists of the given size (the last may be smaller) */
+    void forEachBatch(int batchSize, Consumer<? super List<U>> action) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batch size must be positive, but is " + batchSize);
+
+        Batches<U> batches = new Batches<>(batchSize, action);
+        forEach(batches);
+        batches.flush();
+    }
+
+    /** the size of {@link #select()}, in O(1) for sources that are neither filtered nor distinct */
+    long count() {
+        if (comparator != null)
+            return Math.min(limit, withComparator(null).withLimit(Long.MAX_VALUE).count());
+        if (distinct || distinctKey != null)
+            return collect(Collectors.counting());
+
+        checkArguments(0, 0);
+        if (where == Condition.always())
+            return Math.min(source.size(), limit);
+        return unmapped().collect(Collectors.counting());
+    }
+
+    /** whether {@link #select()} is not empty, stopping at the first match */
+    boolean exists() {
+        return !unmapped().select(0, 1).isEmpty();
+    }
+
+    /** the query without mapping, order and distinct, which do not change whether or how many elements match */
+    private QueryPlan<T, T> unmapped() {
+        return new QueryPlan<>(source, where, limit, Function.identity(), false, null, null, null, null, options);
+    }
+
+    /**
+     * Reduce the result of the query with the given collector, in one pass. Only ordered queries with a limit need to
+     * select their result first, as their order determines which elements are part of it.
+     */
+    <R> R reduce(Collector<? super U, ?, R> collector) {
+        if (comparator == null || limit == Long.MAX_VALUE)
+            return withComparator(null).collect(collector);
+        return select().stream().collect(collector);
+    }
+
+    /**
+     * Collect the result of the query without constructing it as a list, ignoring its order. Parallel queries
+     * accumulate into one container per task and combine them.
+     */
+    <R> R collect(Collector<? super U, ?, R> collector) {
+        checkArguments(0, 0);
+        QueryStrategy strategy = QueryStrategy.of(this, 0, Long.MAX_VALUE);
+        QueryPlan<T, U> plan = prepared(strategy);
+        if (strategy.getScan() == Scan.PARALLEL)
+            return plan.options.execute(plan.source, () -> plan.mapped().collect(collector));
+        return strategy.getScan() == Scan.LOOP ? plan.loop(collector) : plan.mapped().collect(collector);
+    }
+
+    private <A, R> R loop(Collector<? super U, A, R> collector) {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super U> accumulator = collector.accumulator();
+        loop((List<T>) source, 0, Long.MAX_VALUE, element -> accumulator.accept(container, element));
+        return collector.finisher().apply(container);
+    }
+
+    /** attach a live query to the source, which must be observable */
+    LiveQuery<U> live() {
+        if (!(source instanceof ObservableCollection))
+            throw new IllegalArgumentException("live queries need an ObservableCollection as source");
+        checkArguments(0, 0);
+
+        return LiveQuery.attach((ObservableCollection<T>) source, where, mapper, distinct, distinctKey, comparator,
+                limit);
+    }
+
+    /** select the page, measured for {@link MeteredQuery} if a metrics listener measures this execution */
+    private List<U> execute(String terminal, long skip, long take) {
+        return execute(terminal, skip, take, meter());
+    }
+
+    /** the meter for an execution of this plan, or <code>null</code> if no listener measures it */
+    private MeteredQuery.Meter meter() {
+        if (!options.isMetered())
+            return null;
+        return MeteredQuery.meter(options.getMetrics(), QueryStrategy.isSizeKnown(source) ? source.size() : -1);
+    }
+
+    private List<U> execute(String terminal, long skip, long take, MeteredQuery.Meter meter) {
+        if (meter == null)
+            return select(skip, take);
+
+        List<U> result = withOptions(options.withMeter(meter)).select(skip, take);
+        meter.executed(options.getName(), terminal, result.size());
+        return result;
+    }
+
+    private List<U> select(long skip, long take) {
+        checkArguments(skip, take);
+        QueryStrategy strategy = QueryStrategy.of(this, skip, take);
+        QueryPlan<T, U> plan = prepared(strategy);
+        if (strategy.getScan() == Scan.PARALLEL)
+            return plan.options.execute(plan.source, () -> plan.stream(skip, take).collect(toList()));
+        if (comparator != null)
+            return plan.selectOrdered(strategy, skip);
+        if (strategy.getScan() == Scan.LOOP)
+            return plan.loop(skip, take);
+        return plan.stream(skip, take).collect(toList());
+    }
+
+    /**
+     * this plan on the rows the strategy scans, with its where clause and its decision whether to execute in parallel,
+     * so the options do not decide again on the narrowed rows
+     */
+    QueryPlan<T, U> prepared(QueryStrategy strategy) {
+        Predicate<T> condition = strategy.isAdaptive() ? AdaptiveCondition.adaptive(where) : where;
+        MeteredQuery.Meter meter = options.getMeter();
+        if (meter != null)
+            meter.sorting(strategy.getSort() != null && strategy.getSort() != QueryStrategy.Sort.PRESORTED);
+        return withSource(strategy.candidates(source, where)) //
+                .withWhere(meter == null ? condition : meter.filter(condition)) //
+                .withMapper(meter == null ? mapper : meter.map(mapper)) //
+                .withOptions((strategy.getScan() == Scan.PARALLEL //
+                        ? options.withParallelThreshold(0) //
+                        : options.withPool(null)).withAdaptive(false));
+    }
+
+    private long skipped() {
+        return paging == null ? 0 : (long) (paging.getPage() - 1) * paging.getPerPage();
+    }
+
+    private long perPage() {
+        return paging == null ? Long.MAX_VALUE : paging.getPerPage();
+    }
+
+    /** fail just like the corresponding stream operations */
+    void checkArguments(long skip, long take) {
+        Objects.requireNonNull(mapper);
+        if (limit < 0 || skip < 0 || take < 0)
+            throw new IllegalArgumentException("negative limit or paging: " + limit + ", " + skip + ", " + take);
+    }
+
+
+    // stream
+
+    private Stream<U> stream(long skip, long take) {
+        if (comparator == null)
+            return counted(mapped()).skip(skip).limit(take);
+
+        return counted(mapped()) //
+                .sorted(comparator) //
+                .limit(limit) //
+                .skip(skip) //
+                .limit(take);
+    }
+
+    /** filtered, mapped and distinct, but neither sorted nor paged */
+    private Stream<U> mapped() {
+        return distinct ? mappedWithDuplicates().distinct() : mappedWithDuplicates();
+    }
+
+    /** the elements passing the distinct stage are counted for the metrics, if the execution is measured */
+    private Stream<U> counted(Stream<U> elements) {
+        MeteredQuery.Meter meter = options.getMeter();
+        return meter == null ? elements : elements.peek(element -> meter.distinct(1));
+    }
+
+    private Consumer<U> counted(Consumer<U> sink) {
+        MeteredQuery.Meter meter = options.getMeter();
+        if (meter == null)
+            return sink;
+        return element -> {
+            meter.distinct(1);
+            sink.accept(element);
+        };
+    }
+
+    private Stream<U> mappedWithDuplicates() {
+        Stream<T> filtered = options.stream(source).filter(where);
+        if (comparator == null)
+            filtered = filtered.limit(limit);
+        if (distinctKey != null)
+            filtered = distinctByKey(filtered);
+        Stream<U> result = filtered.map(mapper);
+        return keyset == null ? result : result.filter(keyset);
+    }
+
+    /** keep the first element for each key; parallel streams cannot share a key set, so they wrap the elements */
+    private Stream<T> distinctByKey(Stream<T> elements) {
+        if (elements.isParallel())
+            return elements.map(element -> new Keyed<T>(distinctKey.apply(element), element)) //
+                    .distinct() //
+                    .map(Keyed::getElement);
+
+        KeySet keys = new KeySet();
+        return elements.filter(element -> keys.add(distinctKey.apply(element)));
+    }
+
+
+    // ordered
+
+    private List<U> selectOrdered(QueryStrategy strategy, long skip) {
+        long end = strategy.getEnd();
+        boolean loop = strategy.getScan() == Scan.LOOP;
+        switch (strategy.getSort()) {
+        case PRESORTED:
+            return window(counted(mapped()).limit(end).collect(toList()), skip, end);
+        case MIN_SCAN:
+            // the first of the sorted elements is the same with or without duplicates
+            return window(minScan(loop), skip, end);
+        case TOP_K:
+            TopK<U> topK = new TopK<>(comparator, (int) Math.min(end, Integer.MAX_VALUE));
+            feedMapped(counted(topK), distinct, loop);
+            return window(sorted(topK::toSortedList), skip, end);
+        default:
+            List<U> result = new ArrayList<>();
+            feedMapped(result::add, false, loop);
+            sorted(() -> {
+                result.sort(comparator);
+                return result;
+            });
+            List<U> unique = distinct ? removeDuplicates(result) : result;
+            if (options.getMeter() != null)
+                options.getMeter().distinct(unique.size());
+            return window(unique, skip, end);
+        }
+    }
+
+    /** the sorted elements, measuring the time spent sorting them */
+    private List<U> sorted(Supplier<List<U>> sort) {
+        return options.getMeter() == null ? sort.get() : options.getMeter().sort(sort);
+    }
+
+    /** the first of the smallest elements, or an empty list */
+    private List<U> minScan(boolean loop) {
+        List<U> min = new ArrayList<>(1);
+        feedMapped(counted(element -> {
+            if (min.isEmpty())
+                min.add(element);
+            else if (comparator.compare(element, min.get(0)) < 0)
+                min.set(0, element);
+        }), false, loop);
+        return min;
+    }
+
+    private void feedMapped(Consumer<U> sink, boolean removeDuplicates, boolean loop) {
+        if (!loop) {
+            (removeDuplicates ? mapped() : mappedWithDuplicates()).forEachOrdered(sink);
+            return;
+        }
+
+        List<T> rows = (List<T>) source;
+        Set<U> seen = removeDuplicates ? new HashSet<>() : null;
+        KeySet keys = distinctKey == null ? null : new KeySet();
+        for (int i = 0; i < rows.size(); i++) {
+            T row = rows.get(i);
+            if (!where.test(row))
+                continue;
+            if (keys != null && !keys.add(distinctKey.apply(row)))
+                continue;
+            U mapped = mapper.apply(row);
+            if (keyset != null && !keyset.test(mapped))
+                continue;
+            if (seen == null || seen.add(mapped))
+                sink.accept(mapped);
+        }
+    }
+
+    /**
+     * Remove the duplicates from a sorted list, keeping the first of equal elements. Equal elements compare equal, so
+     * only the elements of each run comparing equal need to be compared with each other; long runs use a hash set.
+     */
+    private List<U> removeDuplicates(List<U> sorted) {
+        List<U> result = new ArrayList<>(sorted.size());
+        int runStart = 0;
+        Set<U> longRun = null;
+        for (U element : sorted) {
+            if (!result.isEmpty() && comparator.compare(result.get(result.size() - 1), element) != 0) {
+                runStart = result.size();
+                longRun = null;
+            }
+            List<U> run = result.subList(runStart, result.size());
+            if (longRun == null && run.size() > SHORT_RUN)
+                longRun = new HashSet<>(run);
+            if (longRun == null ? !run.contains(element) : longRun.add(element))
+                result.add(element);
+        }
+        return result;
+    }
+
+    private static <U> List<U> window(List<U> sorted, long from, long to) {
+        int size = sorted.size();
+        if (from == 0 && to >= size)
+            return sorted;
+
+        return new ArrayList<>(sorted.subList((int) Math.min(from, size), (int) Math.min(Math.max(from, to), size)));
+    }
+
+
+    // fused loop
+
+    /**
+     * Filter, limit, map, skip and take in one pass over the indexes of the source. A page is allocated with its size,
+     * other results grow as the rows are selected.
+     */
+    private List<U> loop(long skip, long take) {
+        List<T> rows = (List<T>) source;
+        List<U> result = take < rows.size() ? new ArrayList<>((int) take) : new ArrayList<>();
+        loop(rows, skip, take, result::add);
+        return result;
+    }
+
+    /** pass the selected elements to the action; only distinct queries map the elements they skip */
+    private void loop(List<T> rows, long skip, long take, Consumer<? super U> action) {
+        Set<U> seen = distinct ? new HashSet<>() : null;
+        KeySet keys = distinctKey == null ? null : new KeySet();
+        MeteredQuery.Meter meter = options.getMeter();
+        long matched = 0;
+        long skipped = 0;
+        long taken = 0;
+        for (int i = 0; i < rows.size() && matched < limit && taken < take; i++) {
+            T row = rows.get(i);
+            if (!where.test(row))
+                continue;
+            matched++;
+            if (keys != null && !keys.add(distinctKey.apply(row)))
+                continue;
+            U mapped = seen == null ? null : mapper.apply(row);
+            if (seen != null && !seen.add(mapped))
+                continue;
+            if (meter != null)
+                meter.distinct(1);
+            if (skipped++ < skip)
+                continue;
+            action.accept(seen == null ? mapper.apply(row) : mapped);
+            taken++;
+        }
+    }
+
+
+    // explain
+
+    /** the steps {@link #select()} takes, following the same decisions */
+    QueryExplanation explain() {
+        List<String> steps = new ArrayList<>();
+        if (options.getCache() != null)
+            steps.add("cache: " + options.getCacheName() + ", version " + options.getSourceVersion()
+                    + "; on a miss:");
+        explain(steps, skipped(), perPage());
+        return new QueryExplanation(steps);
+    }
+
+    /** the steps {@link #collect(Collector)} takes */
+    QueryExplanation explainCollect() {
+        List<String> steps = new ArrayList<>();
+        QueryStrategy strategy = QueryStrategy.of(this, 0, Long.MAX_VALUE);
+        explainScan(steps, strategy);
+        explainMapped(steps, strategy);
+        if (distinct)
+            steps.add("distinct: hash set");
+        return new QueryExplanation(steps);
+    }
+
+    private void explain(List<String> steps, long skip, long take) {
+        QueryStrategy strategy = QueryStrategy.of(this, skip, take);
+        explainScan(steps, strategy);
+        explainMapped(steps, strategy);
+        if (strategy.getSort() != null && strategy.getSort() != QueryStrategy.Sort.PARALLEL) {
+            explainOrdered(steps, strategy);
+        } else {
+            if (distinct)
+                steps.add("distinct: hash set");
+            if (comparator != null)
+                explainFullSort(steps, false);
+        }
+        if (paging != null)
+            steps.add("page: skip " + skip + ", take " + take);
+    }
+
+    /** which source is read how, without reading it */
+    private void explainScan(List<String> steps, QueryStrategy strategy) {
+        Narrowing narrowing = strategy.getNarrowing();
+        boolean parallel = strategy.getScan() == Scan.PARALLEL;
+        if (narrowing == Narrowing.LINE_FIELDS)
+            steps.add("fields: conditions tested on the split lines before creating the elements");
+        else if (narrowing != Narrowing.NONE)
+            steps.add(narrowing.getLabel() + ": candidates of " + strategy.getSourceSize() + " rows");
+
+        if (source instanceof LinesSource)
+            steps.add(parallel ? "scan: parallel stream over the lines of the file, split at line boundaries"
+                    : "scan: stream over the lines of the file");
+        else if (source instanceof JoinSource)
+            steps.add(parallel ? "scan: parallel stream over the pairs of the join"
+                    : "scan: stream over the pairs of the join");
+        else if (narrowing != Narrowing.NONE)
+            steps.add(parallel ? "scan: parallel stream over the candidates" : "scan: indexed loop over the candidates");
+        else if (parallel)
+            steps.add("scan: parallel stream over " + strategy.getSourceSize() + " elements");
+        else if (strategy.getScan() == Scan.LOOP)
+            steps.add("scan: indexed loop over " + strategy.getSourceSize() + " rows");
+        else
+            steps.add("scan: stream over " + strategy.getSourceSize() + " elements");
+    }
+
+    /** the steps up to removing duplicates, in the order they are applied */
+    private void explainMapped(List<String> steps, QueryStrategy strategy) {
+        boolean parallel = strategy.getScan() == Scan.PARALLEL;
+        steps.add(strategy.isAdaptive() ? "filter: adaptive order of conditions" : "filter");
+        if (comparator == null && limit != Long.MAX_VALUE)
+            steps.add("limit " + limit);
+        if (distinctKey != null)
+            steps.add(parallel ? "distinct by key: hash set of wrapped elements" : "distinct by key: hash set of keys");
+        steps.add("map");
+        if (keyset != null)
+            steps.add("keyset: after " + paging.getLastKey());
+    }
+
+    private void explainOrdered(List<String> steps, QueryStrategy strategy) {
+        long end = strategy.getEnd();
+        switch (strategy.getSort()) {
+        case PRESORTED:
+            if (distinct)
+                steps.add("distinct: hash set");
+            steps.add(end == Long.MAX_VALUE ? "sort: skipped, the source is sorted"
+                    : "sort: skipped, the source is sorted; stop after " + end);
+            break;
+        case MIN_SCAN:
+            steps.add("sort: min scan");
+            break;
+        case TOP_K:
+            if (distinct)
+                steps.add("distinct: hash set");
+            steps.add("sort: top-k heap of " + end);
+            break;
+        default:
+            explainFullSort(steps, distinct);
+        }
+    }
+
+    private void explainFullSort(List<String> steps, boolean removeDuplicates) {
+        steps.add("sort: full sort");
+        if (removeDuplicates)
+            steps.add("distinct: sort-dedupe");
+        if (limit != Long.MAX_VALUE)
+            steps.add("limit " + limit);
+    }
+
+
+    @Value
+    @EqualsAndHashCode(of = "key")
+    private static class Keyed<T> {
+        Object key;
+        T element;
+    }
+
+
+    /** an iterator that is only created at the first call of {@link #hasNext()} or {@link #next()} */
+    private static class Deferred<U> implements Iterator<U> {
+        private Supplier<Iterator<U>> pending;
+        private Iterator<U> started;
+
+        Deferred(Supplier<Iterator<U>> pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return started().hasNext();
+        }
+
+        @Override
+        public U next() {
+            return started().next();
+        }
+
+        private Iterator<U> started() {
+            if (started == null) {
+                started = pending.get();
+                pending = null;
+            }
+            return started;
+        }
+    }
+
+
+    /** collects elements into lists of a fixed size; each batch is a new list */
+    private static class Batches<U> implements Consumer<U> {
+        private final int size;
+        private final Consumer<? super List<U>> action;
+        private List<U> batch;
+
+        Batches(int size, Consumer<? super List<U>> action) {
+            this.size = size;
+            this.action = action;
+            this.batch = new ArrayList<>(Math.min(size, 1024));
+        }
+
+        @Override
+        public void accept(U element) {
+            batch.add(element);
+            if (batch.size() == size) {
+                action.accept(batch);
+                batch = new ArrayList<>(Math.min(size, 1024));
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty())
+                action.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import lombok.Value;
+
+/**
+ * immutable
+ *
+ * How a {@link QueryPlan} is executed, decided by a few rules on its clauses and on what is known about its source
+ * without reading it: whether the source is narrowed to candidates first, how the rows are scanned, whether the where
+ * clause is adaptive and how ordered queries are sorted. Executing and explaining a query follow the same strategy.
+ *
+ * The number of candidates is only known after narrowing, so the size of the whole source decides whether to execute
+ * in parallel and whether to keep a bounded heap. Sources whose size is only known after a pass over them, like the
+ * lines of a file or a join, count as large.
+ */
+@Value
+class QueryStrategy {
+
+    /** what the source is narrowed to before it is scanned */
+    enum Narrowing {
+        NONE(null),
+        /** the rows looked up in the indexes of an {@link IndexedSource} */
+        INDEX("index"),
+        /** the rows selected by the columns of a {@link ColumnarSource} */
+        COLUMNS("columns"),
+        /** the records selected by the fields of a {@link MappedSource} */
+        FIELDS("fields"),
+        /** the lines of a {@link LinesSource} satisfying the conditions on fields */
+        LINE_FIELDS("fields");
+
+        private final String label;
+
+        Narrowing(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
+        }
+    }
+
+    enum Scan {
+        /** a parallel stream, run in the pool of the query */
+        PARALLEL,
+        /** the fused indexed loop over a random access list */
+        LOOP,
+        /** a sequential stream */
+        STREAM
+    }
+
+    /** how ordered queries bring their result into order */
+    enum Sort {
+        /** the source iterates in the order of the query, so stop after the end of the requested page */
+        PRESORTED,
+        /** only the first element is needed, so keep the smallest one seen */
+        MIN_SCAN,
+        /** keep the elements up to the end of the requested page in a bounded heap */
+        TOP_K,
+        /** sort all elements, then remove the duplicates from runs of equal elements */
+        FULL,
+        /** the parallel stream removes the duplicates with a hash set, then sorts all elements */
+        PARALLEL
+    }
+
+    Narrowing narrowing;
+    Scan scan;
+    boolean adaptive;
+    /** <code>null</code> for unordered queries */
+    Sort sort;
+    /** the end of the requested page within the result of ordered queries */
+    long end;
+    /** the number of elements of the source, or -1 if it is only known after a pass over the source */
+    long sourceSize;
+
+    static <T> QueryStrategy of(QueryPlan<T, ?> plan, long skip, long take) {
+        Collection<T> source = plan.getSource();
+        QueryOptions options = plan.getOptions();
+        long size = isSizeKnown(source) ? source.size() : -1;
+        Narrowing narrowing = narrowing(source, plan.getWhere());
+        boolean parallel = options.isParallelFor(source);
+        Scan scan = parallel ? Scan.PARALLEL : isLoopable(source, narrowing) ? Scan.LOOP : Scan.STREAM;
+        long end = Math.min(plan.getLimit(), saturatedAdd(skip, take));
+        Sort sort = plan.getComparator() == null ? null : parallel ? Sort.PARALLEL : sort(plan, end, size);
+        return new QueryStrategy(narrowing, scan, options.isAdaptive() && !parallel, sort, end, size);
+    }
+
+    /** whether the size of the source is known without a pass over it */
+    static boolean isSizeKnown(Collection<?> source) {
+        return !(source instanceof LinesSource || source instanceof JoinSource);
+    }
+
+    private static <T> Narrowing narrowing(Collection<T> source, Predicate<T> where) {
+        if (source instanceof IndexedSource && ((IndexedSource<T>) source).narrows(where))
+            return Narrowing.INDEX;
+        if (source instanceof ColumnarSource && ((ColumnarSource<T>) source).narrows(where))
+            return Narrowing.COLUMNS;
+        if (source instanceof MappedSource && ((MappedSource<T>) source).narrows(where))
+            return Narrowing.FIELDS;
+        if (source instanceof LinesSource && ((LinesSource<T>) source).narrows(where))
+            return Narrowing.LINE_FIELDS;
+        return Narrowing.NONE;
+    }
+
+    /** the candidates are random access lists, except for the lines of a file */
+    private static boolean isLoopable(Collection<?> source, Narrowing narrowing) {
+        if (narrowing == Narrowing.NONE)
+            return source instanceof List && source instanceof RandomAccess;
+        return narrowing != Narrowing.LINE_FIELDS;
+    }
+
+    /**
+     * Sort only as much as needed: If the end of the requested page is close to the start of the result, a bounded
+     * heap keeps only the elements up to there. Otherwise all elements are sorted.
+     */
+    private static Sort sort(QueryPlan<?, ?> plan, long end, long size) {
+        if (isPresorted(plan))
+            return Sort.PRESORTED;
+        if (end == 1)
+            return Sort.MIN_SCAN;
+        if (end != Long.MAX_VALUE && (size < 0 || end <= size / 2))
+            return Sort.TOP_K;
+        return Sort.FULL;
+    }
+
+    /**
+     * Whether the source is a sorted set in the order of the query and the elements are not mapped, so sorting them
+     * would not change their order.
+     */
+    private static boolean isPresorted(QueryPlan<?, ?> plan) {
+        if (!(plan.getSource() instanceof SortedSet) || plan.getMapper() != Function.identity())
+            return false;
+
+        Comparator<?> order = ((SortedSet<?>) plan.getSource()).comparator();
+        return order == null ? plan.getComparator() == Comparator.naturalOrder() : order.equals(plan.getComparator());
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+
+    /** the rows to scan: the candidates the source is narrowed to, or the source itself */
+    <T> Collection<T> candidates(Collection<T> source, Predicate<T> where) {
+        switch (narrowing) {
+        case INDEX:
+            return ((IndexedSource<T>) source).candidates(where);
+        case COLUMNS:
+            return ((ColumnarSource<T>) source).candidates(where);
+        case FIELDS:
+            return ((MappedSource<T>) source).candidates(where);
+        case LINE_FIELDS:
+            return ((LinesSource<T>) source).candidates(where);
+        default:
+            return source;
+        }
+    }
+}
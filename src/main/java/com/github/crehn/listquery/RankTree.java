@@ -0,0 +1,163 @@
+package com.github.crehn.listquery;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A sorted sequence of nodes with insertion, removal and access by index in O(log n) expected time. It is a treap
+ * whose nodes know their parent and the size of their subtree. Nodes are removed by reference, without comparing
+ * them, so a node can be removed even after the element it represents has changed its position in the order.
+ *
+ * Not thread-safe.
+ */
+class RankTree<N extends RankTree.Node<N>> {
+
+    static class Node<N extends Node<N>> {
+        // not private, as they are accessed through the type variable
+        N left;
+        N right;
+        N parent;
+        int size;
+        int priority;
+    }
+
+    private final Comparator<? super N> comparator;
+    private N root;
+
+    RankTree(Comparator<? super N> comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /** insert the node after all nodes comparing less or equal; it must not be part of a tree */
+    void insert(N node) {
+        node.left = null;
+        node.right = null;
+        node.size = 1;
+        node.priority = ThreadLocalRandom.current().nextInt();
+        if (root == null) {
+            node.parent = null;
+            root = node;
+            return;
+        }
+
+        N parent = root;
+        while (true) {
+            parent.size++;
+            if (comparator.compare(node, parent) < 0) {
+                if (parent.left == null) {
+                    parent.left = node;
+                    break;
+                }
+                parent = parent.left;
+            } else {
+                if (parent.right == null) {
+                    parent.right = node;
+                    break;
+                }
+                parent = parent.right;
+            }
+        }
+        node.parent = parent;
+        while (node.parent != null && node.priority > node.parent.priority)
+            rotateUp(node);
+    }
+
+    /** remove the node, which must be part of this tree */
+    void remove(N node) {
+        while (node.left != null && node.right != null)
+            rotateUp(node.left.priority > node.right.priority ? node.left : node.right);
+
+        N child = node.left != null ? node.left : node.right;
+        N parent = node.parent;
+        if (child != null)
+            child.parent = parent;
+        replaceChild(parent, node, child);
+        for (N ancestor = parent; ancestor != null; ancestor = ancestor.parent)
+            ancestor.size--;
+        node.parent = null;
+    }
+
+    /** the node at the given position, or <code>null</code> if there is none */
+    N get(long index) {
+        N node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /** the number of nodes comparing less than or equal to the given one, which need not be part of this tree */
+    long countUpTo(N probe) {
+        long count = 0;
+        N node = root;
+        while (node != null) {
+            if (comparator.compare(probe, node) < 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /** the node following the given one, or <code>null</code> if it is the last */
+    N next(N node) {
+        if (node.right != null) {
+            N next = node.right;
+            while (next.left != null)
+                next = next.left;
+            return next;
+        }
+        while (node.parent != null && node.parent.right == node)
+            node = node.parent;
+        return node.parent;
+    }
+
+    /** make the node take the place of its parent, keeping the order */
+    private void rotateUp(N node) {
+        N parent = node.parent;
+        N grandparent = parent.parent;
+        if (parent.left == node) {
+            parent.left = node.right;
+            if (node.right != null)
+                node.right.parent = parent;
+            node.right = parent;
+        } else {
+            parent.right = node.left;
+            if (node.left != null)
+                node.left.parent = parent;
+            node.left = parent;
+        }
+        parent.parent = node;
+        node.parent = grandparent;
+        replaceChild(grandparent, parent, node);
+        parent.size = 1 + size(parent.left) + size(parent.right);
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private void replaceChild(N parent, N child, N replacement) {
+        if (parent == null)
+            root = replacement;
+        else if (parent.left == child)
+            parent.left = replacement;
+        else
+            parent.right = replacement;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.crehn.listquery;
+
+import static lombok.AccessLevel.PACKAGE;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * immutable
+ *
+ * The layout of a binary file of fixed-width records, to query it with {@link ListQuery#from(java.nio.file.Path,
+ * RecordLayout)}. The reader creates the element for the record at the given position of the buffer; the fields
+ * describe the values at fixed offsets of each record that conditions may be evaluated on without creating the
+ * elements. Example:
+ *
+ * <pre>
+ * <code>
+ * static final RecordLayout&lt;Trade&gt; TRADE = RecordLayout.of(20,
+ *         (buffer, at) -&gt; new Trade(buffer.getInt(at), buffer.getLong(at + 4), buffer.getDouble(at + 12)));
+ * static final Field&lt;Trade, Integer&gt; DAY = TRADE.intField(0, Trade::getDay);
+ * static final Field&lt;Trade, Long&gt; VOLUME = TRADE.longField(4, Trade::getVolume);
+ *
+ * from(Paths.get("trades.bin"), TRADE)
+ *     .where(equalTo(DAY, 20170103))
+ *     .and(atLeast(VOLUME, 1000L))
+ *     .select();
+ * </code>
+ * </pre>
+ */
+@Getter(PACKAGE)
+@AllArgsConstructor(access = PRIVATE)
+public class RecordLayout<T> {
+
+    private final int recordSize;
+    @NonNull
+    private final Reader<T> reader;
+    /** the byte order of the numbers in the file; big-endian unless specified otherwise */
+    @NonNull
+    private final ByteOrder order;
+
+    public static <T> RecordLayout<T> of(int recordSize, Reader<T> reader) {
+        if (recordSize < 1)
+            throw new IllegalArgumentException("record size must be positive, but is " + recordSize);
+        return new RecordLayout<>(recordSize, reader, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * This layout with the numbers in the given byte order. Create the fields from the returned layout, the fields of
+     * this one are not recognized on files queried with the other one.
+     */
+    public RecordLayout<T> withOrder(ByteOrder order) {
+        return new RecordLayout<>(recordSize, reader, order);
+    }
+
+    /** a four byte int at the given offset of each record, which the getter returns for the elements */
+    public Field<T, Integer> intField(int offset, Function<T, Integer> getter) {
+        return new Field<>(this, FieldType.INT, offset(offset, 4), getter);
+    }
+
+    /** an eight byte long at the given offset of each record, which the getter returns for the elements */
+    public Field<T, Long> longField(int offset, Function<T, Long> getter) {
+        return new Field<>(this, FieldType.LONG, offset(offset, 8), getter);
+    }
+
+    /** an eight byte double at the given offset of each record, which the getter returns for the elements */
+    public Field<T, Double> doubleField(int offset, Function<T, Double> getter) {
+        return new Field<>(this, FieldType.DOUBLE, offset(offset, 8), getter);
+    }
+
+    private int offset(int offset, int width) {
+        if (offset < 0 || offset + width > recordSize)
+            throw new IllegalArgumentException(
+                    "field of " + width + " bytes at " + offset + " exceeds the record size " + recordSize);
+        return offset;
+    }
+
+    /** creates the element for a record */
+    @FunctionalInterface
+    public interface Reader<T> {
+        /**
+         * @param position
+         *            the position of the record in the buffer; read its values with the absolute get methods
+         */
+        T read(ByteBuffer buffer, int position);
+    }
+
+    enum FieldType {
+        INT, LONG, DOUBLE
+    }
+
+    /**
+     * immutable
+     *
+     * A value at a fixed offset of each record. Used as getter in {@link Conditions#equalTo} or
+     * {@link Conditions#between}, the condition is evaluated on the records in the file; for the elements (e.g. when
+     * querying other sources) the getter given for the field is used.
+     */
+    @Getter(PACKAGE)
+    @AllArgsConstructor(access = PRIVATE)
+    public static class Field<T, K> implements Function<T, K> {
+        private final RecordLayout<T> layout;
+        private final FieldType type;
+        private final int offset;
+        @NonNull
+        private final Function<T, K> getter;
+
+        @Override
+        public K apply(T element) {
+            return getter.apply(element);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.crehn.listquery;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Collects the <code>k</code> smallest of the accepted elements in O(n log k) time and O(k) space, using a bounded
+ * max-heap. Elements comparing equal keep their encounter order, so the result is the same as the first
+ * <code>k</code> elements of a stable sort (like {@link List#sort(Comparator)} or
+ * {@link java.util.stream.Stream#sorted(Comparator)}).
+ *
+ * The heap starts small and grows up to <code>k</code> as elements are accepted, so a large <code>k</code> for few
+ * elements, e.g. a huge page of a source of unknown size, takes only the space of the elements.
+ *
+ * Not thread-safe.
+ */
+class TopK<U> implements Consumer<U> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Comparator<? super U> comparator;
+    private final int k;
+    /** the heap; the root is the largest kept element */
+    private Object[] elements;
+    /** the encounter order of the element at the same index, used as tie-breaker */
+    private long[] order;
+    private int size = 0;
+    private long accepted = 0;
+
+    TopK(Comparator<? super U> comparator, int k) {
+        this.comparator = comparator;
+        this.k = k;
+        this.elements = new Object[Math.min(k, INITIAL_CAPACITY)];
+        this.order = new long[elements.length];
+    }
+
+    @Override
+    public void accept(U element) {
+        long position = accepted++;
+        if (size < k) {
+            if (size == elements.length)
+                grow();
+            elements[size] = element;
+            order[size] = position;
+            siftUp(size++);
+        } else if (k > 0 && comparator.compare(element, elementAt(0)) < 0) {
+            // later elements never win a tie, so only strictly smaller ones replace the root
+            elements[0] = element;
+            order[0] = position;
+            siftDown(0, size);
+        }
+    }
+
+    /** the kept elements in ascending order; the collector must not be used afterwards */
+    List<U> toSortedList() {
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        List<U> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            result.add(elementAt(i));
+        return result;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min((long) elements.length * 2, k);
+        elements = Arrays.copyOf(elements, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
+
+    private void siftUp(int index) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (compare(child, parent) <= 0)
+                return;
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int index, int end) {
+        int parent = index;
+        while (true) {
+            int largest = parent;
+            int left = 2 * parent + 1;
+            int right = left + 1;
+            if (left < end && compare(left, largest) > 0)
+                largest = left;
+            if (right < end && compare(right, largest) > 0)
+                largest = right;
+            if (largest == parent)
+                return;
+            swap(parent, largest);
+            parent = largest;
+        }
+    }
+
+    private int compare(int i, int j) {
+        int result = comparator.compare(elementAt(i), elementAt(j));
+        return result != 0 ? result : Long.compare(order[i], order[j]);
+    }
+
+    private void swap(int i, int j) {
+        Object element = elements[i];
+        elements[i] = elements[j];
+        elements[j] = element;
+        long position = order[i];
+        order[i] = order[j];
+        order[j] = position;
+    }
+
+    @SuppressWarnings("unchecked")
+    private U elementAt(int index) {
+        return (U) elements[index];
+    }
+}
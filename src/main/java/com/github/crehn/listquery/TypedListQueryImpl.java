@@ -1,13 +1,12 @@
 package com.github.crehn.listquery;
 
-import static java.util.stream.Collectors.toList;
+import static java.util.function.Function.identity;
 import static lombok.AccessLevel.PACKAGE;
 import static lombok.AccessLevel.PRIVATE;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Stream;
+import java.util.function.*;
+import java.util.stream.Collectors;
 
 import com.github.crehn.listquery.ListQuery.TypedListQueryWithOrderBy;
 import com.github.crehn.listquery.ListQuery.TypedListQueryWithSpecial;
@@ -23,19 +22,25 @@ import lombok.experimental.Wither;
 @RequiredArgsConstructor(access = PRIVATE)
 public class TypedListQueryImpl<T, U> implements //
         TypedListQueryWithOrderBy<T, U>, //
-        TypedListQueryWithSpecial<T, U> //
+        TypedListQueryWithSpecial<T, U>, //
+        PreparedQuery.Shape<T> //
 {
 
     @NonNull
     private Collection<T> list;
     private Predicate<T> where;
     private Comparator<U> comparator;
+    /** the getter the query is ordered by, if any; needed for keyset paging */
+    private Function<U, ?> sortKey;
     private boolean distinct = false;
+    private Function<T, ?> distinctKey;
     private long limit = Long.MAX_VALUE;
+    private QueryOptions options;
 
     public TypedListQueryImpl(ListQueryImpl<T> untypedQuery) {
         this.list = untypedQuery.getList();
         this.where = untypedQuery.getWhere();
+        this.options = untypedQuery.getOptions();
     }
 
     @Override
@@ -43,11 +48,26 @@ public class TypedListQueryImpl<T, U> implements //
         return this.withDistinct(true);
     }
 
+    @Override
+    public TypedListQueryWithOrderBy<T, U> distinctBy(@NonNull Function<T, ?> key) {
+        return this.withDistinctKey(key);
+    }
+
     @Override
     public TypedListQueryWithOrderBy<T, U> limit(long limit) {
         return this.withLimit(limit);
     }
 
+    @Override
+    public TypedListQueryImpl<T, U> bind(Collection<T> source, Parameters parameters) {
+        return withList(source).withWhere(Condition.bind(where, parameters));
+    }
+
+    @Override
+    public boolean isOver(Collection<?> source) {
+        return list == source;
+    }
+
     @Override
     public List<U> select(Function<T, U> mapper) {
         return select(mapper, null);
@@ -55,34 +75,91 @@ public class TypedListQueryImpl<T, U> implements //
 
     @Override
     public List<U> select(Function<T, U> mapper, Paging paging) {
-        return selectStream(mapper, paging) //
-                .collect(toList());
+        return plan(mapper, paging).select();
+    }
+
+    @Override
+    public Optional<U> selectFirst(Function<T, U> mapper) {
+        return plan(mapper, null).selectFirst();
+    }
+
+    @Override
+    public List<U> selectLazy(Function<T, U> mapper) {
+        return new LazyList<>(plan(mapper, null)::iterator);
     }
 
-    private Stream<U> selectStream(Function<T, U> mapper, Paging paging) {
-        Stream<U> result = list.stream() //
-                .filter(where) //
-                .limit(limit) //
-                .map(mapper);
-        result = distinct ? result.distinct() : result;
-        result = applyPaging(result, paging);
-        return comparator != null ? result.sorted(comparator) : result;
+    @Override
+    public void forEach(Function<T, U> mapper, Consumer<? super U> action) {
+        plan(mapper, null).forEach(action);
     }
 
+    @Override
+    public Iterator<U> iterator(Function<T, U> mapper) {
+        return plan(mapper, null).iterator();
+    }
 
-    private Stream<U> applyPaging(Stream<U> result, Paging paging) {
-        if (paging == null)
-            return result;
+    @Override
+    public void selectInBatches(Function<T, U> mapper, int batchSize, Consumer<List<U>> action) {
+        plan(mapper, null).forEachBatch(batchSize, action);
+    }
 
-        return result //
-                .skip((paging.getPage() - 1) * paging.getPerPage()) //
-                .limit(paging.getPerPage());
+    @Override
+    public LiveQuery<U> selectLive(Function<T, U> mapper) {
+        return plan(mapper, null).live();
     }
 
     @Override
-    public Optional<U> selectFirst(Function<T, U> mapper) {
-        return selectStream(mapper, null) //
-                .findFirst();
+    public boolean exists() {
+        // neither mapping, order nor distinct change whether there is an element
+        return new QueryPlan<>(list, where, limit, identity(), false, null, null, null, null, options).exists();
+    }
+
+    @Override
+    public long count(Function<T, U> mapper) {
+        return plan(mapper, null).count();
+    }
+
+    @Override
+    public long sum(Function<T, U> mapper, @NonNull ToLongFunction<U> getter) {
+        return plan(mapper, null).reduce(Collectors.summingLong(getter));
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> Optional<V> min(Function<T, U> mapper, @NonNull Function<U, V> getter) {
+        return plan(mapper, null).reduce(Collectors.mapping(getter, Collectors.minBy(Comparator.naturalOrder())));
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> Optional<V> max(Function<T, U> mapper, @NonNull Function<U, V> getter) {
+        return plan(mapper, null).reduce(Collectors.mapping(getter, Collectors.maxBy(Comparator.naturalOrder())));
+    }
+
+    @Override
+    public OptionalDouble average(Function<T, U> mapper, @NonNull ToDoubleFunction<U> getter) {
+        return ListQueryImpl.average(plan(mapper, null), getter);
+    }
+
+    @Override
+    public QueryExplanation explain(Function<T, U> mapper) {
+        return explain(mapper, null);
+    }
+
+    @Override
+    public QueryExplanation explain(Function<T, U> mapper, Paging paging) {
+        return plan(mapper, paging).explain();
+    }
+
+    private QueryPlan<T, U> plan(Function<T, U> mapper, Paging paging) {
+        return new QueryPlan<>(list, where, limit, mapper, distinct, distinctKey, comparator, paging, keyset(paging),
+                options);
+    }
+
+    private Predicate<U> keyset(Paging paging) {
+        if (paging == null || !paging.isKeyset())
+            return null;
+        if (sortKey == null)
+            throw new IllegalStateException("keyset paging needs a query ordered by a getter, not by a comparator");
+        return paging.keyset(sortKey);
     }
 
 }
@@ -0,0 +1,89 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.page;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class AdaptiveConditionTest {
+
+    private static final Pattern EVEN = Pattern.compile("^\\d*[02468]$");
+
+    private List<Integer> list = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+    private AtomicInteger expensiveTests = new AtomicInteger();
+
+    @Test
+    public void shouldSelectSameAsWrittenOrder() {
+        assertEquals( //
+                from(list).where(this::isEven).and(e -> e % 100 < 3).or(e -> e < 5).select(), //
+                from(list).adaptive().where(this::isEven).and(e -> e % 100 < 3).or(e -> e < 5).select());
+    }
+
+    @Test
+    public void shouldSelectSameAsWrittenOrderWhenOrderedAndPaged() {
+        assertEquals( //
+                from(list).where(e -> e % 7 == 0).or(this::isEven).orderBy((Integer e1, Integer e2) -> e2 - e1)
+                        .select(e -> e, page(3).eachContaining(10)), //
+                from(list).adaptive().where(e -> e % 7 == 0).or(this::isEven)
+                        .orderBy((Integer e1, Integer e2) -> e2 - e1).select(e -> e, page(3).eachContaining(10)));
+    }
+
+    @Test
+    public void shouldTestCheapSelectiveConditionFirst() {
+        List<Integer> result = from(list) //
+                .adaptive() //
+                .where(this::isEven) //
+                .and(e -> e % 100 == 0) //
+                .select();
+
+        assertEquals(100, result.size());
+        assertTrue("expensive condition tested " + expensiveTests + " times", expensiveTests.get() < list.size() / 4);
+    }
+
+    @Test
+    public void shouldTestInWrittenOrderByDefault() {
+        from(list) //
+                .where(this::isEven) //
+                .and(e -> e % 100 == 0) //
+                .select();
+
+        assertEquals(list.size(), expensiveTests.get());
+    }
+
+    @Test
+    public void shouldKeepGuardsOfSamplesInWrittenOrder() {
+        List<String> words = Arrays.asList(null, "b");
+
+        assertEquals(Arrays.asList("b"), from(words).adaptive().where(w -> w != null).and(w -> w.length() == 1).select());
+    }
+
+    @Test
+    public void shouldTestGuardsOfAllSamplesFirst() {
+        int size = AdaptiveCondition.SAMPLE_INTERVAL * (AdaptiveCondition.REORDER_INTERVAL - 1);
+        List<String> words = IntStream.range(0, size) //
+                .mapToObj(i -> i % AdaptiveCondition.SAMPLE_INTERVAL == 0 ? null : "w" + i % 10) //
+                .collect(Collectors.toList());
+
+        List<String> result = from(words).adaptive().where(w -> w != null).and(w -> w.endsWith("3")).select();
+
+        assertEquals(from(words).where(w -> w != null).and(w -> w.endsWith("3")).select(), result);
+    }
+
+    @Test
+    public void shouldSelectFirst() {
+        assertEquals(Optional.of(5000), from(list).adaptive().where(this::isEven).and(e -> e >= 5000).selectFirst());
+    }
+
+    private boolean isEven(Integer e) {
+        expensiveTests.incrementAndGet();
+        return EVEN.matcher(String.valueOf(e)).matches();
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class AggregateTest {
+
+    private List<Integer> arrayList = asList(7, 3, 9, 3, 1, 8, 2, 9, 5, 4);
+    private List<Integer> linkedList = new LinkedList<>(arrayList);
+    private AtomicInteger tests = new AtomicInteger();
+
+    private boolean isLarge(Integer e) {
+        tests.incrementAndGet();
+        return e > 5;
+    }
+
+    @Test
+    public void shouldCountSameAsSelect() {
+        for (List<Integer> list : asList(arrayList, linkedList)) {
+            assertEquals(10, from(list).count());
+            assertEquals(4, from(list).where(this::isLarge).count());
+            assertEquals(3, from(list).where(this::isLarge).limit(3).count());
+            assertEquals(8, from(list).distinct().count());
+            assertEquals(3, from(list).limit(4).distinct().count());
+            assertEquals(5, from(list).ordered().distinct().limit(5).count());
+            assertEquals(2, from(list).orderBy((Integer e) -> e % 2).distinct().count(e -> e % 2));
+        }
+    }
+
+    @Test
+    public void shouldCountUnfilteredSourceWithoutIterating() {
+        Collection<Integer> source = new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                throw new AssertionError("iterated");
+            }
+
+            @Override
+            public int size() {
+                return 1_000_000;
+            }
+        };
+
+        assertEquals(1_000_000, from(source).count());
+        assertEquals(10, from(source).limit(10).count());
+    }
+
+    @Test
+    public void shouldStopAtFirstMatchForExists() {
+        assertTrue(from(arrayList).where(this::isLarge).exists());
+        assertEquals(1, tests.get());
+        assertTrue(from(linkedList).where(e -> e == 4).exists());
+        assertFalse(from(arrayList).where(e -> e > 10).exists());
+        assertFalse(from(arrayList).limit(0).exists());
+        assertTrue(from(arrayList).orderBy((Integer e) -> -e).exists());
+    }
+
+    @Test
+    public void shouldSum() {
+        assertEquals(51, from(arrayList).sum(e -> e));
+        assertEquals(33, from(linkedList).where(this::isLarge).sum(e -> e));
+        assertEquals(0, from(arrayList).where(e -> e > 10).sum(e -> e));
+        assertEquals(26, from(arrayList).orderBy((Integer e) -> -e).limit(3).sum(e -> e, e -> e));
+    }
+
+    @Test
+    public void shouldFindMinAndMax() {
+        assertEquals(Optional.of(1), from(arrayList).min(e -> e));
+        assertEquals(Optional.of(9), from(linkedList).max(e -> e));
+        assertEquals(Optional.of(7), from(arrayList).where(this::isLarge).min(e -> e));
+        assertEquals(Optional.empty(), from(arrayList).where(e -> e > 10).max(e -> e));
+        assertEquals(Optional.of("8"), from(arrayList).orderBy((Integer e) -> -e).limit(3).min(e -> e, e -> "" + e));
+        assertEquals(Optional.of(3), from(arrayList).ordered().limit(3).max(e -> e));
+    }
+
+    @Test
+    public void shouldAverage() {
+        assertEquals(5.1, from(arrayList).average(e -> e).getAsDouble(), 1e-9);
+        assertEquals(8.25, from(linkedList).where(this::isLarge).average(e -> e).getAsDouble(), 1e-9);
+        assertFalse(from(arrayList).where(e -> e > 10).average(e -> e).isPresent());
+    }
+
+    @Test
+    public void shouldAggregateInParallel() {
+        List<Integer> numbers = IntStream.range(0, 50_000).boxed().collect(Collectors.toList());
+        ListQuery.ListQueryWithFrom<Integer> parallel = from(numbers).parallel(ForkJoinPool.commonPool(), 1000);
+
+        assertEquals(25_000, parallel.where(e -> e % 2 == 0).count());
+        assertEquals(numbers.stream().mapToLong(e -> e).sum(), parallel.sum(e -> e));
+        assertEquals(Optional.of(49_999), parallel.max(e -> e));
+        assertTrue(parallel.where(e -> e == 40_000).exists());
+    }
+}
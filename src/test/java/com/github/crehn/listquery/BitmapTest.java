@@ -0,0 +1,89 @@
+package com.github.crehn.listquery;
+
+import static org.junit.Assert.*;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BitmapTest {
+
+    private Random random = new Random(7);
+
+    /** rows in a few chunks, some sparse (array chunks), some dense (bitmap chunks) */
+    private BitSet randomRows() {
+        BitSet rows = new BitSet();
+        for (int chunk = 0; chunk < 6; chunk++) {
+            if (random.nextInt(4) == 0)
+                continue;
+            double density = random.nextBoolean() ? 0.01 : 0.5;
+            for (int low = 0; low < 1 << 16; low++)
+                if (random.nextDouble() < density)
+                    rows.set(chunk << 16 | low);
+        }
+        return rows;
+    }
+
+    private static Bitmap ofWords(BitSet rows) {
+        return Bitmap.ofWords(rows.toLongArray());
+    }
+
+    private static void assertSame(BitSet expected, Bitmap actual) {
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+    }
+
+    @Test
+    public void shouldKeepPositions() {
+        for (int i = 0; i < 10; i++) {
+            BitSet rows = randomRows();
+            assertSame(rows, ofWords(rows));
+            assertSame(rows, Bitmap.ofSorted(rows.stream().toArray()));
+        }
+    }
+
+    @Test
+    public void shouldIntersectAndUnite() {
+        for (int i = 0; i < 20; i++) {
+            BitSet a = randomRows();
+            BitSet b = randomRows();
+            BitSet and = (BitSet) a.clone();
+            and.and(b);
+            BitSet or = (BitSet) a.clone();
+            or.or(b);
+
+            assertSame(and, ofWords(a).and(Bitmap.ofSorted(b.stream().toArray())));
+            assertSame(or, ofWords(a).or(Bitmap.ofSorted(b.stream().toArray())));
+            assertSame(and, Bitmap.ofSorted(a.stream().toArray()).and(ofWords(b)));
+            assertSame(or, Bitmap.ofSorted(a.stream().toArray()).or(ofWords(b)));
+        }
+    }
+
+    @Test
+    public void shouldTurnUnionOfSparseChunksIntoBitmap() {
+        int[] even = new int[3000];
+        int[] odd = new int[3000];
+        for (int i = 0; i < 3000; i++) {
+            even[i] = 2 * i;
+            odd[i] = 2 * i + 1;
+        }
+
+        Bitmap union = Bitmap.ofSorted(even).or(Bitmap.ofSorted(odd));
+
+        assertEquals(6000, union.cardinality());
+        assertEquals(0, union.and(Bitmap.ofSorted(new int[] { 6000, 70000 })).cardinality());
+        assertArrayEquals(new int[] { 5999 }, union.and(Bitmap.ofSorted(new int[] { 5999, 70000 })).toArray());
+    }
+
+    @Test
+    public void shouldHandleEmptyBitmaps() {
+        Bitmap empty = Bitmap.ofSorted(new int[0]);
+
+        assertTrue(empty.isEmpty());
+        assertTrue(Bitmap.ofWords(new long[2048]).isEmpty());
+        assertArrayEquals(new int[] { 1, 65536 }, empty.or(Bitmap.ofSorted(new int[] { 1, 65536 })).toArray());
+        assertTrue(empty.and(Bitmap.ofSorted(new int[] { 1 })).isEmpty());
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.Conditions.*;
+import static com.github.crehn.listquery.ListQuery.columnar;
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import lombok.Value;
+
+public class ColumnarSourceTest {
+
+    private static final Function<Trade, Integer> DAY = Trade::getDay;
+    private static final Function<Trade, Long> VOLUME = Trade::getVolume;
+    private static final Function<Trade, Double> PRICE = Trade::getPrice;
+    private static final Function<Trade, String> VENUE = Trade::getVenue;
+    private static final Function<Trade, Integer> RATING = Trade::getRating;
+
+    private Trade a = new Trade(1, 100, 9.5, "XETRA", 3);
+    private Trade b = new Trade(2, 250, 10.0, "NYSE", null);
+    private Trade c = new Trade(2, 50, Double.NaN, "XETRA", 1);
+    private Trade d = new Trade(3, 300, -0.0, null, 2);
+    private Trade e = new Trade(5, 100, 12.25, "LSE", 3);
+    private List<Trade> trades = asList(a, b, c, d, e);
+
+    private ColumnarSource<Trade> source = columnar(trades, DAY, VOLUME, PRICE, VENUE, RATING);
+    private AtomicInteger touched = new AtomicInteger();
+
+    private boolean touch(Trade trade) {
+        touched.incrementAndGet();
+        return true;
+    }
+
+    @Test
+    public void shouldBehaveLikeTheCollection() {
+        assertEquals(trades, source);
+        assertEquals(trades, from(source).select());
+    }
+
+    @Test
+    public void shouldSelectEqualityOnIntColumn() {
+        assertEquals(asList(b, c), from(source).where(equalTo(DAY, 2)).select());
+        assertEquals(asList(), from(source).where(equalTo(DAY, 4)).select());
+        assertEquals(asList(), from(source).where(equalTo(DAY, null)).select());
+    }
+
+    @Test
+    public void shouldSelectRanges() {
+        assertEquals(asList(b, c, d), from(source).where(between(DAY, 2, 4)).select());
+        assertEquals(asList(b, d), from(source).where(atLeast(VOLUME, 250L)).select());
+        assertEquals(asList(a, c, e), from(source).where(atMost(VOLUME, 100L)).select());
+        assertEquals(asList(a, b, d), from(source).where(atMost(PRICE, 10.0)).select());
+    }
+
+    @Test
+    public void shouldCompareDoublesLikeTheirObjects() {
+        assertEquals(asList(c), from(source).where(equalTo(PRICE, Double.NaN)).select());
+        assertEquals(asList(), from(source).where(equalTo(PRICE, 0.0)).select());
+        assertEquals(asList(d), from(source).where(equalTo(PRICE, -0.0)).select());
+        assertEquals(asList(c, e), from(source).where(atLeast(PRICE, 12.0)).select());
+    }
+
+    @Test
+    public void shouldUseDictionaryForObjectsAndNulls() {
+        assertEquals(asList(a, c), from(source).where(equalTo(VENUE, "XETRA")).select());
+        assertEquals(asList(d), from(source).where(equalTo(VENUE, null)).select());
+        assertEquals(asList(b, e), from(source).where(between(VENUE, "L", "O")).select());
+        assertEquals(asList(a, e), from(source).where(equalTo(RATING, 3)).select());
+        assertEquals(asList(c, d), from(source).where(atMost(RATING, 2)).select());
+    }
+
+    @Test
+    public void shouldExtractEachValueOnceWhenFallingBackToDictionary() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Trade, Number> dayOrVolume = trade -> {
+            calls.incrementAndGet();
+            return trade.getDay() < 3 ? (Number) trade.getDay() : (Number) trade.getVolume();
+        };
+        ColumnarSource<Trade> mixed = columnar(trades, dayOrVolume);
+
+        assertEquals(5, calls.get());
+        assertEquals(asList(b, c), from(mixed).where(equalTo(dayOrVolume, 2)).select());
+        assertEquals(asList(d), from(mixed).where(equalTo(dayOrVolume, 300L)).select());
+    }
+
+    @Test
+    public void shouldCombineColumnsAndTouchOnlyMatchingRows() {
+        List<Trade> result = from(source) //
+                .where(atMost(DAY, 3)) //
+                .and(equalTo(VENUE, "XETRA")) //
+                .and(this::touch) //
+                .select();
+
+        assertEquals(asList(a, c), result);
+        assertEquals(2, touched.get());
+    }
+
+    @Test
+    public void shouldUniteColumnsForDisjunction() {
+        List<Trade> result = from(source) //
+                .where(equalTo(VENUE, "LSE")) //
+                .or(atLeast(VOLUME, 300L)) //
+                .and(this::touch) //
+                .select();
+
+        assertEquals(asList(d, e), result);
+        assertEquals(2, touched.get());
+    }
+
+    @Test
+    public void shouldTestOtherConditionsOnEachCandidate() {
+        assertEquals(asList(c), from(source).where(equalTo(VENUE, "XETRA")).and(t -> t.getVolume() < 100).select());
+        assertEquals(asList(b, c, e), from(source).where(equalTo(DAY, 2)).or(equalTo(VENUE, "LSE")).select());
+    }
+
+    @Test
+    public void shouldIgnoreConditionsWithoutColumn() {
+        Function<Trade, Integer> otherDay = Trade::getDay;
+
+        assertEquals(asList(b, c), from(source).where(equalTo(otherDay, 2)).select());
+        assertEquals(asList(b, c), from(source).where(between(DAY, 1, 3)::test).and(equalTo(DAY, 2)).select());
+    }
+
+    @Test
+    public void shouldBehaveLikeLambdasOnOtherSources() {
+        assertEquals(asList(b, c, d), from(trades).where(between(DAY, 2, 4)).select());
+        assertEquals(asList(c, d), from(trades).where(atMost(RATING, 2)).select());
+    }
+
+    @Test
+    public void shouldExplainColumns() {
+        assertEquals("columns: candidates of 5 rows",
+                from(source).where(equalTo(DAY, 2)).explain().getSteps().get(0));
+    }
+
+    @Test
+    public void shouldMatchFilteringObjectsOnLargeSource() {
+        Random random = new Random(42);
+        List<Trade> many = IntStream.range(0, 10_000) //
+                .mapToObj(i -> new Trade(random.nextInt(365), random.nextInt(1000), random.nextDouble(),
+                        "V" + random.nextInt(20), random.nextInt(5))) //
+                .collect(Collectors.toList());
+        ColumnarSource<Trade> columns = columnar(many, DAY, VOLUME, VENUE);
+
+        assertEquals(from(many).where(t -> t.getDay() >= 30 && t.getDay() <= 60 && t.getVenue().equals("V7")).select(),
+                from(columns).where(between(DAY, 30, 60)).and(equalTo(VENUE, "V7")).select());
+        assertEquals(from(many).where(t -> t.getVolume() >= 900).count(),
+                from(columns).where(atLeast(VOLUME, 900L)).count());
+    }
+
+    @Value
+    private static class Trade {
+        int day;
+        long volume;
+        double price;
+        String venue;
+        Integer rating;
+    }
+}
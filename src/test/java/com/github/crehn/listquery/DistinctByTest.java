@@ -0,0 +1,92 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class DistinctByTest {
+
+    private List<String> words = asList("apple", "avocado", "banana", "cherry", "blueberry", "apricot", "date");
+    private List<String> linkedWords = new LinkedList<>(words);
+    private AtomicInteger mapped = new AtomicInteger();
+
+    private String map(String word) {
+        mapped.incrementAndGet();
+        return word.toUpperCase();
+    }
+
+    @Test
+    public void shouldKeepFirstElementPerKey() {
+        assertEquals(asList("apple", "banana", "cherry", "date"), from(words).distinctBy(w -> w.charAt(0)).select());
+        assertEquals(asList("apple", "banana", "cherry", "date"),
+                from(linkedWords).distinctBy(w -> w.charAt(0)).select());
+    }
+
+    @Test
+    public void shouldNotMapDuplicates() {
+        assertEquals(asList("APPLE", "BANANA", "CHERRY", "DATE"),
+                from(words).distinctBy(w -> w.charAt(0)).select(this::map));
+        assertEquals(4, mapped.get());
+    }
+
+    @Test
+    public void shouldNotMapDuplicatesWhenOrdered() {
+        List<String> result = from(linkedWords).orderBy((String w) -> w.length()).distinctBy(w -> w.charAt(0))
+                .select(this::map);
+
+        assertEquals(asList("DATE", "APPLE", "BANANA", "CHERRY"), result);
+        assertEquals(4, mapped.get());
+    }
+
+    @Test
+    public void shouldLimitBeforeRemovingDuplicatesByKey() {
+        assertEquals(asList("apple", "banana"), from(words).limit(3).distinctBy(w -> w.charAt(0)).select());
+    }
+
+    @Test
+    public void shouldPageAfterRemovingDuplicatesByKey() {
+        assertEquals(asList("cherry", "date"),
+                from(words).distinctBy(w -> w.charAt(0)).select(Paging.page(2).eachContaining(2)));
+        assertEquals(4, from(words).distinctBy(w -> w.charAt(0)).count());
+    }
+
+    @Test
+    public void shouldKeepFirstElementPerKeyInParallel() {
+        List<Integer> numbers = IntStream.range(0, 50_000).boxed().collect(Collectors.toList());
+
+        assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()),
+                from(numbers).parallel(ForkJoinPool.commonPool(), 1000).distinctBy(n -> n % 100).select());
+    }
+
+    @Test
+    public void shouldRemoveDuplicatesAfterSorting() {
+        List<String> withDuplicates = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            withDuplicates.add("" + (i * 37) % 50);
+
+        List<String> expected = new ArrayList<>(new LinkedHashSet<>(withDuplicates));
+        expected.sort(Comparator.comparing(String::length));
+
+        assertEquals(expected, from(withDuplicates).orderBy(String::length).distinct().select(s -> s));
+    }
+
+    @Test
+    public void shouldAddKeysToKeySet() {
+        KeySet keys = new KeySet();
+
+        for (int i = 0; i < 1000; i++)
+            assertTrue(keys.add(i));
+        assertTrue(keys.add(null));
+        for (int i = 0; i < 1000; i++)
+            assertFalse(keys.add(i));
+        assertFalse(keys.add(null));
+    }
+}
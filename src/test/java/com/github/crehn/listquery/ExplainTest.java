@@ -0,0 +1,140 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.Conditions.equalTo;
+import static com.github.crehn.listquery.IndexedSource.index;
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static java.util.Comparator.reverseOrder;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class ExplainTest {
+
+    private List<Integer> numbers = IntStream.range(0, 100).map(i -> (i * 37) % 100).boxed()
+            .collect(Collectors.toList());
+    private static final Function<Integer, Integer> LAST_DIGIT = n -> n % 10;
+
+    private TreeSet<Integer> sorted = new TreeSet<>(numbers);
+
+    @Test
+    public void shouldExplainUnorderedLoop() {
+        assertEquals(asList("scan: indexed loop over 100 rows", "filter", "limit 5", "map"),
+                from(numbers).where(n -> n % 2 == 0).limit(5).explain().getSteps());
+        assertEquals(asList("scan: stream over 100 elements", "filter", "map", "distinct: hash set",
+                "page: skip 10, take 10"),
+                from(new LinkedList<>(numbers)).distinct().explain(page(2).eachContaining(10)).getSteps());
+    }
+
+    @Test
+    public void shouldExplainTopK() {
+        assertEquals(asList("scan: indexed loop over 100 rows", "filter", "map", "sort: top-k heap of 20",
+                "page: skip 10, take 10"),
+                from(numbers).ordered().explain(page(2).eachContaining(10)).getSteps());
+    }
+
+    @Test
+    public void shouldExplainFullSortWithSortDedupe() {
+        assertEquals(asList("scan: indexed loop over 100 rows", "filter", "map", "sort: full sort",
+                "distinct: sort-dedupe", "limit 80"),
+                from(numbers).orderBy((Integer n) -> n).distinct().limit(80).explain(n -> n).getSteps());
+    }
+
+    @Test
+    public void shouldUseMinScanForFirstElement() {
+        assertEquals(asList("scan: indexed loop over 100 rows", "filter", "map", "sort: min scan"),
+                from(numbers).ordered().limit(1).explain().getSteps());
+        assertEquals(asList(0), from(numbers).ordered().limit(1).select());
+        assertEquals(Optional.of(99), from(numbers).orderBy(Comparator.<Integer> reverseOrder()).selectFirst(n -> n));
+        assertEquals(Optional.of(1), from(numbers).where(n -> n % 2 == 1).ordered().selectFirst());
+        assertEquals(asList(), from(numbers).ordered().limit(1).select(page(2).eachContaining(1)));
+    }
+
+    @Test
+    public void shouldKeepFirstOfEqualElementsInMinScan() {
+        List<String> words = asList("pear", "fig", "kiwi", "date", "yam");
+
+        assertEquals(Optional.of("fig"), from(words).orderBy(String::length).selectFirst(w -> w));
+    }
+
+    @Test
+    public void shouldSkipSortingSortedSource() {
+        assertEquals(asList("scan: stream over 100 elements", "filter", "map",
+                "sort: skipped, the source is sorted; stop after 5"),
+                from(sorted).ordered().limit(5).explain().getSteps());
+        assertEquals(asList(0, 2, 4, 6, 8), from(sorted).where(n -> n % 2 == 0).ordered().limit(5).select());
+        assertEquals(asList(9, 10, 11), from(sorted).ordered().select(page(4).eachContaining(3)));
+    }
+
+    @Test
+    public void shouldSkipSortingSetSortedByQueryComparator() {
+        Comparator<Integer> descending = reverseOrder();
+        TreeSet<Integer> reversed = new TreeSet<>(descending);
+        reversed.addAll(numbers);
+
+        assertTrue(from(reversed).orderBy(descending).explain(Function.identity()).toString()
+                .endsWith("sort: skipped, the source is sorted"));
+        assertEquals(asList(99, 98, 97), from(reversed).orderBy(descending).limit(3).select(Function.identity()));
+    }
+
+    @Test
+    public void shouldSortSortedSourceWhenMapped() {
+        assertEquals(asList("scan: stream over 100 elements", "filter", "map", "sort: full sort"),
+                from(sorted).orderBy(Comparator.<Integer> naturalOrder()).explain(n -> -n).getSteps());
+        assertEquals(asList(-99, -98), from(sorted).ordered().select(n -> -n, page(1).eachContaining(2)));
+    }
+
+    @Test
+    public void shouldExplainIndexAndOptions() {
+        IndexedSource<Integer> indexed = index(numbers, LAST_DIGIT);
+
+        assertEquals(asList("index: candidates of 100 rows", "scan: indexed loop over the candidates", "filter", "map"),
+                from(indexed).where(equalTo(LAST_DIGIT, 3)).explain().getSteps());
+        assertEquals(asList("scan: parallel stream over 100 elements", "filter", "map", "sort: full sort"),
+                from(numbers).parallel(ForkJoinPool.commonPool(), 10).ordered().explain().getSteps());
+        assertEquals("filter: adaptive order of conditions",
+                from(numbers).adaptive().where(n -> n > 3).explain().getSteps().get(1));
+        assertTrue(from(numbers).cached(new QueryCache(1), "all", 2).explain().getSteps().get(0)
+                .startsWith("cache: all, version 2"));
+    }
+
+    @Test
+    public void shouldExplainWithoutExecuting() {
+        AtomicInteger calls = new AtomicInteger();
+        IndexedSource<Integer> indexed = index(numbers, LAST_DIGIT);
+
+        List<String> steps = from(indexed).where(equalTo(LAST_DIGIT, 3)).and(n -> calls.incrementAndGet() > 0)
+                .orderBy(Comparator.<Integer> naturalOrder()).explain(n -> calls.incrementAndGet()).getSteps();
+
+        assertEquals(asList("index: candidates of 100 rows", "scan: indexed loop over the candidates", "filter", "map",
+                "sort: full sort"), steps);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void shouldExplainKeysetSeek() {
+        assertEquals("seek: past 41 in the sorted source",
+                from(sorted).ordered().explain(Paging.after(41).eachContaining(3)).getSteps().get(0));
+        assertEquals(asList(42, 43, 44), from(sorted).ordered().select(Paging.after(41).eachContaining(3)));
+    }
+
+    @Test
+    public void shouldExplainGroupBy() {
+        assertEquals(asList("scan: indexed loop over 100 rows", "filter", "map",
+                "group: hash map of one accumulator per key"),
+                from(numbers).groupBy(n -> n % 3).explain().getSteps());
+    }
+
+    @Test
+    public void shouldExplainAsLines() {
+        assertEquals("scan: indexed loop over 100 rows\nfilter\nmap", from(numbers).explain().toString());
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.*;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class GroupByTest {
+
+    private List<String> words = asList("apple", "avocado", "banana", "cherry", "date", "blueberry", "cranberry");
+    private List<String> linkedWords = new LinkedList<>(words);
+    private List<Integer> numbers = IntStream.range(0, 50_000).boxed().collect(Collectors.toList());
+
+    private static Map<Character, Long> counts(Object... keysAndValues) {
+        Map<Character, Long> result = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2)
+            result.put((Character) keysAndValues[i], ((Number) keysAndValues[i + 1]).longValue());
+        return result;
+    }
+
+    @Test
+    public void shouldCount() {
+        Map<Character, Long> expected = counts('a', 2, 'b', 2, 'c', 2, 'd', 1);
+
+        assertEquals(expected, from(words).groupBy(w -> w.charAt(0)).count());
+        assertEquals(expected, from(linkedWords).groupBy(w -> w.charAt(0)).count());
+    }
+
+    @Test
+    public void shouldCountFiltered() {
+        assertEquals(counts('b', 1, 'c', 2), from(words).where(w -> w.length() > 5).and(w -> w.contains("r"))
+                .groupBy(w -> w.charAt(0)).count());
+    }
+
+    @Test
+    public void shouldSum() {
+        assertEquals(counts('a', 12, 'b', 15, 'c', 15, 'd', 4),
+                from(words).groupBy(w -> w.charAt(0)).sum(String::length));
+    }
+
+    @Test
+    public void shouldAverage() {
+        Map<Character, Double> result = from(words).groupBy(w -> w.charAt(0)).avg(String::length);
+
+        assertEquals(6.0, result.get('a'), 0.0);
+        assertEquals(7.5, result.get('b'), 0.0);
+    }
+
+    @Test
+    public void shouldFindMinAndMax() {
+        assertEquals("apple", from(words).groupBy(w -> w.charAt(0)).min(w -> w).get('a'));
+        assertEquals("cranberry", from(words).groupBy(w -> w.charAt(0)).max(w -> w).get('c'));
+        assertEquals(Integer.valueOf(4), from(linkedWords).groupBy(w -> w.charAt(0)).min(String::length).get('d'));
+    }
+
+    @Test
+    public void shouldAggregateWithCollector() {
+        Map<Character, String> result = from(words).groupBy(w -> w.charAt(0)).aggregate(joining("+"));
+
+        assertEquals("banana+blueberry", result.get('b'));
+    }
+
+    @Test
+    public void shouldGroupSameInParallel() {
+        ListQuery.ListQueryWithFrom<Integer> parallel = from(numbers).parallel(ForkJoinPool.commonPool(), 1000);
+
+        assertEquals(numbers.stream().collect(groupingBy(n -> n % 7, counting())),
+                parallel.groupBy(n -> n % 7).count());
+        assertEquals(numbers.stream().collect(groupingBy(n -> n % 7, summingLong(n -> n))),
+                parallel.groupBy(n -> n % 7).sum(n -> n));
+        assertEquals(numbers.stream().collect(groupingBy(n -> n % 7, averagingDouble(n -> n))),
+                parallel.groupBy(n -> n % 7).avg(n -> n));
+        assertEquals(numbers.stream().collect(groupingBy(n -> n % 7, reducing(Integer.MAX_VALUE, Math::min))),
+                parallel.groupBy(n -> n % 7).min(n -> n));
+        assertEquals(numbers.stream().collect(groupingBy(n -> n % 7, toList())),
+                parallel.groupBy(n -> n % 7).aggregate(toList()));
+    }
+
+    @Test
+    public void shouldGroupEmpty() {
+        assertEquals(Collections.emptyMap(), from(words).where(w -> w.isEmpty()).groupBy(w -> w.charAt(0)).count());
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.Conditions.equalTo;
+import static com.github.crehn.listquery.IndexedSource.index;
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import lombok.Value;
+
+public class IndexedSourceTest {
+
+    private static final Function<Customer, String> COUNTRY = Customer::getCountry;
+    private static final Function<Customer, Integer> AGE = Customer::getAge;
+
+    private Customer alice = new Customer("Alice", "UK", 42);
+    private Customer bob = new Customer("Bob", "US", 23);
+    private Customer clara = new Customer("Clara", "UK", 23);
+    private Customer dave = new Customer("Dave", "DE", 37);
+    private Customer erin = new Customer("Erin", "UK", 37);
+    private List<Customer> customers = asList(alice, bob, clara, dave, erin);
+
+    private IndexedSource<Customer> source = index(customers, COUNTRY, AGE);
+    private AtomicInteger tested = new AtomicInteger();
+
+    @Test
+    public void shouldBehaveLikeTheIndexedCollection() {
+        assertEquals(customers, source);
+        assertEquals(customers, from(source).select());
+    }
+
+    @Test
+    public void shouldLookUpEquality() {
+        List<Customer> result = from(source) //
+                .where(equalTo(COUNTRY, "UK")) //
+                .and(this::count) //
+                .select();
+
+        assertEquals(asList(alice, clara, erin), result);
+        assertEquals(3, tested.get());
+    }
+
+    @Test
+    public void shouldUseMostSelectiveIndex() {
+        List<Customer> result = from(source) //
+                .where(equalTo(COUNTRY, "UK")) //
+                .and(equalTo(AGE, 42)) //
+                .and(this::count) //
+                .select();
+
+        assertEquals(asList(alice), result);
+        assertEquals(1, tested.get());
+    }
+
+    @Test
+    public void shouldCombineIndexWithOtherClauses() {
+        List<String> result = from(source) //
+                .where(equalTo(COUNTRY, "UK")) //
+                .orderBy(String::length) //
+                .limit(2) //
+                .select(Customer::getName);
+
+        assertEquals(asList("Erin", "Alice"), result);
+    }
+
+    @Test
+    public void shouldFindNothingForUnknownKey() {
+        assertEquals(asList(), from(source).where(equalTo(COUNTRY, "FR")).select());
+        assertEquals(Optional.empty(), from(source).where(equalTo(COUNTRY, "FR")).selectFirst());
+    }
+
+    @Test
+    public void shouldScanForDisjunction() {
+        List<Customer> result = from(source) //
+                .where(equalTo(COUNTRY, "DE")) //
+                .or(equalTo(AGE, 42)) //
+                .and(this::count) //
+                .select();
+
+        assertEquals(asList(alice, dave), result);
+        assertEquals(2, tested.get());
+    }
+
+    @Test
+    public void shouldUniteIndexedRowsForDisjunction() {
+        assertEquals("index: candidates of 5 rows", from(source) //
+                .where(equalTo(COUNTRY, "DE")) //
+                .or(equalTo(AGE, 42)) //
+                .explain().getSteps().get(0));
+    }
+
+    @Test
+    public void shouldIntersectIndexedRows() {
+        List<Customer> result = from(source) //
+                .where(equalTo(COUNTRY, "UK")) //
+                .and(equalTo(AGE, 23).or(equalTo(AGE, 37))) //
+                .and(this::count) //
+                .select();
+
+        assertEquals(asList(clara, erin), result);
+        assertEquals(2, tested.get());
+    }
+
+    @Test
+    public void shouldScanDisjunctionWithUnindexedOperand() {
+        assertEquals("scan: indexed loop over 5 rows", from(source) //
+                .where(equalTo(COUNTRY, "DE")) //
+                .or(customer -> customer.getAge() > 40) //
+                .explain().getSteps().get(0));
+    }
+
+    @Test
+    public void shouldScanForUnindexedGetter() {
+        List<Customer> result = from(source) //
+                .where(equalTo(Customer::getCountry, "UK")) //
+                .and(this::count) //
+                .select();
+
+        assertEquals(asList(alice, clara, erin), result);
+        assertEquals(3, tested.get());
+    }
+
+    @Test
+    public void shouldEvaluateEqualityWithoutIndex() {
+        List<Customer> result = from(customers) //
+                .where(equalTo(COUNTRY, "DE")) //
+                .select();
+
+        assertEquals(asList(dave), result);
+    }
+
+    @Test
+    public void shouldNotReflectLaterChanges() {
+        List<Customer> list = new ArrayList<>(customers);
+        IndexedSource<Customer> snapshot = index(list, COUNTRY);
+
+        list.add(new Customer("Frank", "DE", 55));
+
+        assertEquals(asList(dave), from(snapshot).where(equalTo(COUNTRY, "DE")).select());
+    }
+
+    private boolean count(Customer customer) {
+        tested.incrementAndGet();
+        return true;
+    }
+
+    @Value
+    private static class Customer {
+        String name;
+        String country;
+        int age;
+    }
+}
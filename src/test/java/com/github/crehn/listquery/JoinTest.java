@@ -0,0 +1,107 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Pair.combining;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class JoinTest {
+
+    private List<String> words = asList("apple", "avocado", "banana", "cherry", "date", "blueberry");
+    private List<Character> letters = asList('a', 'b', 'c', 'x');
+
+    @Test
+    public void shouldJoinInOrderOfLargerCollection() {
+        List<String> result = from(words).join(letters).on(w -> w.charAt(0), l -> l)
+                .select(combining((word, letter) -> letter + ":" + word));
+
+        assertEquals(asList("a:apple", "a:avocado", "b:banana", "c:cherry", "b:blueberry"), result);
+    }
+
+    @Test
+    public void shouldJoinWhenLeftIsSmaller() {
+        List<String> result = from(letters).join(words).on(l -> l, w -> w.charAt(0))
+                .select(combining((letter, word) -> letter + ":" + word));
+
+        assertEquals(asList("a:apple", "a:avocado", "b:banana", "c:cherry", "b:blueberry"), result);
+    }
+
+    @Test
+    public void shouldLeftJoin() {
+        List<String> result = from(letters).leftJoin(words).on(l -> l, w -> w.charAt(0))
+                .select(combining((letter, word) -> letter + ":" + word));
+
+        assertEquals(asList("a:apple", "a:avocado", "b:banana", "b:blueberry", "c:cherry", "x:null"), result);
+    }
+
+    @Test
+    public void shouldFilterAndOrderPairs() {
+        List<String> result = from(words).join(letters).on(w -> w.charAt(0), l -> l)
+                .where(pair -> pair.getRight() != 'c')
+                .orderBy((String word) -> word.length())
+                .select(Pair::getLeft);
+
+        assertEquals(asList("apple", "banana", "avocado", "blueberry"), result);
+    }
+
+    @Test
+    public void shouldNotMatchNullKeys() {
+        List<String> withNull = asList("a", null);
+
+        assertEquals(1, from(withNull).join(withNull).on(s -> s, s -> s).select().size());
+        assertEquals(2, from(withNull).leftJoin(withNull).on(s -> s, s -> s).select().size());
+    }
+
+    @Test
+    public void shouldCountPairs() {
+        assertEquals(5, from(words).join(letters).on(w -> w.charAt(0), l -> l).select().size());
+        assertEquals(5, from(words).join(letters).on(w -> w.charAt(0), l -> l)
+                .orderBy((Pair<String, Character> p) -> p.getLeft()).limit(10).select(p -> p).size());
+    }
+
+    @Test
+    public void shouldJoinInParallel() {
+        List<Integer> numbers = IntStream.range(0, 50_000).boxed().collect(Collectors.toList());
+        List<Integer> remainders = asList(0, 1, 2);
+
+        List<Integer> result = from(numbers).parallel(ForkJoinPool.commonPool(), 1000) //
+                .join(remainders).on(n -> n % 7, r -> r) //
+                .select(Pair::getLeft);
+
+        assertEquals(from(numbers).where(n -> n % 7 < 3).select(), result);
+    }
+
+    @Test
+    public void shouldJoinOnlyOnceForOrderedQuery() {
+        AtomicInteger probed = new AtomicInteger();
+
+        List<String> result = from(words).join(letters).on(w -> {
+            probed.incrementAndGet();
+            return w.charAt(0);
+        }, l -> l).orderBy((String word) -> word).limit(2).select(Pair::getLeft);
+
+        assertEquals(asList("apple", "avocado"), result);
+        assertEquals(words.size(), probed.get());
+    }
+
+    @Test
+    public void shouldExplainJoinWithoutJoining() {
+        AtomicInteger probed = new AtomicInteger();
+
+        List<String> steps = from(words).join(letters).on(w -> {
+            probed.incrementAndGet();
+            return w.charAt(0);
+        }, l -> l).explain().getSteps();
+
+        assertEquals("scan: stream over the pairs of the join", steps.get(0));
+        assertEquals(0, probed.get());
+    }
+}
@@ -2,6 +2,7 @@ package com.github.crehn.listquery;
 
 import static com.github.crehn.listquery.Just.*;
 import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.util.List;
@@ -27,6 +28,20 @@ public class JustTest {
         assertEquals(asList(2, 3, 4, 5, 6), result);
     }
 
+    @Test
+    public void shouldJustMapToArray() {
+        String[] result = mapToArray(list, e -> "#" + e, String[]::new);
+
+        assertArrayEquals(new String[] { "#1", "#2", "#3", "#4", "#5" }, result);
+    }
+
+    @Test
+    public void shouldJustMapArrayToArray() {
+        String[] result = mapToArray(array, e -> "#" + e, String[]::new);
+
+        assertArrayEquals(new String[] { "#1", "#2", "#3", "#4", "#5" }, result);
+    }
+
     @Test
     public void shouldJustFilter() {
         List<Integer> result = filter(list, e -> e > 2);
@@ -41,6 +56,27 @@ public class JustTest {
         assertEquals(asList(3, 4, 5), result);
     }
 
+    @Test
+    public void shouldJustFilterToArray() {
+        Integer[] result = filterToArray(list, e -> e % 2 == 1, Integer[]::new);
+
+        assertArrayEquals(new Integer[] { 1, 3, 5 }, result);
+    }
+
+    @Test
+    public void shouldJustFilterArrayToArray() {
+        Integer[] result = filterToArray(array, e -> e % 2 == 1, Integer[]::new);
+
+        assertArrayEquals(new Integer[] { 1, 3, 5 }, result);
+    }
+
+    @Test
+    public void shouldJustFilterArrayToEmptyArray() {
+        Integer[] result = filterToArray(array, e -> e > 5, Integer[]::new);
+
+        assertArrayEquals(new Integer[0], result);
+    }
+
     @Test
     public void shouldJustJoin() {
         String result = join(list, ", ");
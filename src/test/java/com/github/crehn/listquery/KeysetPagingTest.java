@@ -0,0 +1,89 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.after;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class KeysetPagingTest {
+
+    private List<String> words = asList("pear", "fig", "banana", "apple", "kiwi", "cherry", "date", "plum");
+
+    @Test
+    public void shouldSelectPageAfterKey() {
+        assertEquals(asList("date", "fig", "kiwi"), from(words).ordered().select(after("cherry").eachContaining(3)));
+        assertEquals(asList("pear", "plum"), from(words).ordered().select(after("kiwi").eachContaining(3)));
+        assertEquals(asList(), from(words).ordered().select(after("plum").eachContaining(3)));
+    }
+
+    @Test
+    public void shouldSelectPageAfterKeyOfGetter() {
+        List<String> result = from(words).where(w -> !w.startsWith("p")).orderBy(String::length)
+                .select(w -> w, after(3).eachContaining(3));
+
+        assertEquals(asList("kiwi", "date", "apple"), result);
+    }
+
+    @Test
+    public void shouldSelectPageAfterKeyOfIntGetter() {
+        List<String> result = from(words).orderByInt(String::length)
+                .select(w -> w, after(4).eachContaining(10));
+
+        assertEquals(asList("apple", "banana", "cherry"), result);
+    }
+
+    @Test
+    public void shouldSelectSameAsOffsetPaging() {
+        List<Integer> numbers = IntStream.range(0, 1000).map(i -> (i * 7919) % 1000).boxed()
+                .collect(Collectors.toList());
+
+        Integer last = from(numbers).orderBy((Integer e) -> e).select(e -> e, page(30).eachContaining(10)).get(9);
+
+        assertEquals(from(numbers).orderBy((Integer e) -> e).select(e -> e, page(31).eachContaining(10)),
+                from(numbers).orderBy((Integer e) -> e).select(e -> e, after(last).eachContaining(10)));
+    }
+
+    @Test
+    public void shouldSeekInSortedSet() {
+        AtomicInteger tests = new AtomicInteger();
+        TreeSet<Integer> sorted = IntStream.range(0, 10_000).boxed().collect(Collectors.toCollection(TreeSet::new));
+
+        List<Integer> result = from(sorted).where(e -> tests.incrementAndGet() > 0 && e % 2 == 0).ordered()
+                .select(after(5000).eachContaining(3));
+
+        assertEquals(asList(5002, 5004, 5006), result);
+        assertEquals(6, tests.get());
+    }
+
+    @Test
+    public void shouldCacheSeekInSortedSet() {
+        AtomicInteger tests = new AtomicInteger();
+        TreeSet<Integer> sorted = IntStream.range(0, 100).boxed().collect(Collectors.toCollection(TreeSet::new));
+        QueryCache cache = new QueryCache(2);
+
+        for (int i = 0; i < 2; i++)
+            assertEquals(asList(52, 54), from(sorted).cached(cache, "even", 1) //
+                    .where(e -> tests.incrementAndGet() > 0 && e % 2 == 0).ordered() //
+                    .select(after(50).eachContaining(2)));
+
+        assertEquals(4, tests.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailForComparator() {
+        from(words).orderBy((String a, String b) -> a.compareTo(b)).select(w -> w, after("a").eachContaining(3));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailForUnorderedQuery() {
+        from(words).select(after("a").eachContaining(3));
+    }
+}
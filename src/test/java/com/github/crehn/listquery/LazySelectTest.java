@@ -0,0 +1,92 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class LazySelectTest {
+
+    private List<Integer> list = asList(7, 3, 9, 3, 1, 8, 2, 9, 5, 4);
+    private AtomicInteger tests = new AtomicInteger();
+
+    private boolean isSmall(Integer e) {
+        tests.incrementAndGet();
+        return e < 5;
+    }
+
+    @Test
+    public void shouldSelectSameAsSelect() {
+        assertEquals(from(list).where(this::isSmall).select(), from(list).where(this::isSmall).selectLazy());
+        assertEquals(from(list).distinct().select(e -> e * 2), from(list).distinct().selectLazy(e -> e * 2));
+        assertEquals(from(list).orderBy((Integer e) -> e).select(e -> e),
+                from(list).orderBy((Integer e) -> e).selectLazy(e -> e));
+    }
+
+    @Test
+    public void shouldNotEvaluateBeforeAccess() {
+        from(list).where(this::isSmall).selectLazy();
+
+        assertEquals(0, tests.get());
+    }
+
+    @Test
+    public void shouldNotEvaluateOrderedQueryBeforeAccess() {
+        List<Integer> result = from(list).where(this::isSmall).orderBy((Integer e) -> e).selectLazy(e -> e);
+
+        assertEquals(0, tests.get());
+        assertEquals(Integer.valueOf(1), result.get(0));
+        assertEquals(list.size(), tests.get());
+    }
+
+    @Test
+    public void shouldEvaluateOnlyUpToAccessedIndex() {
+        List<Integer> result = from(list).where(this::isSmall).selectLazy();
+
+        assertEquals(Integer.valueOf(3), result.get(1));
+        assertEquals(4, tests.get());
+        assertEquals(Integer.valueOf(3), result.get(0));
+        assertEquals(4, tests.get());
+    }
+
+    @Test
+    public void shouldEvaluateOnlyFirstElementForIsEmpty() {
+        List<Integer> result = from(list).where(this::isSmall).selectLazy();
+
+        assertFalse(result.isEmpty());
+        assertEquals(2, tests.get());
+    }
+
+    @Test
+    public void shouldIterateLazily() {
+        Iterator<Integer> iterator = from(list).where(this::isSmall).selectLazy().iterator();
+
+        assertEquals(Integer.valueOf(3), iterator.next());
+        assertEquals(2, tests.get());
+    }
+
+    @Test
+    public void shouldEvaluateEverythingForSize() {
+        assertEquals(5, from(list).where(this::isSmall).selectLazy().size());
+        assertEquals(list.size(), tests.get());
+    }
+
+    @Test
+    public void shouldSelectEmptyLazily() {
+        assertTrue(from(list).where(e -> e > 10).selectLazy().isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldFailForIndexAfterEnd() {
+        from(list).where(this::isSmall).selectLazy().get(5);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldBeUnmodifiable() {
+        from(list).selectLazy().add(1);
+    }
+}
@@ -0,0 +1,210 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.Conditions.*;
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.ListQuery.fromLines;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.crehn.listquery.LineParser.Field;
+
+import lombok.Value;
+
+public class LinesSourceTest {
+
+    private static final AtomicInteger BUILT = new AtomicInteger();
+    private static final LineParser<Trade> CSV = LineParser.csv(columns -> {
+        BUILT.incrementAndGet();
+        return new Trade(columns[0], Integer.parseInt(columns[1]), Long.parseLong(columns[2]));
+    }).withHeader();
+    private static final Field<Trade, String> VENUE = CSV.column(0, Trade::getVenue);
+    private static final Field<Trade, Integer> DAY = CSV.intColumn(1, Trade::getDay);
+    private static final Field<Trade, Long> VOLUME = CSV.longColumn(2, Trade::getVolume);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Trade> trades = IntStream.range(0, 1000) //
+            .mapToObj(i -> new Trade("venue " + i % 7, i % 30, i * 7L % 1000)) //
+            .collect(Collectors.toList());
+
+    private Path write(String content) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private Path write(List<Trade> records) throws IOException {
+        return write("venue,day,volume\n" + records.stream() //
+                .map(t -> t.getVenue() + "," + t.getDay() + "," + t.getVolume() + "\n") //
+                .collect(Collectors.joining()));
+    }
+
+    @Test
+    public void shouldReadAllLines() throws IOException {
+        Path file = write(trades);
+
+        assertEquals(trades, fromLines(file, CSV).select());
+        assertEquals(1000, fromLines(file, CSV).count());
+    }
+
+    @Test
+    public void shouldSplitQuotedColumns() throws IOException {
+        Path file = write("venue,day,volume\r\n\"Frankfurt, \"\"Xetra\"\"\",1,2\r\n\r\nLondon,3,4");
+
+        assertEquals(asList(new Trade("Frankfurt, \"Xetra\"", 1, 2), new Trade("London", 3, 4)),
+                fromLines(file, CSV).select());
+        assertEquals(2, fromLines(file, CSV).count());
+    }
+
+    @Test
+    public void shouldSplitTabSeparatedLines() throws IOException {
+        Path file = write("a\t1\t2\n\"b\t3\t4\n");
+        LineParser<Trade> tsv = LineParser.tsv(c -> new Trade(c[0], Integer.parseInt(c[1]), Long.parseLong(c[2])));
+
+        assertEquals(asList(new Trade("a", 1, 2), new Trade("\"b", 3, 4)), fromLines(file, tsv).select());
+    }
+
+    @Test
+    public void shouldCreateOnlyElementsSatisfyingFieldConditions() throws IOException {
+        Path file = write(trades);
+        BUILT.set(0);
+
+        List<Trade> result = fromLines(file, CSV).where(between(DAY, 3, 5)).and(equalTo(VENUE, "venue 2")).select();
+
+        assertEquals(ListQuery.from(trades) //
+                .where(t -> t.getDay() >= 3 && t.getDay() <= 5 && t.getVenue().equals("venue 2")) //
+                .select(), result);
+        assertEquals(result.size(), BUILT.get());
+    }
+
+    @Test
+    public void shouldCombineFieldAndOtherConditions() throws IOException {
+        Path file = write(trades);
+        BUILT.set(0);
+
+        List<Trade> result = fromLines(file, CSV) //
+                .where(atLeast(VOLUME, 990L)) //
+                .and(t -> t.getDay() % 2 == 0) //
+                .select();
+
+        assertEquals(ListQuery.from(trades).where(t -> t.getVolume() >= 990 && t.getDay() % 2 == 0).select(), result);
+        assertEquals(ListQuery.from(trades).where(t -> t.getVolume() >= 990).count(), BUILT.get());
+    }
+
+    @Test
+    public void shouldCreateAllElementsForDisjunctionWithOtherConditions() throws IOException {
+        Path file = write(trades);
+        BUILT.set(0);
+
+        long count = fromLines(file, CSV).where(equalTo(DAY, 3)).or(t -> t.getVolume() == 7).count();
+
+        assertEquals(ListQuery.from(trades).where(t -> t.getDay() == 3 || t.getVolume() == 7).count(), count);
+        assertEquals(1000, BUILT.get());
+    }
+
+    @Test
+    public void shouldKeepLinesWithColumnsThatAreNotNumbers() throws IOException {
+        Path file = write("venue,day,volume\na, 1 ,2\nb,x,3\nc\n");
+        LineParser<Trade> lenient = LineParser.csv(c -> new Trade(c[0], c.length > 1 && c[1].trim().equals("1") ? 1 : 2,
+                0L)).withHeader();
+        Field<Trade, Integer> day = lenient.intColumn(1, Trade::getDay);
+
+        assertEquals(asList("b", "c"), fromLines(file, lenient).where(equalTo(day, 2)).select(Trade::getVenue));
+    }
+
+    @Test
+    public void shouldIgnoreFieldsOfOtherParsers() throws IOException {
+        Path file = write(trades);
+        Field<Trade, Integer> day = CSV.withHeader().intColumn(1, Trade::getDay);
+
+        assertEquals(34, fromLines(file, CSV).where(equalTo(day, 3)).count());
+        assertEquals(asList("scan: stream over the lines of the file", "filter", "map"),
+                fromLines(file, CSV).where(equalTo(day, 3)).explain().getSteps());
+    }
+
+    @Test
+    public void shouldExplainFieldConditions() throws IOException {
+        Path file = write(trades);
+
+        assertEquals(asList("fields: conditions tested on the split lines before creating the elements",
+                "scan: stream over the lines of the file", "filter", "map"),
+                fromLines(file, CSV).where(equalTo(DAY, 3)).explain().getSteps());
+    }
+
+    @Test
+    public void shouldSortPageWithoutCountingTheLines() throws IOException {
+        Path file = write(trades);
+
+        // the 34 candidates are not counted, so a page ending after half of them still uses a bounded heap
+        assertEquals("sort: top-k heap of 30", fromLines(file, CSV).where(equalTo(DAY, 7)).orderBy(Trade::getVolume)
+                .explain(t -> t, page(1).eachContaining(30)).getSteps().get(4));
+        assertEquals(from(trades).where(t -> t.getDay() == 7).orderBy(Trade::getVolume)
+                .select(t -> t, page(1).eachContaining(30)),
+                fromLines(file, CSV).where(equalTo(DAY, 7)).orderBy(Trade::getVolume)
+                        .select(t -> t, page(1).eachContaining(30)));
+    }
+
+    @Test
+    public void shouldSortHugePageOfSmallFile() throws IOException {
+        Path file = write(trades.subList(0, 300));
+
+        assertEquals(from(trades.subList(0, 300)).orderBy(Trade::getVolume).select(t -> t),
+                fromLines(file, CSV).orderBy(Trade::getVolume).select(t -> t, page(1).eachContaining(500_000_000)));
+    }
+
+    @Test
+    public void shouldCreateElementsLazily() throws IOException {
+        Path file = write(trades);
+        BUILT.set(0);
+
+        Iterator<Trade> iterator = fromLines(file, CSV).where(equalTo(VENUE, "venue 3")).iterator();
+
+        assertEquals(trades.get(3), iterator.next());
+        assertEquals(1, BUILT.get());
+    }
+
+    @Test
+    public void shouldQueryInParallel() throws IOException {
+        List<Trade> many = IntStream.range(0, 100_000) //
+                .mapToObj(i -> new Trade("venue " + i % 7, i % 30, (long) i)) //
+                .collect(Collectors.toList());
+        Path file = write(many);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        assertEquals(many, fromLines(file, CSV).parallel(pool, 1).select());
+        assertEquals(ListQuery.from(many).where(t -> t.getDay() == 3).select(),
+                fromLines(file, CSV).parallel(pool, 1).where(equalTo(DAY, 3)).select());
+        assertEquals("scan: parallel stream over the lines of the file, split at line boundaries",
+                fromLines(file, CSV).parallel(pool, 1).where(equalTo(DAY, 3)).explain().getSteps().get(1));
+        pool.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectCharsetsWithMultiByteLineBreaks() {
+        CSV.withCharset(StandardCharsets.UTF_16);
+    }
+
+    @Value
+    public static class Trade {
+        String venue;
+        int day;
+        long volume;
+    }
+}
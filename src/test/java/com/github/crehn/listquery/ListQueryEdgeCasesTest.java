@@ -3,10 +3,11 @@ package com.github.crehn.listquery;
 import static com.github.crehn.listquery.ListQuery.from;
 import static com.github.crehn.listquery.Paging.page;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
@@ -24,6 +25,12 @@ public class ListQueryEdgeCasesTest {
         assertEquals(asList(0, 1, 2), result);
     }
 
+    @Test
+    public void shouldSelectEverythingWithoutPaging() {
+        assertEquals(list, from(list).select((Paging) null));
+        assertEquals(list, from(list).ordered().select((Paging) null));
+    }
+
     @Test
     public void shouldOrderAndSelectFirst() {
         Collections.shuffle(list);
@@ -126,6 +133,56 @@ public class ListQueryEdgeCasesTest {
         assertEquals(asList(3), result);
     }
 
+    @Test
+    public void shouldPageTheOrderedResult() {
+        List<Integer> result = from(asList(5, 1, 4, 2, 3)) //
+                .orderBy(Integer::intValue) //
+                .select(e -> e * 10, page(2).eachContaining(2));
+
+        assertEquals(asList(30, 40), result);
+    }
+
+    @Test
+    public void shouldLimitTheOrderedResult() {
+        List<Integer> result = from(asList(5, 1, 4, 2, 3)) //
+                .ordered() //
+                .limit(2) //
+                .select();
+
+        assertEquals(asList(1, 2), result);
+    }
+
+    @Test
+    public void shouldSelectFirstOfTheOrderedResult() {
+        int result = from(asList(5, 1, 4, 2, 3)) //
+                .orderBy((Integer e1, Integer e2) -> e2 - e1) //
+                .selectFirst(e -> e) //
+                .get();
+
+        assertEquals(5, result);
+    }
+
+    @Test
+    public void shouldPageTheOrderedResultOfLargeSources() {
+        List<Integer> shuffled = IntStream.range(0, 10_000).boxed().collect(toList());
+        Collections.shuffle(shuffled, new Random(42));
+
+        assertEquals(asList(30, 31, 32), from(shuffled).ordered().select(page(11).eachContaining(3)));
+        assertEquals(asList(30, 31, 32), from(new LinkedList<>(shuffled)).ordered().select(page(11).eachContaining(3)));
+    }
+
+    @Test
+    public void shouldKeepOrderOfEqualElementsWhenPaging() {
+        List<String> words = asList("bb", "a", "cc", "d", "ee", "f", "gg", "h", "ii", "j");
+
+        assertEquals(asList("a", "d", "f", "h"), from(words) //
+                .orderBy(String::length) //
+                .select(e -> e, page(1).eachContaining(4)));
+        assertEquals(asList("h", "j", "bb"), from(words) //
+                .orderBy(String::length) //
+                .select(e -> e, page(2).eachContaining(3)));
+    }
+
     @Test(expected = ClassCastException.class)
     public void shouldFailOrderingTheUnorderable() {
         from(asList(new Object(), new Object())) //
@@ -0,0 +1,82 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+
+import org.junit.Test;
+
+/**
+ * Queries on random access lists run as a loop, queries on other collections as a stream. Both need to return the same.
+ */
+public class ListQueryExecutionTest {
+
+    private List<Integer> arrayList = new ArrayList<>(asList(7, 3, 9, 3, 1, 8, 2, 9, 5, 4));
+    private List<Integer> linkedList = new LinkedList<>(arrayList);
+
+    @Test
+    public void shouldFilterAndLimit() {
+        assertEquals(asList(7, 9, 8), from(arrayList).where(e -> e > 5).limit(3).select());
+        assertEquals(asList(7, 9, 8), from(linkedList).where(e -> e > 5).limit(3).select());
+    }
+
+    @Test
+    public void shouldFilterMapAndPage() {
+        assertEquals(asList(10, 4), from(arrayList).where(e -> e > 2).select(e -> e + 1, page(2).eachContaining(2)));
+        assertEquals(asList(10, 4), from(linkedList).where(e -> e > 2).select(e -> e + 1, page(2).eachContaining(2)));
+    }
+
+    @Test
+    public void shouldSelectDistinctAndPage() {
+        assertEquals(asList(9, 1), from(arrayList).distinct().select(e -> e, page(2).eachContaining(2)));
+        assertEquals(asList(9, 1), from(linkedList).distinct().select(e -> e, page(2).eachContaining(2)));
+    }
+
+    @Test
+    public void shouldLimitBeforeDistinct() {
+        assertEquals(asList(7, 3, 9), from(arrayList).limit(4).distinct().select());
+        assertEquals(asList(7, 3, 9), from(linkedList).limit(4).distinct().select());
+    }
+
+    @Test
+    public void shouldOrderAndSelectFirst() {
+        assertEquals(Optional.of(1), from(arrayList).ordered().selectFirst());
+        assertEquals(Optional.of(1), from(linkedList).ordered().selectFirst());
+    }
+
+    @Test
+    public void shouldSelectFirstOfEmptyResult() {
+        assertEquals(Optional.empty(), from(arrayList).where(e -> e > 10).selectFirst());
+        assertEquals(Optional.empty(), from(linkedList).where(e -> e > 10).selectFirst());
+    }
+
+    @Test
+    public void shouldSelectFromArray() {
+        Integer[] array = arrayList.toArray(new Integer[0]);
+
+        assertEquals(asList(9, 9, 8, 7), from(array).where(e -> e > 5).orderBy((Integer e1, Integer e2) -> e2 - e1)
+                .select(e -> e));
+    }
+
+    @Test
+    public void shouldReturnModifiableList() {
+        List<Integer> result = from(arrayList).where(e -> e > 5).select();
+
+        result.add(42);
+
+        assertEquals(asList(7, 9, 8, 9, 42), result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnInvalidPageInLoop() {
+        from(arrayList).select(page(0).eachContaining(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnInvalidPageInStream() {
+        from(linkedList).select(page(0).eachContaining(2));
+    }
+}
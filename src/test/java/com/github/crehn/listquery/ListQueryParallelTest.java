@@ -0,0 +1,120 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class ListQueryParallelTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private List<Integer> list = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void shouldFilterInOrder() {
+        List<Integer> result = from(list) //
+                .parallel(POOL) //
+                .where(e -> e % 3 == 0) //
+                .select();
+
+        assertEquals(from(list).where(e -> e % 3 == 0).select(), result);
+    }
+
+    @Test
+    public void shouldOrderMapAndPage() {
+        Collections.shuffle(list, new Random(42));
+
+        List<String> result = from(list) //
+                .parallel(POOL) //
+                .where(e -> e < 1000) //
+                .orderBy(String::length) //
+                .select(String::valueOf, page(2).eachContaining(5));
+
+        assertEquals(from(list) //
+                .where(e -> e < 1000) //
+                .orderBy(String::length) //
+                .select(String::valueOf, page(2).eachContaining(5)), result);
+    }
+
+    @Test
+    public void shouldSelectDistinctInOrder() {
+        List<Integer> result = from(list) //
+                .parallel(POOL) //
+                .distinct() //
+                .select(e -> e % 10);
+
+        assertEquals(asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), result);
+    }
+
+    @Test
+    public void shouldSelectFirstInOrder() {
+        Optional<Integer> result = from(list) //
+                .parallel(POOL) //
+                .where(e -> e > 50_000) //
+                .selectFirst();
+
+        assertEquals(50_001, (int) result.get());
+    }
+
+    @Test
+    public void shouldRunInGivenPool() {
+        Set<ForkJoinPool> pools = Collections.synchronizedSet(new HashSet<>());
+
+        from(list) //
+                .parallel(POOL) //
+                .where(e -> pools.add(currentPool())) //
+                .select();
+
+        assertEquals(Collections.singleton(POOL), pools);
+    }
+
+    @Test
+    public void shouldRunSequentiallyBelowThreshold() {
+        Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+
+        from(list) //
+                .parallel(POOL, list.size() + 1) //
+                .where(e -> threads.add(Thread.currentThread())) //
+                .select();
+
+        assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    }
+
+    private static ForkJoinPool currentPool() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof ForkJoinWorkerThread ? ((ForkJoinWorkerThread) thread).getPool() : null;
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldRejectMissingPool() {
+        from(list).parallel(null);
+    }
+
+    @Test
+    public void shouldPassExceptionsToCaller() {
+        try {
+            from(list) //
+                    .parallel(POOL) //
+                    .where(e -> e / (e - 500) > 0) //
+                    .select();
+            fail("expected ArithmeticException");
+        } catch (ArithmeticException e) {
+            assertNotNull(e);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.github.crehn.listquery.ListQuery.ListQuerySelects;
+
+public class LiveQueryTest {
+
+    private static class Order {
+        private final String id;
+        private int price;
+
+        Order(String id, int price) {
+            this.id = id;
+            this.price = price;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    private static class Tagged {
+        private final String name;
+        private final int tag;
+
+        Tagged(String name, int tag) {
+            this.name = name;
+            this.tag = tag;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Tagged && name.equals(((Tagged) other).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+    private Order a = new Order("a", 30);
+    private Order b = new Order("b", 10);
+    private Order c = new Order("c", 20);
+    private Order d = new Order("d", 50);
+    private ObservableCollection<Order> orders = new ObservableCollection<>(new ArrayList<>(asList(a, b, c, d)));
+
+    private LiveQuery<Order> cheapestFirst() {
+        return from(orders).where(o -> o.price < 40).orderBy((Order o) -> o.price).selectLive(o -> o);
+    }
+
+    private List<Order> select() {
+        return from(orders).where(o -> o.price < 40).orderBy((Order o) -> o.price).select(o -> o);
+    }
+
+    @Test
+    public void shouldSelectInitialResult() {
+        assertEquals(asList(b, c, a), cheapestFirst().select());
+    }
+
+    @Test
+    public void shouldAddElement() {
+        LiveQuery<Order> live = cheapestFirst();
+
+        Order e = new Order("e", 15);
+        orders.add(e);
+        orders.add(new Order("f", 99));
+
+        assertEquals(asList(b, e, c, a), live.select());
+        assertEquals(select(), live.select());
+    }
+
+    @Test
+    public void shouldRemoveElement() {
+        LiveQuery<Order> live = cheapestFirst();
+
+        orders.remove(c);
+        orders.remove(d);
+
+        assertEquals(asList(b, a), live.select());
+    }
+
+    @Test
+    public void shouldRemoveElementWithIterator() {
+        LiveQuery<Order> live = cheapestFirst();
+
+        orders.removeIf(o -> o.price == 10);
+
+        assertEquals(asList(c, a), live.select());
+    }
+
+    @Test
+    public void shouldUpdateElement() {
+        LiveQuery<Order> live = cheapestFirst();
+
+        a.price = 5;
+        orders.update(a);
+        d.price = 25;
+        orders.update(d);
+        b.price = 45;
+        orders.update(b);
+
+        assertEquals(asList(a, c, d), live.select());
+        assertEquals(select(), live.select());
+    }
+
+    @Test
+    public void shouldKeepOrderOfEqualElements() {
+        LiveQuery<Order> live = cheapestFirst();
+
+        c.price = 30;
+        orders.update(c);
+        a.price = 30;
+        orders.update(a);
+
+        assertEquals(asList(b, a, c), live.select());
+        assertEquals(select(), live.select());
+    }
+
+    @Test
+    public void shouldKeepOrderOfCollectionWhenUnordered() {
+        LiveQuery<Order> live = from(orders).where(o -> o.price > 15).selectLive();
+
+        orders.add(b);
+        b.price = 20;
+        orders.update(b);
+
+        assertEquals(asList(a, b, c, d, b), live.select());
+    }
+
+    @Test
+    public void shouldLimitAndPage() {
+        LiveQuery<Order> live = from(orders).orderBy((Order o) -> o.price).limit(3).selectLive(o -> o);
+
+        assertEquals(asList(b, c, a), live.select());
+        assertEquals(asList(a), live.select(page(2).eachContaining(2)));
+        assertEquals(Optional.of(b), live.selectFirst());
+        assertEquals(3, live.size());
+    }
+
+    @Test
+    public void shouldStopUpdatingWhenClosed() {
+        LiveQuery<Order> live = cheapestFirst();
+
+        live.close();
+        orders.remove(b);
+
+        assertEquals(asList(b, c, a), live.select());
+    }
+
+    @Test
+    public void shouldSelectSameAsQueryAfterManyChanges() {
+        Random random = new Random(42);
+        List<Order> all = new ArrayList<>(orders);
+        LiveQuery<Order> live = cheapestFirst();
+
+        for (int i = 0; i < 2000; i++) {
+            Order order = all.get(random.nextInt(all.size()));
+            switch (random.nextInt(3)) {
+            case 0:
+                Order added = new Order("" + i, random.nextInt(50));
+                orders.add(added);
+                all.add(added);
+                break;
+            case 1:
+                orders.remove(order);
+                break;
+            default:
+                order.price = random.nextInt(50);
+                orders.update(order);
+            }
+        }
+
+        assertEquals(select(), live.select());
+        assertEquals(select().subList(10, 20), live.select(page(2).eachContaining(10)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForOtherSource() {
+        from(asList(a, b)).selectLive();
+    }
+
+    @Test
+    public void shouldRemoveFirstEqualElement() {
+        Tagged x1 = new Tagged("x", 1);
+        Tagged x3 = new Tagged("x", 3);
+        ObservableCollection<Tagged> tagged = new ObservableCollection<>(
+                new ArrayList<>(asList(x1, new Tagged("y", 2), x3)));
+        LiveQuery<Integer> live = from(tagged).selectLive(t -> t.tag);
+
+        tagged.remove(x3);
+
+        assertEquals(asList(2, 3), live.select());
+        assertEquals(from(tagged).select(t -> t.tag), live.select());
+    }
+
+    @Test
+    public void shouldRemoveInstanceWithIterator() {
+        Tagged x1 = new Tagged("x", 1);
+        Tagged x3 = new Tagged("x", 3);
+        ObservableCollection<Tagged> tagged = new ObservableCollection<>(
+                new ArrayList<>(asList(x1, new Tagged("y", 2), x3)));
+        LiveQuery<Integer> live = from(tagged).selectLive(t -> t.tag);
+
+        tagged.removeIf(t -> t == x3);
+
+        assertEquals(asList(1, 2), live.select());
+    }
+
+    @Test
+    public void shouldRemoveDuplicates() {
+        LiveQuery<Integer> live = from(orders).distinct().selectLive(o -> o.price / 20);
+
+        assertEquals(asList(1, 0, 2), live.select());
+        orders.remove(a);
+        assertEquals(asList(0, 1, 2), live.select());
+        b.price = 30;
+        orders.update(b);
+        assertEquals(asList(1, 2), live.select());
+    }
+
+    @Test
+    public void shouldLimitBeforeRemovingDuplicatesWhenUnordered() {
+        LiveQuery<Order> live = from(orders).distinctBy(o -> o.price / 20).limit(3).selectLive(o -> o);
+
+        assertEquals(asList(a, b), live.select());
+        assertEquals(2, live.size());
+        orders.remove(c);
+        assertEquals(asList(a, b, d), live.select());
+    }
+
+    @Test
+    public void shouldSelectSameAsDistinctQueriesAfterManyChanges() {
+        Random random = new Random(42);
+        List<Order> all = new ArrayList<>(orders);
+        List<Supplier<ListQuerySelects<Order>>> queries = asList( //
+                () -> from(orders).distinct().limit(8), //
+                () -> from(orders).where(o -> o.price < 40).distinctBy(o -> o.price % 7).limit(8), //
+                () -> from(orders).where(o -> o.price < 40).ordered().distinct().limit(8));
+        List<LiveQuery<Integer>> live = queries.stream() //
+                .map(query -> query.get().selectLive(o -> o.price / 3)) //
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < 2000; i++) {
+            Order order = all.get(random.nextInt(all.size()));
+            switch (random.nextInt(3)) {
+            case 0:
+                Order added = new Order("" + i, random.nextInt(50));
+                orders.add(added);
+                all.add(added);
+                break;
+            case 1:
+                orders.remove(order);
+                break;
+            default:
+                order.price = random.nextInt(50);
+                orders.update(order);
+            }
+            for (int q = 0; q < queries.size(); q++)
+                assertEquals(queries.get(q).get().select(o -> o.price / 3), live.get(q).select());
+        }
+    }
+}
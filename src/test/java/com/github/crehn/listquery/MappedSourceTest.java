@@ -0,0 +1,167 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.Conditions.*;
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.crehn.listquery.RecordLayout.Field;
+
+import lombok.Value;
+
+public class MappedSourceTest {
+
+    private static final AtomicInteger READ = new AtomicInteger();
+    private static final RecordLayout<Trade> LAYOUT = RecordLayout.of(20, (buffer, at) -> {
+        READ.incrementAndGet();
+        return new Trade(buffer.getInt(at), buffer.getLong(at + 4), buffer.getDouble(at + 12));
+    });
+    private static final Field<Trade, Integer> DAY = LAYOUT.intField(0, Trade::getDay);
+    private static final Field<Trade, Long> VOLUME = LAYOUT.longField(4, Trade::getVolume);
+    private static final Field<Trade, Double> PRICE = LAYOUT.doubleField(12, Trade::getPrice);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Trade> trades = IntStream.range(0, 1000) //
+            .mapToObj(i -> new Trade(i % 30, i * 7L % 1000, i % 13 / 4.0)) //
+            .collect(Collectors.toList());
+
+    private Path write(List<Trade> records, ByteOrder order) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(records.size() * 20).order(order);
+        for (Trade trade : records)
+            buffer.putInt(trade.getDay()).putLong(trade.getVolume()).putDouble(trade.getPrice());
+        Path file = folder.newFile().toPath();
+        Files.write(file, buffer.array());
+        return file;
+    }
+
+    @Test
+    public void shouldReadAllRecords() throws IOException {
+        Path file = write(trades, ByteOrder.BIG_ENDIAN);
+
+        assertEquals(trades, from(file, LAYOUT).select());
+        assertEquals(1000, from(file, LAYOUT).count());
+    }
+
+    @Test
+    public void shouldReadOnlyRecordsSatisfyingFieldConditions() throws IOException {
+        Path file = write(trades, ByteOrder.BIG_ENDIAN);
+        READ.set(0);
+
+        List<Trade> result = from(file, LAYOUT) //
+                .where(equalTo(DAY, 7)) //
+                .and(atLeast(VOLUME, 500L)) //
+                .select();
+
+        assertEquals(from(trades).where(t -> t.getDay() == 7 && t.getVolume() >= 500).select(), result);
+        assertEquals(result.size(), READ.get());
+    }
+
+    @Test
+    public void shouldReadOnlyTheCandidatesNeeded() throws IOException {
+        Path file = write(trades, ByteOrder.BIG_ENDIAN);
+        READ.set(0);
+
+        List<Trade> result = from(file, LAYOUT).where(equalTo(DAY, 7)).limit(2).select();
+
+        assertEquals(from(trades).where(t -> t.getDay() == 7).limit(2).select(), result);
+        assertEquals(2, READ.get());
+    }
+
+    @Test
+    public void shouldCombineFieldAndOtherConditions() throws IOException {
+        Path file = write(trades, ByteOrder.BIG_ENDIAN);
+
+        assertEquals(from(trades).where(t -> (t.getDay() < 2 || t.getPrice() == 0.5) && t.getVolume() % 2 == 0)
+                .orderBy(Trade::getVolume).select(t -> t),
+                from(file, LAYOUT).where(atMost(DAY, 1)).or(equalTo(PRICE, 0.5)).and(t -> t.getVolume() % 2 == 0)
+                        .orderBy(Trade::getVolume).select(t -> t));
+        assertEquals("fields: candidates of 1000 rows",
+                from(file, LAYOUT).where(between(PRICE, 0.75, 1.0)).explain().getSteps().get(0));
+    }
+
+    @Test
+    public void shouldReadLittleEndianFiles() throws IOException {
+        RecordLayout<Trade> layout = LAYOUT.withOrder(ByteOrder.LITTLE_ENDIAN);
+        Field<Trade, Integer> day = layout.intField(0, Trade::getDay);
+        Path file = write(trades, ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(from(trades).where(t -> t.getDay() == 3).select(),
+                from(file, layout).where(equalTo(day, 3)).select());
+    }
+
+    @Test
+    public void shouldIgnoreFieldsOfOtherLayouts() throws IOException {
+        RecordLayout<Trade> layout = LAYOUT.withOrder(ByteOrder.BIG_ENDIAN);
+        Path file = write(trades, ByteOrder.BIG_ENDIAN);
+
+        assertEquals("scan: stream over 1000 elements",
+                from(file, layout).where(equalTo(DAY, 3)).explain().getSteps().get(0));
+        assertEquals(34, from(file, layout).where(equalTo(DAY, 3)).count());
+    }
+
+    @Test
+    public void shouldReadEachRecordOnceWhenScanning() throws IOException {
+        Path file = write(trades, ByteOrder.BIG_ENDIAN);
+        READ.set(0);
+
+        from(file, LAYOUT).where(t -> t.getVolume() > 100).select();
+
+        assertEquals(1000, READ.get());
+    }
+
+    @Test
+    public void shouldQueryInParallel() throws IOException {
+        Path file = write(trades, ByteOrder.BIG_ENDIAN);
+
+        assertEquals(from(trades).where(t -> t.getVolume() > 100).select(),
+                from(file, LAYOUT).parallel(ForkJoinPool.commonPool(), 10).where(t -> t.getVolume() > 100).select());
+    }
+
+    @Test
+    public void shouldReadEmptyFile() throws IOException {
+        assertEquals(asList(), from(write(asList(), ByteOrder.BIG_ENDIAN), LAYOUT).where(equalTo(DAY, 1)).select());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectPartialRecords() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[30]);
+
+        from(file, LAYOUT);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void shouldFailForMissingFile() {
+        from(folder.getRoot().toPath().resolve("missing.bin"), LAYOUT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectFieldBeyondRecord() {
+        LAYOUT.longField(16, Trade::getVolume);
+    }
+
+    @Value
+    private static class Trade {
+        int day;
+        long volume;
+        double price;
+    }
+}
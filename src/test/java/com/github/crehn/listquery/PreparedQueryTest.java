@@ -0,0 +1,126 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.Conditions.*;
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.ListQuery.prepare;
+import static com.github.crehn.listquery.Parameters.with;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.github.crehn.listquery.ListQuery.ListQueryWithWhere;
+import com.github.crehn.listquery.ListQuery.TypedListQueryWithOrderBy;
+
+public class PreparedQueryTest {
+
+    private static final Function<String, Integer> LENGTH = String::length;
+
+    private static final PreparedQuery<Integer, ListQueryWithWhere<Integer>> BETWEEN = prepare(query -> query //
+            .where(parameter("min", (Integer e, Integer min) -> e >= min)) //
+            .and(parameter("max", (Integer e, Integer max) -> e <= max)));
+
+    private List<Integer> list = asList(1, 2, 3, 4, 5);
+
+    @Test
+    public void shouldBindParameters() {
+        List<Integer> result = BETWEEN.bind(list, with("min", 2).and("max", 4)).select();
+
+        assertEquals(asList(2, 3, 4), result);
+    }
+
+    @Test
+    public void shouldReuseShapeForOtherSourcesAndValues() {
+        assertEquals(asList(4, 5), BETWEEN.bind(list, with("min", 4).and("max", 9)).select());
+        assertEquals(asList(7, 8), BETWEEN.bind(asList(6, 7, 8, 9), with("min", 7).and("max", 8)).select());
+        assertEquals(Optional.of(1), BETWEEN.bind(list, with("min", 0).and("max", 1)).selectFirst());
+    }
+
+    @Test
+    public void shouldContinueWithTypedQuery() {
+        PreparedQuery<Integer, TypedListQueryWithOrderBy<Integer, String>> descending = prepare(query -> query //
+                .where(parameter("max", (Integer e, Integer max) -> e <= max)) //
+                .orderBy((String e1, String e2) -> e2.compareTo(e1)));
+
+        List<String> result = descending.bind(list, with("max", 3)).select(String::valueOf);
+
+        assertEquals(asList("3", "2", "1"), result);
+    }
+
+    @Test
+    public void shouldPrepareQueryWithoutParameters() {
+        PreparedQuery<Integer, ListQueryWithWhere<Integer>> odd = prepare(query -> query.where(e -> e % 2 == 1));
+
+        assertEquals(asList(1, 3, 5), odd.bind(list).select());
+    }
+
+    @Test
+    public void shouldLookUpParameterInIndex() {
+        IndexedSource<String> words = IndexedSource.index(asList("a", "bb", "cc", "ddd"), LENGTH);
+        AtomicInteger tested = new AtomicInteger();
+        PreparedQuery<String, ListQueryWithWhere<String>> ofLength = prepare(query -> query //
+                .where(equalToParameter(LENGTH, "length")) //
+                .and(e -> tested.incrementAndGet() > 0));
+
+        List<String> result = ofLength.bind(words, with("length", 2)).select();
+
+        assertEquals(asList("bb", "cc"), result);
+        assertEquals(2, tested.get());
+    }
+
+    @Test
+    public void shouldBeThreadSafe() throws Exception {
+        List<Integer> numbers = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int min = i;
+                futures.add(executor.submit(() -> BETWEEN.bind(numbers, with("min", min).and("max", min + 2)).select()));
+            }
+
+            for (int i = 0; i < 100; i++)
+                assertEquals(asList(i, i + 1, i + 2), futures.get(i).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForMissingParameter() {
+        BETWEEN.bind(list, with("min", 2)).select();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailForParameterOutsidePreparedQuery() {
+        from(list).where(parameter("min", (Integer e, Integer min) -> e >= min)).select();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForShapeWithSelect() {
+        prepare((ListQuery.ListQueryWithFrom<Integer> query) -> query.select());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForShapeEndingWithJoin() {
+        prepare((ListQuery.ListQueryWithFrom<Integer> query) -> query.join(asList("a")).on(e -> e, String::length));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForTypedShapeOverJoin() {
+        prepare((ListQuery.ListQueryWithFrom<Integer> query) -> query.join(asList("a")).on(e -> e, String::length)
+                .orderBy((Pair<Integer, String> pair) -> pair.getRight()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForShapeOverOtherSource() {
+        prepare((ListQuery.ListQueryWithFrom<Integer> query) -> from(asList("a")).where(s -> s.isEmpty()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import lombok.Value;
+
+public class PrimitiveListQueryTest {
+
+    private int[] ints = { 5, 3, 8, 3, 1, 9 };
+    private long[] longs = { 5L, 3L, 8L, 3L, 1L, 9L };
+    private double[] doubles = { 0.5, 0.3, 0.8, 0.3, 0.1, 0.9 };
+
+    @Test
+    public void shouldSelectInts() {
+        assertArrayEquals(ints, from(ints).selectInts());
+    }
+
+    @Test
+    public void shouldFilterInts() {
+        int[] result = from(ints) //
+                .where(e -> e > 2) //
+                .and(e -> e < 9) //
+                .or(e -> e == 1) //
+                .selectInts();
+
+        assertArrayEquals(new int[] { 5, 3, 8, 3, 1 }, result);
+    }
+
+    @Test
+    public void shouldOrderDistinctAndLimitInts() {
+        int[] result = from(ints) //
+                .ordered() //
+                .distinct() //
+                .limit(3) //
+                .selectInts();
+
+        assertArrayEquals(new int[] { 1, 3, 5 }, result);
+    }
+
+    @Test
+    public void shouldLimitIntsBeforeDistinctWhenUnordered() {
+        assertArrayEquals(new int[] { 5, 3, 8 }, from(ints).limit(4).distinct().selectInts());
+    }
+
+    @Test
+    public void shouldPageOrderedInts() {
+        assertArrayEquals(new int[] { 3, 5 }, from(ints).ordered().selectInts(page(2).eachContaining(2)));
+    }
+
+    @Test
+    public void shouldMapInts() {
+        List<String> result = from(ints) //
+                .where(e -> e > 4) //
+                .select(Integer::toString);
+
+        assertEquals(asList("5", "8", "9"), result);
+    }
+
+    @Test
+    public void shouldSelectFirstInt() {
+        assertEquals(OptionalInt.of(1), from(ints).ordered().selectFirst());
+        assertEquals(OptionalInt.empty(), from(ints).where(e -> e > 10).selectFirst());
+    }
+
+    @Test
+    public void shouldQueryLongs() {
+        long[] result = from(longs) //
+                .where(e -> e > 2) //
+                .ordered() //
+                .distinct() //
+                .selectLongs(page(1).eachContaining(2));
+
+        assertArrayEquals(new long[] { 3L, 5L }, result);
+        assertEquals(OptionalLong.of(8L), from(longs).where(e -> e > 5).selectFirst());
+    }
+
+    @Test
+    public void shouldQueryDoubles() {
+        double[] result = from(doubles) //
+                .where(e -> e > 0.2) //
+                .ordered() //
+                .selectDoubles();
+
+        assertArrayEquals(new double[] { 0.3, 0.3, 0.5, 0.8, 0.9 }, result, 0.0);
+        assertEquals(asList("0.5", "0.8"), from(doubles).where(e -> e > 0.4).limit(2).select(Double::toString));
+    }
+
+    @Test
+    public void shouldRemoveDuplicatesLikeBoxedValues() {
+        int[] many = IntStream.range(-500, 500).map(i -> i % 300).toArray();
+        double[] special = { 0.0, -0.0, Double.NaN, 0.0, Double.NaN, -0.0, 1.5 };
+
+        assertArrayEquals(IntStream.of(many).distinct().toArray(), from(many).distinct().selectInts());
+        assertArrayEquals(new long[] { 0L, 5L, -1L }, from(new long[] { 0L, 5L, 0L, -1L, 5L }).distinct().selectLongs());
+        assertArrayEquals(DoubleStream.of(special).distinct().toArray(), from(special).distinct().selectDoubles(), 0.0);
+    }
+
+    @Test
+    public void shouldOrderByIntField() {
+        Person alice = new Person("Alice", 42, 3L);
+        Person bob = new Person("Bob", 23, 1L);
+        Person clara = new Person("Clara", 37, 2L);
+
+        List<Person> result = from(alice, bob, clara) //
+                .orderByInt(Person::getAge) //
+                .select(e -> e);
+
+        assertEquals(asList(bob, clara, alice), result);
+    }
+
+    @Test
+    public void shouldOrderByLongField() {
+        Person alice = new Person("Alice", 42, 3L);
+        Person bob = new Person("Bob", 23, 1L);
+        Person clara = new Person("Clara", 37, 2L);
+
+        List<Person> result = from(alice, bob, clara) //
+                .orderByLong(Person::getId) //
+                .select(e -> e);
+
+        assertEquals(asList(bob, clara, alice), result);
+    }
+
+    @Value
+    private static class Person {
+        String name;
+        int age;
+        long id;
+    }
+}
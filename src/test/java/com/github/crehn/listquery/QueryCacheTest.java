@@ -0,0 +1,111 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class QueryCacheTest {
+
+    private List<Integer> list = new ArrayList<>(asList(5, 3, 8, 1, 9, 2));
+    private QueryCache cache = new QueryCache(2);
+    private AtomicInteger tests = new AtomicInteger();
+
+    private List<Integer> selectEven(long version) {
+        return from(list).cached(cache, "even", version).where(this::isEven).select();
+    }
+
+    private boolean isEven(Integer e) {
+        tests.incrementAndGet();
+        return e % 2 == 0;
+    }
+
+    @Test
+    public void shouldExecuteQueryOnlyOnce() {
+        assertEquals(asList(8, 2), selectEven(1));
+        assertEquals(asList(8, 2), selectEven(1));
+
+        assertEquals(list.size(), tests.get());
+    }
+
+    @Test
+    public void shouldExecuteQueryAgainForNewVersion() {
+        selectEven(1);
+        list.add(4);
+
+        assertEquals(asList(8, 2, 4), selectEven(2));
+        assertEquals(6 + 7, tests.get());
+    }
+
+    @Test
+    public void shouldExecuteQueryAgainAfterInvalidation() {
+        selectEven(1);
+        cache.invalidate(list);
+        selectEven(1);
+
+        assertEquals(2 * list.size(), tests.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldNotShareResultsBetweenSources() {
+        List<Integer> other = asList(4, 6);
+
+        selectEven(1);
+
+        assertEquals(asList(4, 6), from(other).cached(cache, "even", 1).where(this::isEven).select());
+    }
+
+    @Test
+    public void shouldCachePagesSeparately() {
+        QueryCache cache = new QueryCache(10);
+
+        List<Integer> first = from(list).cached(cache, "sorted", 1).orderBy((Integer e) -> e)
+                .select(e -> e, page(1).eachContaining(2));
+        List<Integer> second = from(list).cached(cache, "sorted", 1).orderBy((Integer e) -> e)
+                .select(e -> e, page(2).eachContaining(2));
+
+        assertEquals(asList(1, 2), first);
+        assertEquals(asList(3, 5), second);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldCacheSelectFirstSeparately() {
+        selectEven(1);
+
+        assertEquals(Optional.of(8), from(list).cached(cache, "even", 1).where(this::isEven).selectFirst());
+        assertEquals(Optional.of(8), from(list).cached(cache, "even", 1).where(this::isEven).selectFirst());
+        assertEquals(list.size() + 3, tests.get());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        selectEven(1);
+        from(list).cached(cache, "odd", 1).where(e -> e % 2 != 0).select();
+        selectEven(1);
+        from(list).cached(cache, "small", 1).where(e -> e < 3).select();
+
+        tests.set(0);
+        selectEven(1);
+        assertEquals(0, tests.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldNotChangeCachedResultWhenResultIsChanged() {
+        selectEven(1).clear();
+
+        assertEquals(asList(8, 2), selectEven(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForEmptyCache() {
+        new QueryCache(0);
+    }
+}
@@ -0,0 +1,214 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static com.github.crehn.listquery.Paging.page;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class QueryMetricsTest {
+
+    private List<String> words = asList("apple", "avocado", "banana", "cherry", "blueberry", "apricot", "date",
+            "apple");
+    private List<QueryMetrics> recorded = new ArrayList<>();
+    private QueryMetricsListener listener = recorded::add;
+
+    @After
+    public void unregister() {
+        QueryMetricsListener.unregister(listener);
+    }
+
+    @Test
+    public void shouldRecordRowsReadUntilThePageIsComplete() {
+        List<String> result = from(words).named("a-words").metrics(listener) //
+                .where(w -> w.startsWith("a")) //
+                .distinct() //
+                .select(page(1).eachContaining(2));
+
+        assertEquals(asList("apple", "avocado"), result);
+        assertEquals(1, recorded.size());
+        QueryMetrics metrics = recorded.get(0);
+        assertEquals("a-words", metrics.getName());
+        assertEquals("select", metrics.getTerminal());
+        assertEquals(8, metrics.getSourceSize());
+        assertEquals(2, metrics.getFilteredRows());
+        assertEquals(2, metrics.getMappedRows());
+        assertEquals(2, metrics.getDistinctRows());
+        assertEquals(2, metrics.getReturnedRows());
+        assertTrue(metrics.getFilterNanos() >= 0 && metrics.getMapNanos() >= 0 && metrics.getSortNanos() >= 0
+                && metrics.getPageNanos() >= 0);
+        assertEquals(metrics.getFilterNanos() + metrics.getMapNanos() + metrics.getSortNanos()
+                + metrics.getPageNanos(), metrics.getTotalNanos());
+    }
+
+    @Test
+    public void shouldSelectSameResultWhenMeasured() {
+        List<Integer> numbers = IntStream.range(0, 1000).map(i -> (i * 7919) % 100).boxed()
+                .collect(Collectors.toList());
+
+        assertEquals(from(numbers).where(n -> n % 3 == 0).orderBy((Integer n) -> -n).distinct().limit(10)
+                .select(n -> n, page(2).eachContaining(3)),
+                from(numbers).metrics(listener).where(n -> n % 3 == 0).orderBy((Integer n) -> -n).distinct()
+                        .limit(10).select(n -> n, page(2).eachContaining(3)));
+        assertEquals(from(numbers).where(n -> n > 50).limit(20).distinctBy(n -> n / 10).select(n -> n * 2),
+                from(numbers).metrics(listener).where(n -> n > 50).limit(20).distinctBy(n -> n / 10)
+                        .select(n -> n * 2));
+        assertEquals(from(numbers).where(n -> n % 2 == 0).select(),
+                from(numbers).parallel(ForkJoinPool.commonPool(), 10).adaptive().metrics(listener)
+                        .where(n -> n % 2 == 0).select());
+        assertEquals(3, recorded.size());
+    }
+
+    @Test
+    public void shouldRecordOrderedQueriesBeforeLimit() {
+        from(words).metrics(listener).ordered().limit(3).select();
+
+        QueryMetrics metrics = recorded.get(0);
+        assertEquals(8, metrics.getFilteredRows());
+        assertEquals(8, metrics.getMappedRows());
+        assertEquals(3, metrics.getReturnedRows());
+        assertTrue(metrics.isSorted());
+    }
+
+    @Test
+    public void shouldRecordRowsAfterRemovingDuplicates() {
+        from(words).metrics(listener).ordered().distinct().select(page(1).eachContaining(3));
+
+        QueryMetrics metrics = recorded.get(0);
+        assertEquals(8, metrics.getMappedRows());
+        assertEquals(7, metrics.getDistinctRows());
+        assertEquals(3, metrics.getReturnedRows());
+        assertTrue(metrics.isSorted());
+    }
+
+    @Test
+    public void shouldNotRecordSortForSortedSource() {
+        from(new TreeSet<>(words)).metrics(listener).ordered().select();
+
+        assertEquals(7, recorded.get(0).getReturnedRows());
+        assertFalse(recorded.get(0).isSorted());
+    }
+
+    @Test
+    public void shouldStopEarlyWhenMeasured() {
+        AtomicInteger mapped = new AtomicInteger();
+        QueryMetricsListener.register(listener);
+
+        from(IntStream.range(1, 100).boxed().collect(Collectors.toList())).where(n -> n > 0)
+                .selectFirst(n -> mapped.incrementAndGet());
+
+        assertEquals(1, mapped.get());
+        assertEquals(1, recorded.get(0).getFilteredRows());
+        assertEquals(99, recorded.get(0).getSourceSize());
+    }
+
+    @Test
+    public void shouldNotMeasureExecutionsTheListenerDeclines() {
+        QueryMetricsListener large = new QueryMetricsListener() {
+            @Override
+            public void executed(QueryMetrics metrics) {
+                recorded.add(metrics);
+            }
+
+            @Override
+            public QueryMetricsListener measuring(long sourceSize) {
+                return sourceSize >= 100 ? this : null;
+            }
+        };
+
+        from(words).metrics(large).select();
+        from(IntStream.range(0, 100).boxed().collect(Collectors.toList())).metrics(large).select();
+
+        assertEquals(1, recorded.size());
+        assertEquals(100, recorded.get(0).getSourceSize());
+    }
+
+    @Test
+    public void shouldOnlyCountRowsForListenersNotTiming() {
+        QueryMetricsListener counting = new QueryMetricsListener() {
+            @Override
+            public void executed(QueryMetrics metrics) {
+                recorded.add(metrics);
+            }
+
+            @Override
+            public boolean isTiming() {
+                return false;
+            }
+        };
+
+        from(words).metrics(counting).where(w -> w.startsWith("a")).orderBy(String::length).select(w -> w);
+
+        QueryMetrics metrics = recorded.get(0);
+        assertEquals(4, metrics.getFilteredRows());
+        assertEquals(4, metrics.getMappedRows());
+        assertEquals(0, metrics.getFilterNanos() + metrics.getMapNanos() + metrics.getSortNanos());
+        assertEquals(metrics.getPageNanos(), metrics.getTotalNanos());
+    }
+
+    @Test
+    public void shouldNameTerminal() {
+        assertEquals(Optional.of("banana"), from(words).metrics(listener).where(w -> w.startsWith("b")).selectFirst());
+        from(words).metrics(listener).forEach(w -> {});
+        from(words).metrics(listener).iterator().hasNext();
+
+        assertEquals(asList("selectFirst", "forEach", "iterator"),
+                recorded.stream().map(QueryMetrics::getTerminal).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldRecordAllQueriesWithGlobalListener() {
+        QueryMetricsListener.register(listener);
+        from(words).where(w -> w.length() > 5).select();
+        from(words).ordered().select(String::length);
+
+        assertEquals(2, recorded.size());
+        assertNull(recorded.get(0).getName());
+        assertEquals(5, recorded.get(0).getReturnedRows());
+
+        QueryMetricsListener.unregister(listener);
+        from(words).select();
+        assertEquals(2, recorded.size());
+    }
+
+    @Test
+    public void shouldRecordJustCallsWithGlobalListener() {
+        Just.filter(words, w -> w.startsWith("a"));
+        assertTrue(recorded.isEmpty());
+
+        QueryMetricsListener.register(listener);
+        Just.filter(words, w -> w.startsWith("a"));
+        Just.mapToArray(words.toArray(new String[0]), String::length, Integer[]::new);
+
+        assertEquals(asList("Just.filter", "Just.mapToArray"),
+                recorded.stream().map(QueryMetrics::getTerminal).collect(Collectors.toList()));
+        assertEquals(8, recorded.get(0).getSourceSize());
+        assertEquals(4, recorded.get(0).getReturnedRows());
+        assertEquals(0, recorded.get(0).getMapNanos());
+        assertEquals(8, recorded.get(1).getReturnedRows());
+    }
+
+    @Test
+    public void shouldNotRecordCachedResults() {
+        QueryCache cache = new QueryCache(10);
+        from(words).cached(cache, "all", 1).metrics(listener).select();
+        from(words).cached(cache, "all", 1).metrics(listener).select();
+
+        assertEquals(1, recorded.size());
+    }
+
+    @Test
+    public void shouldNotRecordWithoutListener() {
+        from(words).named("unmeasured").select();
+
+        assertTrue(recorded.isEmpty());
+    }
+}
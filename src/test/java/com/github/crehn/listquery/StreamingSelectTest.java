@@ -0,0 +1,114 @@
+package com.github.crehn.listquery;
+
+import static com.github.crehn.listquery.ListQuery.from;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class StreamingSelectTest {
+
+    private List<Integer> arrayList = asList(7, 3, 9, 3, 1, 8, 2, 9, 5, 4);
+    private List<Integer> linkedList = new LinkedList<>(arrayList);
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    public void shouldPassSameAsSelectToForEach() {
+        for (List<Integer> list : asList(arrayList, linkedList)) {
+            List<Integer> result = new ArrayList<>();
+            from(list).where(e -> e > 2).limit(5).forEach(result::add);
+            assertEquals(from(list).where(e -> e > 2).limit(5).select(), result);
+        }
+    }
+
+    @Test
+    public void shouldPassMappedDistinctToForEach() {
+        for (List<Integer> list : asList(arrayList, linkedList)) {
+            List<String> result = new ArrayList<>();
+            from(list).distinct().forEach(e -> "" + e, result::add);
+            assertEquals(from(list).distinct().select(e -> "" + e), result);
+        }
+    }
+
+    @Test
+    public void shouldPassOrderedToForEach() {
+        List<Integer> result = new ArrayList<>();
+
+        from(arrayList).orderBy((Integer e) -> -e).limit(3).forEach(e -> e, result::add);
+
+        assertEquals(asList(9, 9, 8), result);
+    }
+
+    @Test
+    public void shouldPassInOrderToForEachWhenParallel() {
+        List<Integer> large = IntStream.range(0, 50_000).boxed().collect(Collectors.toList());
+        List<Integer> result = new ArrayList<>();
+
+        from(large).parallel(ForkJoinPool.commonPool(), 1000).where(e -> e % 3 == 0).forEach(result::add);
+
+        assertEquals(from(large).where(e -> e % 3 == 0).select(), result);
+    }
+
+    @Test
+    public void shouldIterateSameAsSelect() {
+        assertEquals(asList(7, 9, 8, 9, 5), toList(from(linkedList).where(e -> e > 4).iterator()));
+        assertEquals(asList(1, 2, 3), toList(from(arrayList).orderBy((Integer e) -> e).distinct().limit(3)
+                .iterator(e -> e)));
+    }
+
+    @Test
+    public void shouldNotEvaluateOrderedQueryBeforeIterating() {
+        List<Integer> mapped = new ArrayList<>();
+
+        Iterator<Integer> iterator = from(arrayList).orderBy((Integer e) -> e).iterator(e -> {
+            mapped.add(e);
+            return e;
+        });
+
+        assertTrue(mapped.isEmpty());
+        assertTrue(iterator.hasNext());
+        assertEquals(arrayList.size(), mapped.size());
+    }
+
+    @Test
+    public void shouldSelectInBatches() {
+        List<List<Integer>> batches = new ArrayList<>();
+
+        from(arrayList).where(e -> e > 1).selectInBatches(4, batches::add);
+
+        assertEquals(asList(asList(7, 3, 9, 3), asList(8, 2, 9, 5), asList(4)), batches);
+    }
+
+    @Test
+    public void shouldSelectMappedInBatches() {
+        List<List<Integer>> batches = new ArrayList<>();
+
+        from(linkedList).orderBy((Integer e) -> e).selectInBatches(e -> e * 10, 5, batches::add);
+
+        assertEquals(asList(asList(10, 20, 30, 30, 40), asList(50, 70, 80, 90, 90)), batches);
+    }
+
+    @Test
+    public void shouldNotPassEmptyBatch() {
+        List<List<Integer>> batches = new ArrayList<>();
+
+        from(arrayList).where(e -> e > 10).selectInBatches(3, batches::add);
+
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForEmptyBatches() {
+        from(arrayList).selectInBatches(0, batch -> {});
+    }
+}